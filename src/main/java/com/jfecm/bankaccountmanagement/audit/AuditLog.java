@@ -0,0 +1,290 @@
+package com.jfecm.bankaccountmanagement.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAuditStats;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.exceptions.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Audit event stream of the ledger operations, written as one JSON object per line to a rolling file.
+ *
+ * <p>Request threads only copy the fields of an event (operation, account numbers, amount in minor
+ * units, outcome, latency) into a preallocated slot of a ring buffer; nothing is formatted or written
+ * on their side. A single background thread drains the buffer in order, formats the events and
+ * writes them to the file. When the buffer is full the event is dropped and counted instead of
+ * blocking the caller.
+ */
+@Slf4j
+@Component
+public class AuditLog {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final Slot[] slots;
+    private final int mask;
+    /**
+     * Next sequence to be claimed by a producer.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+    /**
+     * Next sequence to be read by the writer. Every slot below it can be reused.
+     */
+    private final AtomicLong consumed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final RollingAuditFile file;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Thread writer;
+    private volatile boolean running;
+
+    public AuditLog(@Value("${app.audit.enabled:true}") boolean enabled,
+                    @Value("${app.audit.file:logs/audit.log}") String file,
+                    @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                    @Value("${app.audit.max-file-size:10MB}") DataSize maxFileSize,
+                    @Value("${app.audit.max-files:5}") int maxFiles) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The audit buffer size must be positive.");
+        }
+
+        int size = Integer.highestOneBit(bufferSize);
+        if (size < bufferSize) {
+            size <<= 1;
+        }
+
+        this.enabled = enabled;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            this.slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+
+        if (!enabled) {
+            this.file = null;
+            this.writer = null;
+            log.info("Audit log disabled.");
+            return;
+        }
+
+        try {
+            this.file = new RollingAuditFile(Path.of(file), maxFileSize.toBytes(), maxFiles);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The audit file " + file + " could not be opened.", e);
+        }
+        this.running = true;
+        this.writer = new Thread(this::drain, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        log.info("Audit log writing to {} with a buffer of {} events.", file, size);
+    }
+
+    /**
+     * Runs an operation and records its outcome and latency.
+     *
+     * @param operation                 The audited operation.
+     * @param accountNumber             The account the operation applies to.
+     * @param counterpartyAccountNumber The other account of a transfer, or {@code null}.
+     * @param amount                    The amount of the operation, or {@code null}.
+     * @param action                    The operation.
+     * @return The result of the operation.
+     */
+    public <T> T audit(AuditOperation operation, String accountNumber, String counterpartyAccountNumber, Money amount, Supplier<T> action) {
+        long startNanos = System.nanoTime();
+        try {
+            T result = action.get();
+            record(operation, accountNumber, counterpartyAccountNumber, amount, AuditOutcome.SUCCESS, startNanos);
+            return result;
+        } catch (RuntimeException e) {
+            record(operation, accountNumber, counterpartyAccountNumber, amount, outcomeOf(e), startNanos);
+            throw e;
+        }
+    }
+
+    /**
+     * Pushes an event into the ring buffer without blocking. The event is dropped if the buffer is full.
+     *
+     * @param operation                 The audited operation.
+     * @param accountNumber             The account the operation applies to.
+     * @param counterpartyAccountNumber The other account of a transfer, or {@code null}.
+     * @param amount                    The amount of the operation, or {@code null}.
+     * @param outcome                   The outcome of the operation.
+     * @param startNanos                The {@link System#nanoTime()} at which the operation started.
+     */
+    public void record(AuditOperation operation, String accountNumber, String counterpartyAccountNumber, Money amount,
+                       AuditOutcome outcome, long startNanos) {
+        if (!running) {
+            if (enabled) {
+                dropped.increment();
+            }
+            return;
+        }
+
+        long latencyNanos = System.nanoTime() - startNanos;
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestamp = System.currentTimeMillis();
+        slot.operation = operation;
+        slot.accountNumber = accountNumber;
+        slot.counterpartyAccountNumber = counterpartyAccountNumber;
+        slot.hasAmount = amount != null;
+        slot.amount = amount == null ? 0 : amount.getMinorUnits();
+        slot.outcome = outcome;
+        slot.latencyNanos = latencyNanos;
+        // Publishes the slot: the writer reads the fields only after seeing its sequence.
+        slot.sequence = sequence;
+    }
+
+    /**
+     * @return The size of the buffer and the number of recorded, written and dropped events.
+     */
+    public ResponseAuditStats getStats() {
+        return ResponseAuditStats.builder()
+                .enabled(enabled)
+                .bufferSize(slots.length)
+                .recorded(claimed.get())
+                .written(written.get())
+                .dropped(dropped.sum())
+                .build();
+    }
+
+    /**
+     * Stops accepting events, writes the ones still in the buffer and closes the file.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!enabled || !running) {
+            return;
+        }
+
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Maps the exception thrown by an operation to its outcome.
+     *
+     * @param e The exception.
+     * @return {@link AuditOutcome#REJECTED} for business rule violations, otherwise {@link AuditOutcome#FAILED}.
+     */
+    public static AuditOutcome outcomeOf(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException || e instanceof InactiveAccountException || e instanceof InsufficientFundsException
+                || e instanceof InvalidTransactionException || e instanceof InvalidAccountNumberException) {
+            return AuditOutcome.REJECTED;
+        }
+        return AuditOutcome.FAILED;
+    }
+
+    /**
+     * Body of the writer thread.
+     */
+    private void drain() {
+        StringWriter line = new StringWriter(256);
+        long sequence = consumed.get();
+        boolean pending = false;
+
+        while (true) {
+            Slot slot = slots[(int) (sequence & mask)];
+            if (slot.sequence == sequence) {
+                write(slot, sequence, line);
+                // Clears the references so that the buffer does not keep account numbers alive.
+                slot.accountNumber = null;
+                slot.counterpartyAccountNumber = null;
+                consumed.lazySet(++sequence);
+                pending = true;
+                continue;
+            }
+
+            if (!running && sequence == claimed.get()) {
+                break;
+            }
+            if (pending) {
+                flush();
+                pending = false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.error("The audit file could not be closed.", e);
+        }
+    }
+
+    private void write(Slot slot, long sequence, StringWriter line) {
+        line.getBuffer().setLength(0);
+        try (JsonGenerator generator = jsonFactory.createGenerator(line)) {
+            generator.writeStartObject();
+            generator.writeNumberField("sequence", sequence);
+            generator.writeStringField("timestamp", Instant.ofEpochMilli(slot.timestamp).toString());
+            generator.writeStringField("operation", slot.operation.name());
+            generator.writeStringField("accountNumber", slot.accountNumber);
+            if (slot.counterpartyAccountNumber != null) {
+                generator.writeStringField("counterpartyAccountNumber", slot.counterpartyAccountNumber);
+            }
+            if (slot.hasAmount) {
+                generator.writeStringField("amount", Money.ofMinor(slot.amount).toString());
+            }
+            generator.writeStringField("outcome", slot.outcome.name());
+            generator.writeNumberField("latencyMicros", TimeUnit.NANOSECONDS.toMicros(slot.latencyNanos));
+            generator.writeEndObject();
+        } catch (IOException e) {
+            log.error("The audit event {} could not be formatted.", sequence, e);
+            return;
+        }
+
+        try {
+            file.append(line.getBuffer());
+            written.incrementAndGet();
+        } catch (IOException e) {
+            log.error("The audit event {} could not be written.", sequence, e);
+        }
+    }
+
+    private void flush() {
+        try {
+            file.flush();
+        } catch (IOException e) {
+            log.error("The audit file could not be flushed.", e);
+        }
+    }
+
+    /**
+     * Preallocated event holder, reused every {@code buffer size} events.
+     */
+    private static final class Slot {
+        private volatile long sequence = -1;
+        private long timestamp;
+        private AuditOperation operation;
+        private String accountNumber;
+        private String counterpartyAccountNumber;
+        private boolean hasAmount;
+        private long amount;
+        private AuditOutcome outcome;
+        private long latencyNanos;
+    }
+}
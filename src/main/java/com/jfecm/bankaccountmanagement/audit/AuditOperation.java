@@ -0,0 +1,15 @@
+package com.jfecm.bankaccountmanagement.audit;
+
+/**
+ * Ledger operations recorded in the audit log.
+ */
+public enum AuditOperation {
+    RECHARGE,
+    WITHDRAWAL,
+    TRANSFER,
+    BATCH_TRANSFER,
+    UPDATE_TRANSACTION,
+    DELETE_TRANSACTION,
+    UPDATE_ACCOUNT_STATUS,
+    CLOSE_ACCOUNT
+}
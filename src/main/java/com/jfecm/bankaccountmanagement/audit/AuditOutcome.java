@@ -0,0 +1,19 @@
+package com.jfecm.bankaccountmanagement.audit;
+
+/**
+ * Outcome of an audited operation.
+ */
+public enum AuditOutcome {
+    /**
+     * The operation was applied.
+     */
+    SUCCESS,
+    /**
+     * The operation was refused by a business rule (unknown or inactive account, insufficient funds, invalid input).
+     */
+    REJECTED,
+    /**
+     * The operation failed with an unexpected error.
+     */
+    FAILED
+}
@@ -0,0 +1,90 @@
+package com.jfecm.bankaccountmanagement.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only text file rolled over by size: once the current file would exceed the maximum size it
+ * is renamed to {@code <file>.1}, older files are shifted to {@code <file>.2} and so on, and the
+ * oldest one beyond the maximum number of files is deleted.
+ *
+ * <p>Not thread-safe: it is only used by the audit writer thread.
+ */
+public class RollingAuditFile implements Closeable {
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private Writer writer;
+    private long size;
+
+    public RollingAuditFile(Path file, long maxFileSize, int maxFiles) throws IOException {
+        if (maxFileSize <= 0 || maxFiles <= 0) {
+            throw new IllegalArgumentException("The audit file size and number of files must be positive.");
+        }
+
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        open();
+    }
+
+    /**
+     * Appends a line, rolling the file over first if it would grow beyond the maximum size.
+     *
+     * @param line The line, without its line separator.
+     */
+    public void append(CharSequence line) throws IOException {
+        // Audit lines are ASCII except for user-provided account numbers, so chars are a close enough measure of bytes.
+        long lineSize = line.length() + 1L;
+        if (size > 0 && size + lineSize > maxFileSize) {
+            roll();
+        }
+
+        writer.append(line).append('\n');
+        size += lineSize;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+
+        Files.deleteIfExists(rolled(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = rolled(i);
+            if (Files.exists(source)) {
+                Files.move(source, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+
+        open();
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jfecm.bankaccountmanagement.cache;
+
+import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable view of the rarely changing attributes of a banking account, without its balance
+ * or transactions.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class AccountMetadata {
+    private final Long id;
+    private final String accountNumber;
+    private final BankingAccountStatus bankingAccountStatus;
+    private final Money withdrawalLimit;
+    private final Long clientId;
+}
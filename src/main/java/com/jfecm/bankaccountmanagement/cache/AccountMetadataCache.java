@@ -0,0 +1,147 @@
+package com.jfecm.bankaccountmanagement.cache;
+
+import com.jfecm.bankaccountmanagement.dto.response.ResponseCacheStats;
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import com.jfecm.bankaccountmanagement.util.AccountNumbers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of {@link AccountMetadata} keyed by account number.
+ *
+ * <p>Entries expire after {@code app.account.cache.ttl} and the oldest entries are evicted once the
+ * cache holds more than {@code app.account.cache.max-size} accounts. Unknown account numbers are
+ * cached too, so repeated not-found rejections do not reach the database. Callers that change the
+ * status of an account, create or delete it must {@link #invalidate(String)} its entry.
+ */
+@Slf4j
+@Component
+public class AccountMetadataCache {
+    private final BankingAccountRepository bankingAccountRepository;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, CachedMetadata> cache = new ConcurrentHashMap<>();
+    /**
+     * Cached entries in insertion order. Every entry has the same TTL, so this is also expiration order.
+     */
+    private final Queue<CachedMetadata> insertionOrder = new ConcurrentLinkedQueue<>();
+    /**
+     * Bumped by every invalidation, so that a load racing with it does not cache the old value.
+     */
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountMetadataCache(BankingAccountRepository bankingAccountRepository,
+                                @Value("${app.account.cache.ttl:PT30S}") Duration ttl,
+                                @Value("${app.account.cache.max-size:10000}") int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The account cache size must be positive.");
+        }
+
+        this.bankingAccountRepository = bankingAccountRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the metadata of an account, loading it from the database on a miss.
+     *
+     * @param accountNumber The account number.
+     * @return The metadata of the account, or empty if no account has this number.
+     * @throws com.jfecm.bankaccountmanagement.exceptions.InvalidAccountNumberException if the check digit does not match.
+     */
+    public Optional<AccountMetadata> get(String accountNumber) {
+        Long accountKey = AccountNumbers.toKey(accountNumber);
+        long now = System.nanoTime();
+        CachedMetadata cached = cache.get(accountNumber);
+        if (cached != null && !cached.isExpired(now)) {
+            hits.increment();
+            return cached.metadata;
+        }
+
+        misses.increment();
+        long invalidations = invalidationCount.get();
+        Optional<AccountMetadata> metadata = accountKey == null
+                ? bankingAccountRepository.findMetadataByAccountNumber(accountNumber)
+                : bankingAccountRepository.findMetadataByAccountKey(accountKey);
+
+        CachedMetadata loaded = new CachedMetadata(accountNumber, metadata, now + ttlNanos);
+        cache.put(accountNumber, loaded);
+        if (invalidationCount.get() != invalidations) {
+            // An invalidation ran during the load: the loaded value may already be stale.
+            cache.remove(accountNumber, loaded);
+            return metadata;
+        }
+
+        insertionOrder.add(loaded);
+        evict(now);
+        return metadata;
+    }
+
+    /**
+     * Drops the cached metadata of an account.
+     *
+     * @param accountNumber The account number.
+     */
+    public void invalidate(String accountNumber) {
+        invalidationCount.incrementAndGet();
+        cache.remove(accountNumber);
+        log.debug("Account metadata cache entry invalidated for account number {}", accountNumber);
+    }
+
+    /**
+     * @return The hit, miss and eviction counters of the cache.
+     */
+    public ResponseCacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return ResponseCacheStats.builder()
+                .size(cache.size())
+                .maxSize(maxSize)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .evictions(evictions.sum())
+                .invalidations(invalidationCount.get())
+                .build();
+    }
+
+    private void evict(long now) {
+        CachedMetadata oldest;
+        while ((oldest = insertionOrder.peek()) != null && (oldest.isExpired(now) || cache.size() > maxSize)) {
+            CachedMetadata evicted = insertionOrder.poll();
+            if (evicted != null && cache.remove(evicted.accountNumber, evicted)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class CachedMetadata {
+        private final String accountNumber;
+        private final Optional<AccountMetadata> metadata;
+        private final long expiresAt;
+
+        private CachedMetadata(String accountNumber, Optional<AccountMetadata> metadata, long expiresAt) {
+            this.accountNumber = accountNumber;
+            this.metadata = metadata;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped lock manager used to serialize balance mutations per account number.
+ *
+ * <p>Account numbers are hashed onto a fixed number of stripes, so two mutations on the same
+ * account never run concurrently while mutations on distinct accounts rarely share a lock.
+ * Acquisition first tries a non-blocking {@code tryLock()}; only when that fails the caller
+ * blocks and the contention counter of the stripe is incremented.
+ */
+@Slf4j
+@Component
+public class AccountLockManager {
+    private final ReentrantLock[] stripes;
+    private final AtomicLongArray contentions;
+    private final int mask;
+
+    /**
+     * Creates a lock manager with the given number of stripes, rounded up to a power of two.
+     *
+     * @param stripeCount The requested number of stripes.
+     */
+    public AccountLockManager(@Value("${app.account.lock.stripes:64}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("The number of lock stripes must be positive.");
+        }
+
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.contentions = new AtomicLongArray(size);
+        this.mask = size - 1;
+        log.info("Account lock manager initialized with {} stripes.", size);
+    }
+
+    /**
+     * Executes an action while holding the stripe lock of an account.
+     *
+     * @param accountNumber The account number whose stripe must be locked.
+     * @param action        The action to execute.
+     * @return The result of the action.
+     */
+    public <T> T executeWithLock(String accountNumber, Supplier<T> action) {
+        int stripe = stripeOf(accountNumber);
+        lock(stripe);
+        try {
+            return action.get();
+        } finally {
+            stripes[stripe].unlock();
+        }
+    }
+
+    /**
+     * Executes an action while holding the stripe locks of several accounts.
+     *
+     * <p>Stripes are always acquired in ascending index order and each stripe is locked only once,
+     * which keeps concurrent multi-account operations (e.g. A to B and B to A transfers) deadlock-free.
+     *
+     * @param accountNumbers The account numbers whose stripes must be locked.
+     * @param action         The action to execute.
+     * @return The result of the action.
+     */
+    public <T> T executeWithLocks(Collection<String> accountNumbers, Supplier<T> action) {
+        int[] ordered = accountNumbers.stream().mapToInt(this::stripeOf).distinct().toArray();
+        Arrays.sort(ordered);
+
+        int acquired = 0;
+        try {
+            for (int stripe : ordered) {
+                lock(stripe);
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[ordered[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the stripe index assigned to an account number.
+     *
+     * @param accountNumber The account number.
+     * @return The stripe index.
+     */
+    public int stripeOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        // Spread the high bits so that account numbers sharing a suffix do not collide.
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return The number of stripes.
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns how many times a caller had to block on the given stripe.
+     *
+     * @param stripe The stripe index.
+     * @return The contention count of the stripe.
+     */
+    public long getContentionCount(int stripe) {
+        return contentions.get(stripe);
+    }
+
+    /**
+     * @return A snapshot of the contention counters of every stripe.
+     */
+    public long[] getContentionCounts() {
+        long[] counts = new long[stripes.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = contentions.get(i);
+        }
+        return counts;
+    }
+
+    private void lock(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        if (lock.tryLock()) {
+            return;
+        }
+        contentions.incrementAndGet(stripe);
+        lock.lock();
+    }
+}
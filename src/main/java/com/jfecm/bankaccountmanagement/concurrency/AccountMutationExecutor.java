@@ -0,0 +1,50 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs balance mutations so that mutations touching the same account never overlap.
+ *
+ * <p>The implementation is selected with {@code app.account.mutation.mode}:
+ * {@code locking} (default) runs the mutation on the caller thread under striped account locks,
+ * {@code sharded} routes it to the single-writer shard that owns the accounts.
+ * In both modes the mutation runs inside a database transaction, together with the
+ * {@link AccountMutationHooks.Hook hook} registered by the submitting thread, if any.
+ */
+public interface AccountMutationExecutor {
+
+    /**
+     * Submits a mutation for the given accounts.
+     *
+     * @param accountNumbers The account numbers touched by the mutation.
+     * @param mutation       The mutation to run.
+     * @return A future completed with the result of the mutation.
+     */
+    <T> CompletableFuture<T> submit(Collection<String> accountNumbers, Supplier<T> mutation);
+
+    /**
+     * Runs a mutation for the given accounts and waits for its result.
+     * Exceptions thrown by the mutation are rethrown as they are.
+     *
+     * @param accountNumbers The account numbers touched by the mutation.
+     * @param mutation       The mutation to run.
+     * @return The result of the mutation.
+     */
+    default <T> T execute(Collection<String> accountNumbers, Supplier<T> mutation) {
+        try {
+            return submit(accountNumbers, mutation).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
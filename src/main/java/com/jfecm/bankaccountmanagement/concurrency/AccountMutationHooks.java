@@ -0,0 +1,74 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets the caller of a service method run steps inside the database transaction of the account mutation
+ * that the method submits, on whichever thread the {@link AccountMutationExecutor} runs it.
+ *
+ * <p>A hook is registered on the calling thread with {@link #runWith}, and the next mutation submitted
+ * from that thread takes it over. It is meant for rows that must commit or roll back together with the
+ * mutation, such as the record of an Idempotency-Key.
+ */
+public final class AccountMutationHooks {
+    private static final ThreadLocal<Hook> PENDING = new ThreadLocal<>();
+
+    private AccountMutationHooks() {
+    }
+
+    /**
+     * Runs an action with a hook registered for the first mutation it submits.
+     *
+     * @param hook   The hook to run around the mutation.
+     * @param action The action, usually a service call.
+     * @return The result of the action.
+     */
+    public static <T> T runWith(Hook hook, Supplier<T> action) {
+        PENDING.set(hook);
+        try {
+            return action.get();
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    /**
+     * Takes over the hook registered on the current thread, if any, and wraps a mutation with it.
+     * Called by the executors on the submitting thread, before the mutation is handed to another one.
+     *
+     * @param mutation The mutation.
+     * @return The mutation, run between the steps of the hook.
+     */
+    static <T> Supplier<T> bind(Supplier<T> mutation) {
+        Hook hook = PENDING.get();
+        if (hook == null) {
+            return mutation;
+        }
+
+        PENDING.remove();
+        return () -> {
+            hook.beforeMutation();
+            T result = mutation.get();
+            hook.afterMutation(result);
+            return result;
+        };
+    }
+
+    /**
+     * Steps run in the transaction of a mutation. An exception thrown by either step rolls the mutation back.
+     */
+    public interface Hook {
+
+        /**
+         * Runs before the mutation, once its transaction has started.
+         */
+        void beforeMutation();
+
+        /**
+         * Runs after the mutation, before its transaction commits.
+         *
+         * @param result The result of the mutation.
+         */
+        void afterMutation(Object result);
+    }
+}
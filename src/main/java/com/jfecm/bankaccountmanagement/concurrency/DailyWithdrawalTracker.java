@@ -0,0 +1,219 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory accumulator of the amount debited today (withdrawals and outgoing transfers) per account,
+ * used to enforce the withdrawal limit as a daily limit in O(1).
+ *
+ * <p>The state of each account is a single {@link AtomicLong} packing the epoch day in the high
+ * {@value #DAY_BITS} bits and the amount in minor units in the low bits, so a reservation is one
+ * compare-and-set without locks or allocation. A state from a previous day counts as zero, which
+ * gives the midnight rollover for free. Reservations made inside a transaction are released if the
+ * transaction rolls back. On startup, the totals are rebuilt from today's debit transactions.
+ */
+@Slf4j
+@Component
+public class DailyWithdrawalTracker {
+    private static final int DAY_BITS = 17;
+    private static final int AMOUNT_BITS = Long.SIZE - DAY_BITS;
+    private static final long AMOUNT_MASK = (1L << AMOUNT_BITS) - 1;
+
+    private final ConcurrentHashMap<String, AtomicLong> totals = new ConcurrentHashMap<>();
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final LongSupplier today;
+
+    @Autowired
+    public DailyWithdrawalTracker(AccountTransactionRepository accountTransactionRepository) {
+        this(accountTransactionRepository, () -> LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * @param accountTransactionRepository The repository used to rebuild the totals.
+     * @param today                        Supplies the current epoch day.
+     */
+    public DailyWithdrawalTracker(AccountTransactionRepository accountTransactionRepository, LongSupplier today) {
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.today = today;
+    }
+
+    /**
+     * Reserves an amount against the daily limit of an account.
+     *
+     * @param accountNumber The account number.
+     * @param amount        The amount to reserve, in minor units.
+     * @param limit         The daily limit, in minor units.
+     * @return {@code true} if the amount fits in what is left of today's limit and was reserved.
+     */
+    public boolean tryReserve(String accountNumber, long amount, long limit) {
+        long day = today.getAsLong();
+        AtomicLong total = totalOf(accountNumber, day);
+
+        while (true) {
+            long state = total.get();
+            long spent = spentOn(state, day);
+            if (amount > limit - spent || amount > AMOUNT_MASK - spent) {
+                return false;
+            }
+            if (total.compareAndSet(state, pack(day, spent + amount))) {
+                releaseOnRollback(accountNumber, day, amount);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back an amount previously reserved on the given day. Amounts from previous days are ignored.
+     *
+     * @param accountNumber The account number.
+     * @param day           The epoch day of the reservation.
+     * @param amount        The reserved amount, in minor units.
+     */
+    public void release(String accountNumber, long day, long amount) {
+        AtomicLong total = totals.get(accountNumber);
+        if (total == null) {
+            return;
+        }
+
+        while (true) {
+            long state = total.get();
+            if (dayOf(state) != day) {
+                return;
+            }
+            if (total.compareAndSet(state, pack(day, Math.max(0L, amountOf(state) - amount)))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds a signed amount to the total of an account, for a debit updated or deleted after it was recorded.
+     * Debits of previous days no longer count, so their changes are ignored. The adjustment is reverted
+     * if the current transaction rolls back.
+     *
+     * @param accountNumber The account number.
+     * @param date          The date of the debit.
+     * @param delta         The amount to add (positive) or take out (negative), in minor units.
+     */
+    public void adjust(String accountNumber, LocalDate date, long delta) {
+        long day = today.getAsLong();
+        if (date == null || date.toEpochDay() != day || delta == 0) {
+            return;
+        }
+
+        long applied = apply(totalOf(accountNumber, day), day, delta);
+        if (applied != 0 && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    AtomicLong total = totals.get(accountNumber);
+                    if (status != STATUS_COMMITTED && total != null && dayOf(total.get()) == day) {
+                        apply(total, day, -applied);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @param accountNumber The account number.
+     * @return The amount debited today, in minor units.
+     */
+    public long getWithdrawnToday(String accountNumber) {
+        AtomicLong total = totals.get(accountNumber);
+        return total == null ? 0L : spentOn(total.get(), today.getAsLong());
+    }
+
+    /**
+     * Rebuilds today's totals from the persisted debit transactions. Totals already tracked in memory
+     * are only raised, never lowered, so withdrawals made while rebuilding are not lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long day = today.getAsLong();
+        List<Object[]> rows = accountTransactionRepository.sumDebitsByAccountNumber(LocalDate.ofEpochDay(day));
+
+        for (Object[] row : rows) {
+            String accountNumber = (String) row[0];
+            long withdrawn = Math.min(((Number) row[1]).longValue(), AMOUNT_MASK);
+            AtomicLong total = totalOf(accountNumber, day);
+            total.getAndUpdate(state -> pack(day, Math.max(spentOn(state, day), withdrawn)));
+        }
+        log.info("Daily withdrawal totals rebuilt for {} accounts.", rows.size());
+    }
+
+    /**
+     * Drops the totals of previous days, which no longer affect any limit.
+     */
+    @Scheduled(cron = "${app.withdrawal.tracker.eviction-cron:0 5 0 * * *}")
+    public void evictPreviousDays() {
+        long day = today.getAsLong();
+        totals.values().removeIf(total -> dayOf(total.get()) < day);
+    }
+
+    private AtomicLong totalOf(String accountNumber, long day) {
+        AtomicLong total = totals.get(accountNumber);
+        return total != null ? total : totals.computeIfAbsent(accountNumber, key -> new AtomicLong(pack(day, 0L)));
+    }
+
+    /**
+     * Adds a signed amount to the total of the given day, kept between zero and the largest packable amount.
+     *
+     * @return The amount actually added.
+     */
+    private static long apply(AtomicLong total, long day, long delta) {
+        while (true) {
+            long state = total.get();
+            long spent = spentOn(state, day);
+            long adjusted = Math.max(0L, Math.min(AMOUNT_MASK, spent + delta));
+            if (total.compareAndSet(state, pack(day, adjusted))) {
+                return adjusted - spent;
+            }
+        }
+    }
+
+    private void releaseOnRollback(String accountNumber, long day, long amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(accountNumber, day, amount);
+                }
+            }
+        });
+    }
+
+    private static long spentOn(long state, long day) {
+        return dayOf(state) == day ? amountOf(state) : 0L;
+    }
+
+    private static long pack(long day, long amount) {
+        return (day << AMOUNT_BITS) | amount;
+    }
+
+    private static long dayOf(long state) {
+        return state >>> AMOUNT_BITS;
+    }
+
+    private static long amountOf(long state) {
+        return state & AMOUNT_MASK;
+    }
+}
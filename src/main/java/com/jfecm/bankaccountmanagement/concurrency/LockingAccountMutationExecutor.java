@@ -0,0 +1,40 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs mutations on the caller thread while holding the stripe locks of the accounts involved.
+ * The transaction is committed before the locks are released.
+ */
+@Component
+@ConditionalOnProperty(name = "app.account.mutation.mode", havingValue = "locking", matchIfMissing = true)
+public class LockingAccountMutationExecutor implements AccountMutationExecutor {
+    private final AccountLockManager accountLockManager;
+    private final TransactionOperations transactionOperations;
+
+    public LockingAccountMutationExecutor(AccountLockManager accountLockManager, TransactionOperations transactionOperations) {
+        this.accountLockManager = accountLockManager;
+        this.transactionOperations = transactionOperations;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Collection<String> accountNumbers, Supplier<T> mutation) {
+        try {
+            return CompletableFuture.completedFuture(execute(accountNumbers, mutation));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public <T> T execute(Collection<String> accountNumbers, Supplier<T> mutation) {
+        Supplier<T> hooked = AccountMutationHooks.bind(mutation);
+        return accountLockManager.executeWithLocks(accountNumbers, () -> transactionOperations.execute(status -> hooked.get()));
+    }
+}
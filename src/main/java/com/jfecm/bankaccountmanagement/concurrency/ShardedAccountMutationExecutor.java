@@ -0,0 +1,139 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer execution mode: every account is owned by one of N single-threaded shards
+ * (chosen by the hash of the account number) and all its mutations run on that shard, in order,
+ * without any lock.
+ *
+ * <p>A mutation spanning several shards (e.g. a transfer) uses a two-phase handoff:
+ * <ol>
+ *     <li>every involved shard except the lowest one runs a park task, which signals that the shard
+ *     reached the command and then waits, so none of its accounts can change;</li>
+ *     <li>the lowest shard (the coordinator) waits until every other shard is parked, applies the
+ *     mutation and releases them.</li>
+ * </ol>
+ * The tasks of a multi-shard mutation are enqueued atomically, so all shards see multi-shard
+ * mutations in the same order and two handoffs can never wait on each other.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.account.mutation.mode", havingValue = "sharded")
+public class ShardedAccountMutationExecutor implements AccountMutationExecutor {
+    private final ExecutorService[] shards;
+    private final TransactionOperations transactionOperations;
+    private final Object multiShardSubmission = new Object();
+
+    public ShardedAccountMutationExecutor(@Value("${app.account.mutation.shards:8}") int shardCount,
+                                          TransactionOperations transactionOperations) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive.");
+        }
+
+        this.shards = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = "account-shard-" + i;
+            this.shards[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        }
+        this.transactionOperations = transactionOperations;
+        log.info("Sharded account mutation executor started with {} shards.", shardCount);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Collection<String> accountNumbers, Supplier<T> mutation) {
+        Supplier<T> hooked = AccountMutationHooks.bind(mutation);
+        int[] involved = accountNumbers.stream().mapToInt(this::shardOf).distinct().toArray();
+        Arrays.sort(involved);
+
+        if (involved.length == 1) {
+            return CompletableFuture.supplyAsync(() -> transactional(hooked), shards[involved[0]]);
+        }
+
+        return submitAcrossShards(involved, hooked);
+    }
+
+    /**
+     * Returns the shard that owns an account number.
+     *
+     * @param accountNumber The account number.
+     * @return The shard index.
+     */
+    public int shardOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shards.length);
+    }
+
+    /**
+     * @return The number of shards.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> submitAcrossShards(int[] involved, Supplier<T> mutation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CountDownLatch parked = new CountDownLatch(involved.length - 1);
+        CountDownLatch released = new CountDownLatch(1);
+
+        synchronized (multiShardSubmission) {
+            // Phase 1: the other shards park on the command.
+            for (int i = 1; i < involved.length; i++) {
+                shards[involved[i]].execute(() -> {
+                    parked.countDown();
+                    awaitUninterruptibly(released);
+                });
+            }
+
+            // Phase 2: the coordinator applies the mutation once every shard is parked, then releases them.
+            shards[involved[0]].execute(() -> {
+                try {
+                    awaitUninterruptibly(parked);
+                    result.complete(transactional(mutation));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    released.countDown();
+                }
+            });
+        }
+
+        return result;
+    }
+
+    private <T> T transactional(Supplier<T> mutation) {
+        return transactionOperations.execute(status -> mutation.get());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
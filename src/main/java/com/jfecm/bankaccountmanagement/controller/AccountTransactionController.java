@@ -2,15 +2,24 @@ package com.jfecm.bankaccountmanagement.controller;
 
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateTransaction;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionTypeSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransferResult;
 import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.service.BankingAccountService;
+import com.jfecm.bankaccountmanagement.service.IdempotencyService;
+import com.jfecm.bankaccountmanagement.service.TransactionExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,19 +30,27 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/v1/accounts/account/{accountNumber}/transactions")
 public class AccountTransactionController {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final BankingAccountService bankingAccountService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionExportService transactionExportService;
 
     /**
      * Recharge the balance of a bank account.
      *
      * @param accountNumber Bank account number.
-     * @param amount        Amount to recharge.
+     * @param amount         Amount to recharge.
+     * @param idempotencyKey Optional key that makes retries of the same request return the original result.
      * @return ResponseEntity with the reload result.
      */
     @PostMapping("/transaction/recharge/{amount}")
     public ResponseEntity<Map<String, Object>> recharge(@PathVariable String accountNumber,
-                                                        @PathVariable Double amount) {
-        AccountTransaction depositTransaction = bankingAccountService.rechargeAccountBalance(accountNumber, amount);
+                                                        @PathVariable Money amount,
+                                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        AccountTransaction depositTransaction = idempotencyService.execute(idempotencyKey, accountNumber,
+                AccountTransactionType.RECHARGE, String.valueOf(amount),
+                () -> bankingAccountService.rechargeAccountBalance(accountNumber, amount));
         return ResponseEntity.ok(Map.of("Result", depositTransaction));
     }
 
@@ -41,13 +58,17 @@ public class AccountTransactionController {
      * Make a withdrawal transaction from a bank account.
      *
      * @param accountNumber Bank account number.
-     * @param amount        Amount to withdraw.
+     * @param amount         Amount to withdraw.
+     * @param idempotencyKey Optional key that makes retries of the same request return the original result.
      * @return ResponseEntity with the result of the withdrawal transaction.
      */
     @PostMapping("/transaction/withdrawal/{amount}")
     public ResponseEntity<Map<String, Object>> withdrawal(@PathVariable String accountNumber,
-                                                          @PathVariable Double amount) {
-        AccountTransaction withdrawalTransaction = bankingAccountService.createWithdrawalTransaction(accountNumber, amount);
+                                                          @PathVariable Money amount,
+                                                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        AccountTransaction withdrawalTransaction = idempotencyService.execute(idempotencyKey, accountNumber,
+                AccountTransactionType.WITHDRAWAL, String.valueOf(amount),
+                () -> bankingAccountService.createWithdrawalTransaction(accountNumber, amount));
         return ResponseEntity.ok(Map.of("Result", withdrawalTransaction));
     }
 
@@ -56,15 +77,34 @@ public class AccountTransactionController {
      *
      * @param accountNumber   Source bank account number.
      * @param requestTransfer Transfer information.
+     * @param idempotencyKey  Optional key that makes retries of the same request return the original result.
      * @return ResponseEntity with the result of the transfer transaction.
      */
     @PostMapping("/transaction/transfer")
     public ResponseEntity<Map<String, Object>> transfer(@PathVariable String accountNumber,
-                                                        @RequestBody RequestCreateTransaction requestTransfer) {
-        AccountTransaction transferTransaction = bankingAccountService.createTransferTransaction(accountNumber, requestTransfer);
+                                                        @RequestBody RequestCreateTransaction requestTransfer,
+                                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        AccountTransaction transferTransaction = idempotencyService.execute(idempotencyKey, accountNumber,
+                AccountTransactionType.TRANSFER, requestTransfer.getDestinationAccountNumber() + ":" + requestTransfer.getAmount(),
+                () -> bankingAccountService.createTransferTransaction(accountNumber, requestTransfer));
         return ResponseEntity.ok(Map.of("Result", transferTransaction));
     }
 
+    /**
+     * Make a batch of transfer transactions from a bank account.
+     *
+     * @param accountNumber    Source bank account number.
+     * @param requestTransfers Information of every transfer.
+     * @return ResponseEntity with the result of every transfer transaction.
+     */
+    @PostMapping("/transaction/transfer/batch")
+    public ResponseEntity<Map<String, Object>> batchTransfer(@PathVariable String accountNumber,
+                                                             @RequestBody List<RequestCreateTransaction> requestTransfers) {
+        List<ResponseTransferResult> results = bankingAccountService.createBatchTransferTransactions(accountNumber, requestTransfers);
+        long completed = results.stream().filter(result -> ResponseTransferResult.COMPLETED.equals(result.getStatus())).count();
+        return ResponseEntity.ok(Map.of("Total", results.size(), "Completed", completed, "Result", results));
+    }
+
     /**
      * Gets a specific transaction by its ID.
      *
@@ -121,6 +161,40 @@ public class AccountTransactionController {
         return new ResponseEntity<>(Map.of("Total", transactions.size(), "Result", transactions), HttpStatus.OK);
     }
 
+    /**
+     * Gets a page of the transaction history of a bank account, newest first.
+     *
+     * @param accountNumber Bank account number.
+     * @param cursor        Cursor returned as nextCursor by the previous page; omitted for the first page.
+     * @param size          Maximum number of transactions of the page.
+     * @return ResponseEntity with the page of transactions and the cursor of the next page.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<Map<String, Object>> getTransactionHistory(@PathVariable String accountNumber,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "${app.transactions.history.page-size:50}") int size) {
+        ResponseTransactionPage page = bankingAccountService.getTransactionHistory(accountNumber, cursor, size);
+        return ResponseEntity.ok(Map.of("Result", page));
+    }
+
+    /**
+     * Exports the full transaction history of a bank account as NDJSON, oldest first.
+     * The response is streamed, so it is not held in memory.
+     *
+     * @param accountNumber Bank account number.
+     * @return ResponseEntity streaming one JSON transaction per line.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable String accountNumber) {
+        Long accountId = transactionExportService.getAccountId(accountNumber);
+        StreamingResponseBody body = outputStream -> transactionExportService.exportTransactions(accountId, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions-" + accountNumber + ".ndjson")
+                .body(body);
+    }
+
     /**
      * Filter transactions from a bank account by type.
      *
@@ -155,6 +229,26 @@ public class AccountTransactionController {
         return new ResponseEntity<>(Map.of("Total", transactions.size(), "Result", transactions), HttpStatus.OK);
     }
 
+    /**
+     * Totals the transactions of a bank account per type over a date range.
+     *
+     * @param accountNumber Bank account number.
+     * @param fromDate      Start date of the range.
+     * @param toDate        End date of range.
+     * @return ResponseEntity with the count and the credited and debited totals per transaction type.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<Map<String, Object>> getTransactionSummary(@PathVariable String accountNumber,
+                                                                     @RequestParam("fromDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+                                                                     @RequestParam("toDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            return new ResponseEntity<>(Map.of("Result", "The start date (fromDate) cannot be later than the end date (toDate). Please ensure that the dates are in the correct order and try again."), HttpStatus.BAD_REQUEST);
+        }
+
+        List<ResponseTransactionTypeSummary> summary = bankingAccountService.getTransactionSummary(accountNumber, fromDate, toDate);
+        return new ResponseEntity<>(Map.of("Result", summary), HttpStatus.OK);
+    }
+
     /**
      * Filters bank account transactions by type and date range.
      *
@@ -1,13 +1,19 @@
 package com.jfecm.bankaccountmanagement.controller;
 
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
 import com.jfecm.bankaccountmanagement.service.BankingAccountService;
+import com.jfecm.bankaccountmanagement.service.ListingExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,7 +23,9 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/v1/accounts")
 public class BankingAccountController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final BankingAccountService bankingAccountService;
+    private final ListingExportService listingExportService;
 
     /**
      * Retrieves a banking account by its account number.
@@ -43,6 +51,39 @@ public class BankingAccountController {
         return new ResponseEntity<>(Map.of("Total", accounts.size(), "Result", accounts), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves a page of banking accounts filtered by status, in ID order.
+     *
+     * @param status  The status to filter banking accounts (default: ACTIVE).
+     * @param afterId The nextAfterId returned with the previous page; omitted for the first page.
+     * @param size    The maximum number of accounts of the page.
+     * @return ResponseEntity with the page of accounts, the total on the first page and the afterId of the next page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getBankingAccountsPage(@RequestParam(required = false, defaultValue = "ACTIVE") BankingAccountStatus status,
+                                                                      @RequestParam(required = false) Long afterId,
+                                                                      @RequestParam(defaultValue = "${app.listing.page-size:50}") int size) {
+        ResponseKeysetPage<ResponseAccountSummary> page = bankingAccountService.getBankingAccountsPage(status, afterId, size);
+        return ResponseEntity.ok(Map.of("Result", page));
+    }
+
+    /**
+     * Exports the banking accounts filtered by status as NDJSON, in ID order.
+     * The response is streamed, so it is not held in memory.
+     *
+     * @param status The status to filter banking accounts (default: ACTIVE).
+     * @return ResponseEntity streaming one JSON account per line.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBankingAccounts(@RequestParam(required = false, defaultValue = "ACTIVE") BankingAccountStatus status) {
+        StreamingResponseBody body = outputStream -> listingExportService.exportBankingAccounts(status, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=accounts-" + status.name().toLowerCase() + ".ndjson")
+                .body(body);
+    }
+
     /**
      * Updates the status of a banking account by its account number.
      *
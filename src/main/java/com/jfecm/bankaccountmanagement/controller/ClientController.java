@@ -3,18 +3,21 @@ package com.jfecm.bankaccountmanagement.controller;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
 import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
 import com.jfecm.bankaccountmanagement.service.ClientService;
-import com.jfecm.bankaccountmanagement.service.EmailService;
-import com.jfecm.bankaccountmanagement.util.Email;
+import com.jfecm.bankaccountmanagement.service.ListingExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.mail.MessagingException;
 import java.util.List;
 import java.util.Map;
 
@@ -23,8 +26,9 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/v1/clients")
 public class ClientController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
     private final ClientService clientService;
-    private final EmailService emailService;
+    private final ListingExportService listingExportService;
 
     /**
      * Endpoint to create a client.
@@ -34,13 +38,8 @@ public class ClientController {
      */
     @PostMapping("/client")
     public ResponseEntity<Map<String, Object>> createClient(@RequestBody RequestCreateClient client) {
-        try {
-            Client clientCreated = clientService.saveClient(client);
-            emailService.sendEmail(client.getEmail(), "Welcome message", Email.welcomeMessage(client));
-            return ResponseEntity.ok(Map.of("Result", "Client created and email sent.", "Data", clientCreated));
-        } catch (MessagingException e) {
-            return ResponseEntity.internalServerError().body(Map.of("Error", "An error occurred while sending the email."));
-        }
+        Client clientCreated = clientService.saveClient(client);
+        return ResponseEntity.ok(Map.of("Result", "Client created. The welcome email will be sent shortly.", "Data", clientCreated));
     }
 
     /**
@@ -55,15 +54,48 @@ public class ClientController {
         return new ResponseEntity<>(Map.of("Total", clientList.size(), "Result", clientList), HttpStatus.OK);
     }
 
+    /**
+     * Endpoint to obtain a page of clients, in ID order.
+     *
+     * @param status  The status of the clients to get (default: "ACTIVE").
+     * @param afterId The nextAfterId returned with the previous page; omitted for the first page.
+     * @param size    The maximum number of clients of the page.
+     * @return ResponseEntity with the page of clients, the total on the first page and the afterId of the next page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getClientsPage(@RequestParam(required = false, defaultValue = "ACTIVE") UserStatus status,
+                                                              @RequestParam(required = false) Long afterId,
+                                                              @RequestParam(defaultValue = "${app.listing.page-size:50}") int size) {
+        ResponseKeysetPage<ResponseClientSummary> page = clientService.getClientsPage(status, afterId, size);
+        return ResponseEntity.ok(Map.of("Result", page));
+    }
+
+    /**
+     * Endpoint to export the clients as NDJSON, in ID order.
+     * The response is streamed, so it is not held in memory.
+     *
+     * @param status The status of the clients to export (default: "ACTIVE").
+     * @return ResponseEntity streaming one JSON client per line.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClients(@RequestParam(required = false, defaultValue = "ACTIVE") UserStatus status) {
+        StreamingResponseBody body = outputStream -> listingExportService.exportClients(status, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=clients-" + status.name().toLowerCase() + ".ndjson")
+                .body(body);
+    }
+
     /**
      * Endpoint to obtain a client by DNI.
      *
      * @param dni The DNI of the client to obtain.
-     * @return ResponseEntity with the found client.
+     * @return ResponseEntity with the data of the found client, its account and its related clients.
      */
     @GetMapping("/client/{dni}")
     public ResponseEntity<Map<String, Object>> getClientByDni(@PathVariable String dni) {
-        Client client = clientService.getClientByDni(dni);
+        ResponseClientData client = clientService.getClientDetailsByDni(dni);
         return ResponseEntity.ok(Map.of("Result", client));
     }
 
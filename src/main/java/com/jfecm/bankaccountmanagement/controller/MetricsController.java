@@ -0,0 +1,42 @@
+package com.jfecm.bankaccountmanagement.controller;
+
+import com.jfecm.bankaccountmanagement.audit.AuditLog;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadataCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/metrics")
+public class MetricsController {
+    private final AccountMetadataCache accountMetadataCache;
+    private final AuditLog auditLog;
+
+    /**
+     * Get the statistics of the account metadata cache.
+     *
+     * @return ResponseEntity with the size, hit rate and eviction counters of the cache.
+     */
+    @GetMapping("/account-cache")
+    public ResponseEntity<Map<String, Object>> getAccountCacheStats() {
+        return new ResponseEntity<>(Map.of("Result", accountMetadataCache.getStats()), HttpStatus.OK);
+    }
+
+    /**
+     * Get the statistics of the audit log.
+     *
+     * @return ResponseEntity with the number of recorded, written and dropped audit events.
+     */
+    @GetMapping("/audit")
+    public ResponseEntity<Map<String, Object>> getAuditStats() {
+        return new ResponseEntity<>(Map.of("Result", auditLog.getStats()), HttpStatus.OK);
+    }
+}
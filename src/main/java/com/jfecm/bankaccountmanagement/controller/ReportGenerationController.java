@@ -57,7 +57,7 @@ public class ReportGenerationController {
     @GetMapping(value = "/pdf/client/{dni}/transactions", produces = MediaType.APPLICATION_PDF_VALUE)
     public ResponseEntity<byte[]> generateAccountTransactionsPdf(@PathVariable String dni) {
         // Get the client corresponding to the provided DNI number
-        Client client = clientService.getClientByDni(dni);
+        Client client = clientService.getClientReportByDni(dni);
         // Generate the PDF for account transactions
         byte[] bis = pdfService.generateAccountTransactionsPdf(client);
         // Create the PDF file name with the DNI and current date
@@ -1,11 +1,12 @@
 package com.jfecm.bankaccountmanagement.dto.request;
 
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import lombok.Builder;
 import lombok.Data;
 
 @Builder
 @Data
 public class RequestCreateTransaction {
-    private Double amount;
+    private Money amount;
     private String destinationAccountNumber;
 }
@@ -1,6 +1,7 @@
 package com.jfecm.bankaccountmanagement.dto.request;
 
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import lombok.Builder;
 import lombok.Data;
 
@@ -8,5 +9,5 @@ import lombok.Data;
 @Data
 public class RequestUpdateTransaction {
     private AccountTransactionType accountTransactionType;
-    private Double amount;
+    private Money amount;
 }
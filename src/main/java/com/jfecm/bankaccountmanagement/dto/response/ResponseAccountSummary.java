@@ -0,0 +1,27 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Flat row of the account listings, read with a constructor projection instead of loading the account
+ * entity with its client and transactions.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+public class ResponseAccountSummary {
+    private Long id;
+    private String accountNumber;
+    private Money balance;
+    private Money withdrawalLimit;
+    private LocalDate accountOpenedDate;
+    private LocalDate accountClosingDate;
+    private BankingAccountStatus bankingAccountStatus;
+    private String clientDni;
+}
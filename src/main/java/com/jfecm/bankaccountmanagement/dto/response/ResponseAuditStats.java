@@ -0,0 +1,14 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ResponseAuditStats {
+    private boolean enabled;
+    private int bufferSize;
+    private long recorded;
+    private long written;
+    private long dropped;
+}
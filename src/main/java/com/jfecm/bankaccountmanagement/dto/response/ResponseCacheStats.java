@@ -0,0 +1,16 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ResponseCacheStats {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long invalidations;
+}
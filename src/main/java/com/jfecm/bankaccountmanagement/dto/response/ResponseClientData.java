@@ -1,13 +1,15 @@
 package com.jfecm.bankaccountmanagement.dto.response;
 
-import com.jfecm.bankaccountmanagement.entity.BankingAccount;
-import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
 import lombok.Builder;
 import lombok.Data;
 
 import java.util.List;
 
+/**
+ * Client of the listings and of the client details. The account, the adherents and the main client are flat summaries, so that
+ * serializing a client never walks into account transactions or into the relations of related clients.
+ */
 @Builder
 @Data
 public class ResponseClientData {
@@ -17,7 +19,7 @@ public class ResponseClientData {
     private String email;
     private String address;
     private UserStatus userStatus;
-    private BankingAccount bankingAccount;
-    private List<Client> adherents;
-    private Client mainClient;
+    private ResponseAccountSummary bankingAccount;
+    private List<ResponseClientReference> adherents;
+    private ResponseClientReference mainClient;
 }
@@ -0,0 +1,19 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Link to a related client (an adherent or the main client), without its account or its own relations.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+public class ResponseClientReference {
+    private Long id;
+    private String dni;
+    private String name;
+    private UserStatus userStatus;
+}
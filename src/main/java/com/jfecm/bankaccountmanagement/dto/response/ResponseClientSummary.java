@@ -0,0 +1,23 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Flat row of the client listings, read with a constructor projection instead of loading the client
+ * entity with its account, adherents and main client.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+public class ResponseClientSummary {
+    private Long id;
+    private String dni;
+    private String name;
+    private String email;
+    private String address;
+    private UserStatus userStatus;
+    private String accountNumber;
+}
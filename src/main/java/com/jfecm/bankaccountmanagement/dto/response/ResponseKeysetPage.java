@@ -0,0 +1,21 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class ResponseKeysetPage<T> {
+    private List<T> items;
+    private int size;
+    /**
+     * Number of matching rows, counted on the first page only; null on the following pages.
+     */
+    private Long total;
+    /**
+     * Value of the afterId parameter for the next page, or null when this is the last page.
+     */
+    private Long nextAfterId;
+}
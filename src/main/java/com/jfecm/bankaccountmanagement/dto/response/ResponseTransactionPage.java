@@ -0,0 +1,18 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@Data
+public class ResponseTransactionPage {
+    private List<AccountTransaction> transactions;
+    private int size;
+    /**
+     * Opaque cursor of the next page, or null when this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ResponseTransactionTypeSummary {
+    private AccountTransactionType accountTransactionType;
+    private long count;
+    private Money totalCredited;
+    private Money totalDebited;
+}
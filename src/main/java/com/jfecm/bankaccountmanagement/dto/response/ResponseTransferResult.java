@@ -0,0 +1,20 @@
+package com.jfecm.bankaccountmanagement.dto.response;
+
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ResponseTransferResult {
+    public static final String COMPLETED = "COMPLETED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String destinationAccountNumber;
+    private Money amount;
+    private String status;
+    private String message;
+    private AccountTransaction transaction;
+}
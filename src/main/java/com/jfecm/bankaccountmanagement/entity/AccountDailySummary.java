@@ -0,0 +1,41 @@
+package com.jfecm.bankaccountmanagement.entity;
+
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Daily rollup of the transactions of a banking account, per transaction type and direction.
+ * It is incremented in the same database transaction as every movement, so range statistics
+ * read one row per day instead of every transaction.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "account_daily_summaries")
+public class AccountDailySummary {
+
+    /**
+     * The account, day, transaction type and direction the rollup refers to.
+     */
+    @EmbeddedId
+    private AccountDailySummaryId id;
+
+    /**
+     * The number of transactions of the day.
+     */
+    @Column(nullable = false)
+    private Long transactionCount;
+
+    /**
+     * The sum of the amounts of the transactions of the day.
+     */
+    @Column(nullable = false)
+    private Money totalAmount;
+}
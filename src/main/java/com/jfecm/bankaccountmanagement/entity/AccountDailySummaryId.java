@@ -0,0 +1,39 @@
+package com.jfecm.bankaccountmanagement.entity;
+
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Key of an {@link AccountDailySummary}: one row per account, day, transaction type and direction.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class AccountDailySummaryId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "banking_account_id", nullable = false)
+    private Long bankingAccountId;
+
+    @Column(nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AccountTransactionType accountTransactionType;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AccountTransactionDirection direction;
+}
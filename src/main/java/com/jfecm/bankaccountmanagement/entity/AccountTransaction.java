@@ -1,11 +1,18 @@
 package com.jfecm.bankaccountmanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.persistence.*;
@@ -20,46 +27,75 @@ import java.time.LocalTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "account_transactions")
+@Table(name = "account_transactions",
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_transactions_account_sequence", columnNames = {"banking_account_id", "sequence_number"}),
+        indexes = {
+                @Index(name = "idx_account_transactions_account_id", columnList = "banking_account_id, id"),
+                @Index(name = "idx_account_transactions_account_date_time", columnList = "banking_account_id, date_of_execution, time_of_execution"),
+                @Index(name = "idx_account_transactions_account_type_date", columnList = "banking_account_id, account_transaction_type, date_of_execution")
+        })
 public class AccountTransaction {
 
     /**
      * The unique identifier for the transaction.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_transactions_seq")
+    @GenericGenerator(name = "account_transactions_seq", strategy = "com.jfecm.bankaccountmanagement.entity.id.PooledLoSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "account_transactions_seq"))
     private Long id;
 
     /**
      * The type of account transaction (e.g., deposit, withdrawal).
      */
-    @Column
+    @Column(name = "account_transaction_type")
     @Enumerated(EnumType.STRING)
     private AccountTransactionType accountTransactionType;
 
     /**
-     * The date of execution of the transaction.
+     * Whether the transaction adds to (credit) or subtracts from (debit) the balance.
      */
     @Column
+    @Enumerated(EnumType.STRING)
+    private AccountTransactionDirection direction;
+
+    /**
+     * The date of execution of the transaction.
+     */
+    @Column(name = "date_of_execution")
     @DateTimeFormat(pattern = "dd/MM/yyyy")
     private LocalDate dateOfExecution;
 
     /**
      * The time of execution of the transaction.
      */
-    @Column
+    @Column(name = "time_of_execution")
     @DateTimeFormat(pattern = "HH:mm:ss")
     private LocalTime timeOfExecution;
 
     /**
-     * The amount associated with the transaction.
+     * The amount associated with the transaction, stored in minor units.
      */
     @Column
-    private Double amount;
+    private Money amount;
+
+    /**
+     * The balance of the account right after the transaction, stored in minor units.
+     */
+    @Column(name = "balance_after")
+    private Money balanceAfter;
+
+    /**
+     * The position of the transaction in the account's history, starting at 1.
+     */
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
 
     /**
      * The banking account associated with the transaction.
      */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "banking_account_id")
     @JsonIgnore
@@ -0,0 +1,61 @@
+package com.jfecm.bankaccountmanagement.entity;
+
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the balance of a banking account after a given transaction, used by the
+ * event-sourced ledger mode as the starting point to derive the current balance.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "balance_snapshots",
+        indexes = @Index(name = "idx_balance_snapshots_account_sequence", columnList = "banking_account_id, last_sequence_number"))
+public class BalanceSnapshot {
+
+    /**
+     * The unique identifier for the snapshot.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshots_seq")
+    @GenericGenerator(name = "balance_snapshots_seq", strategy = "com.jfecm.bankaccountmanagement.entity.id.PooledLoSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "balance_snapshots_seq"))
+    private Long id;
+
+    /**
+     * The ID of the banking account the snapshot belongs to.
+     */
+    @Column(name = "banking_account_id", nullable = false)
+    private Long bankingAccountId;
+
+    /**
+     * The sequence number of the last transaction included in the snapshot.
+     * The transactions recorded before sequence numbers existed are included in every snapshot.
+     */
+    @Column(name = "last_sequence_number", nullable = false)
+    private Long lastSequenceNumber;
+
+    /**
+     * The balance after the last included transaction.
+     */
+    @Column(nullable = false)
+    private Money balance;
+
+    /**
+     * The moment the snapshot was written.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
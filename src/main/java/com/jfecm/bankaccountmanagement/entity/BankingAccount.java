@@ -2,10 +2,17 @@ package com.jfecm.bankaccountmanagement.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.persistence.*;
@@ -22,14 +29,20 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table(name = "banking_accounts",
-        uniqueConstraints = @UniqueConstraint(columnNames = "account_number"))
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = "account_number"),
+                @UniqueConstraint(name = "uk_banking_accounts_account_key", columnNames = "account_key")
+        },
+        indexes = @Index(name = "idx_banking_accounts_status", columnList = "banking_account_status"))
 public class BankingAccount {
 
     /**
      * The unique identifier for the banking account.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "banking_accounts_seq")
+    @GenericGenerator(name = "banking_accounts_seq", strategy = "com.jfecm.bankaccountmanagement.entity.id.PooledLoSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "banking_accounts_seq"))
     private Long id;
 
     /**
@@ -39,16 +52,22 @@ public class BankingAccount {
     private String accountNumber;
 
     /**
-     * The balance of the banking account.
+     * The numeric form of the account number, used for lookups. Null for legacy (UUID-style) account numbers.
+     */
+    @Column(name = "account_key")
+    private Long accountKey;
+
+    /**
+     * The balance of the banking account, stored in minor units.
      */
     @Column
-    private Double balance;
+    private Money balance;
 
     /**
-     * The withdrawal limit for the banking account.
+     * The withdrawal limit for the banking account, stored in minor units.
      */
     @Column
-    private Double withdrawalLimit;
+    private Money withdrawalLimit;
 
     /**
      * The date when the banking account was opened.
@@ -67,7 +86,9 @@ public class BankingAccount {
     /**
      * The client associated with the banking account.
      */
-    @OneToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id")
     @JsonIgnore
     private Client client;
@@ -75,13 +96,16 @@ public class BankingAccount {
     /**
      * The status of the banking account (e.g., active, inactive).
      */
-    @Column
+    @Column(name = "banking_account_status")
     @Enumerated(EnumType.STRING)
     private BankingAccountStatus bankingAccountStatus;
 
     /**
      * The list of account transactions associated with the banking account.
      */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "bankingAccount", cascade = CascadeType.ALL)
+    @BatchSize(size = Client.BATCH_SIZE)
     private List<AccountTransaction> accountTransactions = new ArrayList<>();
 }
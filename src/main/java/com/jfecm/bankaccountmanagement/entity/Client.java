@@ -5,7 +5,15 @@ import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.LazyToOne;
+import org.hibernate.annotations.LazyToOneOption;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -13,21 +21,52 @@ import java.util.List;
 
 /**
  * Represents a client in the banking system.
+ *
+ * <p>Every association is lazy. The named entity graphs are the fetch plans of the read use cases:
+ * {@link #LIST_GRAPH} for the client listings, {@link #DETAIL_GRAPH} for a client with its adherents and main client, and
+ * {@link #REPORT_GRAPH} for a client with its account transactions. Adherents and clients reached through
+ * a proxy are loaded in batches, so walking them from a list of clients does not run one query per client.
  */
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Client.LIST_GRAPH,
+                attributeNodes = @NamedAttributeNode("bankingAccount")),
+        @NamedEntityGraph(name = Client.DETAIL_GRAPH,
+                attributeNodes = {
+                        @NamedAttributeNode("bankingAccount"),
+                        @NamedAttributeNode(value = "adherents", subgraph = "adherents"),
+                        @NamedAttributeNode("mainClient")
+                },
+                subgraphs = @NamedSubgraph(name = "adherents", attributeNodes = @NamedAttributeNode("bankingAccount"))),
+        @NamedEntityGraph(name = Client.REPORT_GRAPH,
+                attributeNodes = @NamedAttributeNode(value = "bankingAccount", subgraph = "bankingAccount"),
+                subgraphs = @NamedSubgraph(name = "bankingAccount", attributeNodes = @NamedAttributeNode("accountTransactions")))
+})
+@BatchSize(size = Client.BATCH_SIZE)
 @Builder
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "clients",
-        uniqueConstraints = @UniqueConstraint(columnNames = "email"))
+        uniqueConstraints = @UniqueConstraint(columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_clients_dni", columnList = "dni"),
+                @Index(name = "idx_clients_user_status", columnList = "user_status"),
+                @Index(name = "idx_clients_main_client_id", columnList = "main_client_id")
+        })
 public class Client {
+    public static final String LIST_GRAPH = "Client.list";
+    public static final String DETAIL_GRAPH = "Client.detail";
+    public static final String REPORT_GRAPH = "Client.report";
+    public static final int BATCH_SIZE = 25;
 
     /**
      * The unique identifier for the client.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clients_seq")
+    @GenericGenerator(name = "clients_seq", strategy = "com.jfecm.bankaccountmanagement.entity.id.PooledLoSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "clients_seq"))
     private Long id;
 
     /**
@@ -52,6 +91,7 @@ public class Client {
      * The password associated with the client's account.
      */
     @Column
+    @ToString.Exclude
     private String password;
 
     /**
@@ -63,26 +103,36 @@ public class Client {
     /**
      * The status of the client's account (e.g., active, inactive).
      */
-    @Column
+    @Column(name = "user_status")
     @Enumerated(EnumType.STRING)
     private UserStatus userStatus;
 
     /**
      * The banking account associated with the client.
+     * The foreign key is on the account side, so this side can only be lazy with bytecode enhancement
+     * (see the hibernate-enhance-maven-plugin); without it, Hibernate loads it along with the client.
      */
-    @OneToOne(mappedBy = "client", cascade = CascadeType.PERSIST)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToOne(mappedBy = "client", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
+    @LazyToOne(LazyToOneOption.NO_PROXY)
     private BankingAccount bankingAccount;
 
     /**
      * The list of adherents (clients associated with this client).
      */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "mainClient")
+    @BatchSize(size = BATCH_SIZE)
     private List<Client> adherents = new ArrayList<>();
 
     /**
      * The main client (if this client is an adherent).
      */
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "main_client_id")
     @JsonIgnore
     private Client mainClient;
@@ -0,0 +1,94 @@
+package com.jfecm.bankaccountmanagement.entity;
+
+import com.jfecm.bankaccountmanagement.entity.enums.EmailOutboxStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Represents an email waiting to be sent, written in the same transaction as the change that
+ * triggers it and delivered later by the outbox dispatcher.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "email_outbox",
+        indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+public class EmailOutboxMessage {
+
+    /**
+     * The unique identifier for the message.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @GenericGenerator(name = "email_outbox_seq", strategy = "com.jfecm.bankaccountmanagement.entity.id.PooledLoSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "email_outbox_seq"))
+    private Long id;
+
+    /**
+     * The email address of the receiver.
+     */
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * The subject of the email.
+     */
+    @Column(nullable = false)
+    private String subject;
+
+    /**
+     * The HTML body of the email. Cleared once the message is sent or has failed for good, since it may carry credentials.
+     */
+    @Column(columnDefinition = "LONGTEXT")
+    @ToString.Exclude
+    private String body;
+
+    /**
+     * The delivery state of the email.
+     */
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private EmailOutboxStatus status;
+
+    /**
+     * The number of delivery attempts made so far.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * The earliest moment of the next delivery attempt. While a dispatcher holds the message, it is
+     * pushed forward by the claim lease, so no other dispatcher picks the message up.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * The moment the email was queued.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * The moment the email was sent.
+     */
+    @Column
+    private LocalDateTime sentAt;
+
+    /**
+     * The error of the last failed delivery attempt.
+     */
+    @Column(length = 1000)
+    private String lastError;
+}
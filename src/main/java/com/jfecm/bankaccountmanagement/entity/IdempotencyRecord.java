@@ -0,0 +1,57 @@
+package com.jfecm.bankaccountmanagement.entity;
+
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the result of a mutation executed with an Idempotency-Key.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    public static final int MAX_KEY_LENGTH = 320;
+
+    /**
+     * The idempotency key, scoped by account number.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    /**
+     * The ID of the transaction created by the original request.
+     * Only null inside the transaction of the original request, until its mutation has run.
+     */
+    @Column
+    private Long transactionId;
+
+    /**
+     * The operation of the original request. Null for keys recorded before it was stored.
+     */
+    @Column
+    @Enumerated(EnumType.STRING)
+    private AccountTransactionType operation;
+
+    /**
+     * The SHA-256 fingerprint of the parameters of the original request, in hex.
+     * Null for keys recorded before it was stored.
+     */
+    @Column(length = 64)
+    private String requestFingerprint;
+
+    /**
+     * The moment the original request was executed.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
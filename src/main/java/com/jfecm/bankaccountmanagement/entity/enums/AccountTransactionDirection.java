@@ -0,0 +1,21 @@
+package com.jfecm.bankaccountmanagement.entity.enums;
+
+/**
+ * Enumerates the effect of an account transaction on the balance.
+ * - CREDIT : The amount is added to the balance.
+ * - DEBIT  : The amount is subtracted from the balance.
+ */
+public enum AccountTransactionDirection {
+    CREDIT("Credit"),
+    DEBIT("Debit");
+
+    private final String displayValue;
+
+    AccountTransactionDirection(String displayValue) {
+        this.displayValue = displayValue;
+    }
+
+    public String getDisplayValue() {
+        return displayValue;
+    }
+}
@@ -0,0 +1,23 @@
+package com.jfecm.bankaccountmanagement.entity.enums;
+
+/**
+ * Enumerates the delivery states of an email in the outbox.
+ * - PENDING : The email is waiting for its first or next delivery attempt.
+ * - SENT    : The email was accepted by the SMTP server.
+ * - FAILED  : Every delivery attempt failed; the email will not be retried.
+ */
+public enum EmailOutboxStatus {
+    PENDING("Pending"),
+    SENT("Sent"),
+    FAILED("Failed");
+
+    private final String displayValue;
+
+    EmailOutboxStatus(String displayValue) {
+        this.displayValue = displayValue;
+    }
+
+    public String getDisplayValue() {
+        return displayValue;
+    }
+}
@@ -0,0 +1,133 @@
+package com.jfecm.bankaccountmanagement.entity.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable monetary amount stored as a {@code long} number of minor units (cents).
+ *
+ * <p>Amounts are exact: there is no binary floating point rounding, so totals and balances never
+ * drift. Hot paths can work on {@link #getMinorUnits()} directly and only wrap the final result,
+ * which keeps balance arithmetic free of boxing. The API keeps exposing decimal values through
+ * {@link MoneyJsonSerializer} and {@link MoneyJsonDeserializer}, and the database stores the minor
+ * units through {@link MoneyConverter}.
+ */
+@JsonSerialize(using = MoneyJsonSerializer.class)
+@JsonDeserialize(using = MoneyJsonDeserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of decimal digits of the minor unit.
+     */
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private static final long MINOR_UNITS_PER_MAJOR = 100L;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * @param minorUnits The amount in minor units.
+     * @return The money amount.
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0L ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @param majorUnits The amount in whole major units.
+     * @return The money amount.
+     */
+    public static Money ofMajor(long majorUnits) {
+        return ofMinor(Math.multiplyExact(majorUnits, MINOR_UNITS_PER_MAJOR));
+    }
+
+    /**
+     * Converts a decimal amount without rounding.
+     *
+     * @param amount The decimal amount.
+     * @return The money amount.
+     * @throws NumberFormatException if the amount has more than {@value #SCALE} decimals or does not fit in a long.
+     */
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Invalid amount: " + amount.toPlainString());
+        }
+    }
+
+    /**
+     * Parses a decimal amount such as {@code "150.25"}. Also used by Spring to bind request parameters.
+     *
+     * @param amount The decimal amount.
+     * @return The money amount.
+     * @throws NumberFormatException if the text is not a valid amount.
+     */
+    public static Money valueOf(String amount) {
+        if (amount == null) {
+            throw new NumberFormatException("Invalid amount: null");
+        }
+        return of(new BigDecimal(amount.trim()));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0L;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return minorUnits > other.minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * @return The decimal representation, e.g. {@code "150.25"}.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jfecm.bankaccountmanagement.entity.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads {@link Money} from a decimal JSON number or string, without going through a double.
+ */
+public class MoneyJsonDeserializer extends StdDeserializer<Money> {
+
+    public MoneyJsonDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+        try {
+            if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+                return Money.of(p.getDecimalValue());
+            }
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                return Money.valueOf(p.getText());
+            }
+        } catch (NumberFormatException e) {
+            return (Money) ctx.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+        }
+        return (Money) ctx.handleUnexpectedToken(Money.class, p);
+    }
+}
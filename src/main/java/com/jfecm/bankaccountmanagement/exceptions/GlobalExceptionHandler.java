@@ -3,6 +3,7 @@ package com.jfecm.bankaccountmanagement.exceptions;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -50,7 +51,8 @@ public class GlobalExceptionHandler {
             return createErrorResponse("Invalid Banking Account Transaction Type provided.", HttpStatus.BAD_REQUEST);
         }
 
-        if (e.getParameter().getParameterType() == Double.class || e.getParameter().getParameterType() == Long.class) {
+        if (e.getParameter().getParameterType() == Double.class || e.getParameter().getParameterType() == Long.class
+                || e.getParameter().getParameterType() == Money.class) {
             return createErrorResponse("Invalid input format. Please provide a valid number.", HttpStatus.BAD_REQUEST);
         }
 
@@ -61,6 +63,26 @@ public class GlobalExceptionHandler {
         return createErrorResponse("Invalid input format. Details: " + e.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(value = InvalidAccountNumberException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidAccountNumberException(InvalidAccountNumberException e) {
+        return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPageRequestException(InvalidPageRequestException e) {
+        return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException e) {
+        return createErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(value = IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+        return createErrorResponse(e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @ExceptionHandler(value = ResourceNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleResourceNotFoundException(ResourceNotFoundException e) {
         return createErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -0,0 +1,7 @@
+package com.jfecm.bankaccountmanagement.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
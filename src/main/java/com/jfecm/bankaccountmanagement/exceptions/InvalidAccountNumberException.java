@@ -0,0 +1,7 @@
+package com.jfecm.bankaccountmanagement.exceptions;
+
+public class InvalidAccountNumberException extends RuntimeException {
+    public InvalidAccountNumberException(String message) {
+        super(message);
+    }
+}
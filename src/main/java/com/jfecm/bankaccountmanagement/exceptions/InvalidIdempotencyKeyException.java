@@ -0,0 +1,7 @@
+package com.jfecm.bankaccountmanagement.exceptions;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.jfecm.bankaccountmanagement.mapper;
+
+import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+
+/**
+ * Explicit mappings between the transaction DTOs and the {@link AccountTransaction} entity.
+ */
+public final class AccountTransactionMapper {
+    private AccountTransactionMapper() {
+    }
+
+    /**
+     * Copies the updatable properties of a request onto a transaction. Missing ({@code null}) values are copied too.
+     *
+     * @param request     The new transaction data.
+     * @param transaction The transaction to update.
+     */
+    public static void update(RequestUpdateTransaction request, AccountTransaction transaction) {
+        transaction.setAccountTransactionType(request.getAccountTransactionType());
+        // Money is immutable, so it is shared rather than copied.
+        transaction.setAmount(request.getAmount());
+    }
+}
@@ -0,0 +1,35 @@
+package com.jfecm.bankaccountmanagement.mapper;
+
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.Client;
+
+/**
+ * Explicit mappings from the {@link BankingAccount} entity to its DTOs.
+ */
+public final class BankingAccountMapper {
+    private BankingAccountMapper() {
+    }
+
+    /**
+     * @param account The banking account, or {@code null}.
+     * @return The account data without its transactions, or {@code null}.
+     */
+    public static ResponseAccountSummary toSummary(BankingAccount account) {
+        if (account == null) {
+            return null;
+        }
+
+        Client client = account.getClient();
+        return ResponseAccountSummary.builder()
+                .id(account.getId())
+                .accountNumber(account.getAccountNumber())
+                .balance(account.getBalance())
+                .withdrawalLimit(account.getWithdrawalLimit())
+                .accountOpenedDate(account.getAccountOpenedDate())
+                .accountClosingDate(account.getAccountClosingDate())
+                .bankingAccountStatus(account.getBankingAccountStatus())
+                .clientDni(client == null ? null : client.getDni())
+                .build();
+    }
+}
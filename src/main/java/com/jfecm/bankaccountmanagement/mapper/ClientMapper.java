@@ -0,0 +1,91 @@
+package com.jfecm.bankaccountmanagement.mapper;
+
+import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
+import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientReference;
+import com.jfecm.bankaccountmanagement.entity.Client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explicit mappings between the client DTOs and the {@link Client} entity. Every property is copied by
+ * a plain getter/setter call, so a renamed or removed property breaks the build instead of being
+ * silently skipped at runtime.
+ */
+public final class ClientMapper {
+    private ClientMapper() {
+    }
+
+    /**
+     * Builds a new client from a creation request. The banking account and the main client are set by the caller.
+     *
+     * @param request The client data.
+     * @return The new, unsaved client.
+     */
+    public static Client toEntity(RequestCreateClient request) {
+        Client client = new Client();
+        client.setDni(request.getDni());
+        client.setName(request.getName());
+        client.setEmail(request.getEmail());
+        client.setPassword(request.getPassword());
+        client.setAddress(request.getAddress());
+        client.setUserStatus(request.getUserStatus());
+        return client;
+    }
+
+    /**
+     * Copies the updatable properties of a request onto a client. Missing ({@code null}) values are copied too.
+     *
+     * @param request The new client data.
+     * @param client  The client to update.
+     */
+    public static void update(RequestUpdateClient request, Client client) {
+        client.setName(request.getName());
+        client.setAddress(request.getAddress());
+    }
+
+    /**
+     * Maps a client for the listings. Reads the account, the adherents collection and the main client,
+     * but nothing beyond them: load the clients with {@link Client#LIST_GRAPH} to avoid a query per client.
+     *
+     * @param client The client.
+     * @return The client data exposed by the API, without the password.
+     */
+    public static ResponseClientData toResponse(Client client) {
+        List<Client> adherents = client.getAdherents();
+        List<ResponseClientReference> adherentReferences = null;
+        if (adherents != null) {
+            adherentReferences = new ArrayList<>(adherents.size());
+            for (Client adherent : adherents) {
+                adherentReferences.add(toReference(adherent));
+            }
+        }
+
+        return ResponseClientData.builder()
+                .id(client.getId())
+                .dni(client.getDni())
+                .name(client.getName())
+                .email(client.getEmail())
+                .address(client.getAddress())
+                .userStatus(client.getUserStatus())
+                .bankingAccount(BankingAccountMapper.toSummary(client.getBankingAccount()))
+                .adherents(adherentReferences)
+                .mainClient(client.getMainClient() == null ? null : toReference(client.getMainClient()))
+                .build();
+    }
+
+    /**
+     * @param client The related client.
+     * @return The reference to the client, without its account or relations.
+     */
+    public static ResponseClientReference toReference(Client client) {
+        return ResponseClientReference.builder()
+                .id(client.getId())
+                .dni(client.getDni())
+                .name(client.getName())
+                .userStatus(client.getUserStatus())
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.entity.AccountDailySummary;
+import com.jfecm.bankaccountmanagement.entity.AccountDailySummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, AccountDailySummaryId> {
+
+    /**
+     * Adds a count and an amount, in minor units, to a daily rollup row, creating it if needed.
+     * Negative values revert previously recorded transactions.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "insert into account_daily_summaries (banking_account_id, summary_date, account_transaction_type, direction, transaction_count, total_amount) " +
+            "values (:accountId, :date, :type, :direction, :count, :amount) " +
+            "on duplicate key update transaction_count = transaction_count + :count, total_amount = total_amount + :amount", nativeQuery = true)
+    int addToSummary(@Param("accountId") Long accountId,
+                     @Param("date") LocalDate date,
+                     @Param("type") String type,
+                     @Param("direction") String direction,
+                     @Param("count") long count,
+                     @Param("amount") long amount);
+
+    /**
+     * Deletes every daily rollup of an account, so that the account itself can be deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from AccountDailySummary s where s.id.bankingAccountId = :accountId")
+    int deleteByBankingAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Sums the daily rollups of an account in a date range.
+     *
+     * @return Rows of [transaction type, direction, count, amount in minor units].
+     */
+    @Query(value = "select s.account_transaction_type, s.direction, sum(s.transaction_count), sum(s.total_amount) from account_daily_summaries s " +
+            "where s.banking_account_id = :accountId and s.summary_date between :fromDate and :toDate " +
+            "group by s.account_transaction_type, s.direction", nativeQuery = true)
+    List<Object[]> sumByTypeAndDirection(@Param("accountId") Long accountId,
+                                         @Param("fromDate") LocalDate fromDate,
+                                         @Param("toDate") LocalDate toDate);
+}
@@ -1,9 +1,104 @@
 package com.jfecm.bankaccountmanagement.repository;
 
 import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, Long> {
+    Optional<AccountTransaction> findByIdAndBankingAccountId(Long id, Long bankingAccountId);
+
+    /**
+     * Deletes a transaction only if it belongs to the given account.
+     *
+     * @return The number of deleted rows, 0 when the transaction does not exist or belongs to another account.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from AccountTransaction t where t.id = :id and t.bankingAccount.id = :accountId")
+    int deleteByIdAndBankingAccountId(@Param("id") Long id, @Param("accountId") Long accountId);
+
+    List<AccountTransaction> findByBankingAccountIdAndAccountTransactionTypeOrderByDateOfExecutionAscIdAsc(Long bankingAccountId, AccountTransactionType type);
+
+    List<AccountTransaction> findByBankingAccountIdAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(Long bankingAccountId, LocalDate fromDate, LocalDate toDate);
+
+    List<AccountTransaction> findByBankingAccountIdAndAccountTransactionTypeAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(Long bankingAccountId, AccountTransactionType type,
+                                                                                                                                     LocalDate fromDate, LocalDate toDate);
+
+    List<AccountTransaction> findByBankingAccountIdOrderByDateOfExecutionDescTimeOfExecutionDescIdDesc(Long bankingAccountId, Pageable pageable);
+
+    /**
+     * Reads the transactions of an account that come after the given position in the history ordering
+     * (newest first). The row-value comparison is expanded so that it can seek on the
+     * (banking_account_id, date_of_execution, time_of_execution, id) index.
+     */
+    @Query("select t from AccountTransaction t where t.bankingAccount.id = :accountId and (t.dateOfExecution < :date " +
+            "or (t.dateOfExecution = :date and (t.timeOfExecution < :time or (t.timeOfExecution = :time and t.id < :id)))) " +
+            "order by t.dateOfExecution desc, t.timeOfExecution desc, t.id desc")
+    List<AccountTransaction> findHistoryPageAfter(@Param("accountId") Long accountId,
+                                                  @Param("date") LocalDate date,
+                                                  @Param("time") LocalTime time,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    /**
+     * Streams the transactions of an account, oldest first, through a forward-only cursor.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from AccountTransaction t where t.bankingAccount.id = :accountId order by t.id")
+    Stream<AccountTransaction> streamByBankingAccountId(@Param("accountId") Long accountId);
+
+    @Query("select max(t.sequenceNumber) from AccountTransaction t where t.bankingAccount.id = :accountId")
+    Long findLastSequenceNumber(@Param("accountId") Long accountId);
+
+    /**
+     * Sums the amounts, in minor units, of the transactions of an account whose sequence number is in the
+     * (afterSequenceNumber, upToSequenceNumber] range, counting credits as positive and debits as negative.
+     * Sequence numbers are taken under the account mutation lock and committed in order, unlike ids.
+     *
+     * @param includeUnsequenced Whether to also count the transactions recorded before sequence numbers existed,
+     *                           which precede every numbered one.
+     * @return The signed sum, or null if a counted transaction has no known direction (e.g. a legacy
+     * transfer leg), as its sign cannot be told.
+     */
+    @Query(value = "select case when count(*) = count(case when t.direction in ('CREDIT', 'DEBIT') then 1 end) " +
+            "then coalesce(sum(case t.direction when 'CREDIT' then t.amount when 'DEBIT' then -t.amount end), 0) end " +
+            "from account_transactions t " +
+            "where t.banking_account_id = :accountId " +
+            "and (t.sequence_number > :afterSequenceNumber and t.sequence_number <= :upToSequenceNumber " +
+            "or :includeUnsequenced = true and t.sequence_number is null)", nativeQuery = true)
+    Long sumSignedAmounts(@Param("accountId") Long accountId,
+                          @Param("afterSequenceNumber") Long afterSequenceNumber,
+                          @Param("upToSequenceNumber") Long upToSequenceNumber,
+                          @Param("includeUnsequenced") boolean includeUnsequenced);
+
+    /**
+     * Sums the debited amounts, in minor units, of the given day per account number.
+     *
+     * @return Rows of [account number, amount].
+     */
+    @Query(value = "select a.account_number, sum(t.amount) from account_transactions t " +
+            "join banking_accounts a on a.id = t.banking_account_id " +
+            "where t.direction = 'DEBIT' and t.date_of_execution = :date group by a.account_number", nativeQuery = true)
+    List<Object[]> sumDebitsByAccountNumber(@Param("date") LocalDate date);
 }
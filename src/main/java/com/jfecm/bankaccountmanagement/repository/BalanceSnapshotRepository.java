@@ -0,0 +1,22 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.entity.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+    Optional<BalanceSnapshot> findTopByBankingAccountIdOrderByLastSequenceNumberDesc(Long bankingAccountId);
+
+    /**
+     * Deletes the snapshots of an account that include the transaction with the given sequence number.
+     */
+    @Modifying
+    @Query("delete from BalanceSnapshot s where s.bankingAccountId = :accountId and s.lastSequenceNumber >= :sequenceNumber")
+    int deleteIncluding(@Param("accountId") Long accountId, @Param("sequenceNumber") long sequenceNumber);
+}
@@ -1,14 +1,74 @@
 package com.jfecm.bankaccountmanagement.repository;
 
+import com.jfecm.bankaccountmanagement.cache.AccountMetadata;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BankingAccountRepository extends JpaRepository<BankingAccount, Long>{
     BankingAccount findByAccountNumber(String accountNumber);
+    BankingAccount findByAccountKey(Long accountKey);
     List<BankingAccount> findByBankingAccountStatus(BankingAccountStatus bankingAccountStatus);
+    long countByBankingAccountStatus(BankingAccountStatus bankingAccountStatus);
+
+    /**
+     * Reads a page of the accounts with a status, in id order, starting after the given id (keyset pagination).
+     */
+    @Query("select new com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary(a.id, a.accountNumber, a.balance, a.withdrawalLimit, " +
+            "a.accountOpenedDate, a.accountClosingDate, a.bankingAccountStatus, c.dni) " +
+            "from BankingAccount a left join a.client c where a.bankingAccountStatus = :status and a.id > :afterId order by a.id")
+    List<ResponseAccountSummary> findSummariesAfter(@Param("status") BankingAccountStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Streams the accounts with a status, in id order, through a forward-only cursor.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary(a.id, a.accountNumber, a.balance, a.withdrawalLimit, " +
+            "a.accountOpenedDate, a.accountClosingDate, a.bankingAccountStatus, c.dni) " +
+            "from BankingAccount a left join a.client c where a.bankingAccountStatus = :status order by a.id")
+    Stream<ResponseAccountSummary> streamSummariesByBankingAccountStatus(@Param("status") BankingAccountStatus status);
+
+    @Query("select new com.jfecm.bankaccountmanagement.cache.AccountMetadata(a.id, a.accountNumber, a.bankingAccountStatus, a.withdrawalLimit, c.id) " +
+            "from BankingAccount a left join a.client c where a.accountNumber = :accountNumber")
+    Optional<AccountMetadata> findMetadataByAccountNumber(@Param("accountNumber") String accountNumber);
+    @Query("select new com.jfecm.bankaccountmanagement.cache.AccountMetadata(a.id, a.accountNumber, a.bankingAccountStatus, a.withdrawalLimit, c.id) " +
+            "from BankingAccount a left join a.client c where a.accountKey = :accountKey")
+    Optional<AccountMetadata> findMetadataByAccountKey(@Param("accountKey") Long accountKey);
+
+    List<BankingAccount> findByAccountNumberIn(Collection<String> accountNumbers);
+    List<BankingAccount> findByAccountKeyIn(Collection<Long> accountKeys);
+
+    /**
+     * Reserves the next block of account number bodies, see {@link com.jfecm.bankaccountmanagement.util.AccountNumberGenerator}.
+     *
+     * @return The first body of the reserved block.
+     */
+    @Transactional
+    @Query(value = "select next value for account_numbers_seq", nativeQuery = true)
+    Long nextAccountNumberBlock();
+
+    @Modifying
+    @Query("update BankingAccount a set a.balance = :balance where a.id = :id")
+    int updateBalance(@Param("id") Long id, @Param("balance") Money balance);
 }
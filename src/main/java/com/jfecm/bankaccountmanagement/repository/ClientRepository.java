@@ -1,11 +1,19 @@
 package com.jfecm.bankaccountmanagement.repository;
 
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
@@ -13,5 +21,40 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     Client findByDni(String dni);
 
+    /**
+     * Finds a client with its account and its adherents with their accounts, in one query.
+     */
+    @EntityGraph(Client.DETAIL_GRAPH)
+    Client findDetailByDni(String dni);
+
+    /**
+     * Finds a client with its account and the transactions of the account, in one query.
+     */
+    @EntityGraph(Client.REPORT_GRAPH)
+    Client findReportByDni(String dni);
+
+    @EntityGraph(Client.LIST_GRAPH)
     List<Client> findByUserStatus(UserStatus userStatus);
+
+    long countByUserStatus(UserStatus userStatus);
+
+    /**
+     * Reads a page of the clients with a status, in id order, starting after the given id (keyset pagination).
+     */
+    @Query("select new com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary(c.id, c.dni, c.name, c.email, c.address, c.userStatus, a.accountNumber) " +
+            "from Client c left join c.bankingAccount a where c.userStatus = :status and c.id > :afterId order by c.id")
+    List<ResponseClientSummary> findSummariesAfter(@Param("status") UserStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Streams the clients with a status, in id order, through a forward-only cursor.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary(c.id, c.dni, c.name, c.email, c.address, c.userStatus, a.accountNumber) " +
+            "from Client c left join c.bankingAccount a where c.userStatus = :status order by c.id")
+    Stream<ResponseClientSummary> streamSummariesByUserStatus(@Param("status") UserStatus status);
 }
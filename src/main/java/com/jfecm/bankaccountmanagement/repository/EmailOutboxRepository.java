@@ -0,0 +1,32 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.entity.EmailOutboxMessage;
+import com.jfecm.bankaccountmanagement.entity.enums.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    List<EmailOutboxMessage> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(EmailOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims a message for delivery by pushing its next attempt forward, only if no other dispatcher claimed it first.
+     *
+     * @return 1 if the message was claimed, otherwise 0.
+     */
+    @Modifying
+    @Transactional
+    @Query("update EmailOutboxMessage m set m.nextAttemptAt = :leaseUntil " +
+            "where m.id = :id and m.status = com.jfecm.bankaccountmanagement.entity.enums.EmailOutboxStatus.PENDING and m.nextAttemptAt = :nextAttemptAt")
+    int claim(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    long countByStatus(EmailOutboxStatus status);
+}
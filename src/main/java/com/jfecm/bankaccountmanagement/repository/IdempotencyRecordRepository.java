@@ -0,0 +1,38 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :createdAt")
+    int deleteOlderThan(LocalDateTime createdAt);
+
+    /**
+     * Inserts a key without its transaction, in the transaction of the mutation it guards.
+     * The insert goes straight to the database, so a key already recorded fails with a primary key violation
+     * before the mutation runs.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, operation, request_fingerprint, created_at)"
+            + " values (:idempotencyKey, :operation, :requestFingerprint, :createdAt)", nativeQuery = true)
+    void insertKey(String idempotencyKey, String operation, String requestFingerprint, LocalDateTime createdAt);
+
+    /**
+     * Links a key inserted with {@link #insertKey} to the transaction created by the mutation.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("update IdempotencyRecord r set r.transactionId = :transactionId where r.idempotencyKey = :idempotencyKey")
+    void setTransactionId(String idempotencyKey, Long transactionId);
+}
@@ -0,0 +1,13 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+
+public interface AccountLedgerService {
+    long getBalance(BankingAccount account);
+
+    long applyMovement(BankingAccount account, long currentBalance, long signedAmount);
+
+    BankingAccount withCurrentBalance(BankingAccount account);
+
+    void invalidateSnapshots(Long accountId, Long sequenceNumber);
+}
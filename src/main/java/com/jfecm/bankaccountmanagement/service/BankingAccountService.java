@@ -2,10 +2,16 @@ package com.jfecm.bankaccountmanagement.service;
 
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateTransaction;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionTypeSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransferResult;
 import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -15,24 +21,32 @@ public interface BankingAccountService {
 
     List<BankingAccount> getAllBankingAccounts(BankingAccountStatus status);
 
+    ResponseKeysetPage<ResponseAccountSummary> getBankingAccountsPage(BankingAccountStatus status, Long afterId, int size);
+
     void deleteBankingAccount(String accountNumber);
 
     void updateBankingAccountStatusByAccountNumber(String accountNumber, BankingAccountStatus newAccountStatus);
 
-    AccountTransaction rechargeAccountBalance(String accountNumber, Double amount);
+    AccountTransaction rechargeAccountBalance(String accountNumber, Money amount);
 
-    AccountTransaction createWithdrawalTransaction(String accountNumber, Double amount);
+    AccountTransaction createWithdrawalTransaction(String accountNumber, Money amount);
 
     AccountTransaction createTransferTransaction(String accountNumber, RequestCreateTransaction transaction);
 
+    List<ResponseTransferResult> createBatchTransferTransactions(String accountNumber, List<RequestCreateTransaction> transactions);
+
     List<AccountTransaction> getAllTransactionsByAccount(String accountNumber);
 
+    ResponseTransactionPage getTransactionHistory(String accountNumber, String cursor, int size);
+
     List<AccountTransaction> getAllTransactionsByType(String accountNumber, AccountTransactionType type);
 
     List<AccountTransaction> getAllTransactionsByDateRange(String accountNumber, LocalDate fromDate, LocalDate toDate);
 
     List<AccountTransaction> getAllTransactionsByTypeAndDateRange(String accountNumber, AccountTransactionType type, LocalDate fromDate, LocalDate toDate);
 
+    List<ResponseTransactionTypeSummary> getTransactionSummary(String accountNumber, LocalDate fromDate, LocalDate toDate);
+
     AccountTransaction getTransactionByAccountNumber(String accountNumber, Long idTransaction);
 
     AccountTransaction updateTransaction(String accountNumber, Long idTransaction, RequestUpdateTransaction accountTransaction);
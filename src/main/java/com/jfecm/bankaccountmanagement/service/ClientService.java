@@ -3,6 +3,8 @@ package com.jfecm.bankaccountmanagement.service;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
 import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
 
@@ -19,8 +21,14 @@ public interface ClientService {
 
     Client getClientByDni(String dni);
 
+    ResponseClientData getClientDetailsByDni(String dni);
+
+    Client getClientReportByDni(String dni);
+
     List<ResponseClientData> getAllClients(UserStatus status);
 
+    ResponseKeysetPage<ResponseClientSummary> getClientsPage(UserStatus status, Long afterId, int size);
+
     void checkClientStatus(Client client);
 
     Client addClientAdherent(String dni, RequestCreateClient adherentRequest);
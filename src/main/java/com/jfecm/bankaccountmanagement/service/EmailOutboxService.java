@@ -0,0 +1,9 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.entity.EmailOutboxMessage;
+
+public interface EmailOutboxService {
+    EmailOutboxMessage enqueue(String recipient, String subject, String body);
+
+    int dispatchPending();
+}
@@ -1,8 +1,19 @@
 package com.jfecm.bankaccountmanagement.service;
 
+import com.jfecm.bankaccountmanagement.util.EmailMessage;
+
 import javax.mail.MessagingException;
+import java.util.List;
 
 // JavaMail API
 public interface EmailService {
 	void sendEmail(String receiver, String subject, String message) throws MessagingException;
+
+	/**
+	 * Sends several emails over a single SMTP connection. A failure only affects its own email.
+	 *
+	 * @param messages The emails to send.
+	 * @return For each email, in the same order, {@code null} if it was sent or the reason it was not.
+	 */
+	List<MessagingException> sendBatch(List<EmailMessage> messages);
 }
@@ -0,0 +1,11 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    AccountTransaction execute(String idempotencyKey, String accountNumber, AccountTransactionType operation, String request,
+                               Supplier<AccountTransaction> mutation);
+}
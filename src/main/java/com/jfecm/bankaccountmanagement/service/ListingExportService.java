@@ -0,0 +1,13 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ListingExportService {
+    long exportClients(UserStatus status, OutputStream outputStream) throws IOException;
+
+    long exportBankingAccounts(BankingAccountStatus status, OutputStream outputStream) throws IOException;
+}
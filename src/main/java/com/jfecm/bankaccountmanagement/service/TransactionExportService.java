@@ -0,0 +1,10 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TransactionExportService {
+    Long getAccountId(String accountNumber);
+
+    long exportTransactions(Long accountId, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,237 @@
+package com.jfecm.bankaccountmanagement.service.imp;
+
+import com.jfecm.bankaccountmanagement.entity.BalanceSnapshot;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import com.jfecm.bankaccountmanagement.repository.BalanceSnapshotRepository;
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import com.jfecm.bankaccountmanagement.service.AccountLedgerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves and applies account balances according to the configured ledger mode.
+ *
+ * <p>In {@code mutable} mode (the default) the balance column of the account is the source of truth
+ * and every movement updates it in place. In {@code event-sourced} mode the transactions are the
+ * source of truth: the balance is derived from the latest {@link BalanceSnapshot} plus the signed
+ * sum of the transactions numbered after it, so a movement only appends a row. Snapshots are bounded
+ * by the per-account sequence number, which is taken under the account mutation lock and therefore
+ * committed in order; ids are not, so an id bound could skip a late commit for good. Every
+ * {@code app.ledger.snapshot-interval} movements of an account, a new snapshot is written in the
+ * background once the current transaction commits; the snapshot also refreshes the balance column
+ * so that it remains a (slightly stale) read model.
+ *
+ * <p>Accounts switching from mutable to event-sourced mode with an existing history need an initial
+ * snapshot, as derivation starts from a zero balance when none exists. Legacy transfer legs recorded
+ * without a direction cannot be derived at all and must lie before that snapshot. Transactions recorded
+ * before sequence numbers existed precede every numbered one, so every snapshot includes them.
+ */
+@Slf4j
+@Service
+public class AccountLedgerServiceImpl implements AccountLedgerService {
+    public static final String EVENT_SOURCED = "event-sourced";
+
+    private final boolean eventSourced;
+    private final int snapshotInterval;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final BankingAccountRepository bankingAccountRepository;
+    private final TransactionOperations transactionOperations;
+    private final ConcurrentHashMap<Long, AtomicInteger> movementsSinceSnapshot = new ConcurrentHashMap<>();
+    private final ExecutorService snapshotWriter;
+
+    public AccountLedgerServiceImpl(@Value("${app.ledger.mode:mutable}") String mode,
+                                    @Value("${app.ledger.snapshot-interval:100}") int snapshotInterval,
+                                    AccountTransactionRepository accountTransactionRepository,
+                                    BalanceSnapshotRepository balanceSnapshotRepository,
+                                    BankingAccountRepository bankingAccountRepository,
+                                    TransactionOperations transactionOperations) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("The snapshot interval must be positive.");
+        }
+
+        this.eventSourced = EVENT_SOURCED.equals(mode);
+        this.snapshotInterval = snapshotInterval;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.bankingAccountRepository = bankingAccountRepository;
+        this.transactionOperations = transactionOperations;
+        // A single writer keeps the snapshots of an account in order without extra locking.
+        this.snapshotWriter = eventSourced ? Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "balance-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        log.info("Account ledger initialized in {} mode.", eventSourced ? EVENT_SOURCED : "mutable");
+    }
+
+    /**
+     * Returns the current balance of an account, in minor units.
+     *
+     * @param account The banking account.
+     * @return The balance column in mutable mode, or the balance derived from snapshot and transactions.
+     */
+    @Override
+    public long getBalance(BankingAccount account) {
+        if (!eventSourced) {
+            return account.getBalance().getMinorUnits();
+        }
+
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository.findTopByBankingAccountIdOrderByLastSequenceNumberDesc(account.getId());
+        return Math.addExact(snapshot.map(s -> s.getBalance().getMinorUnits()).orElse(0L),
+                sumSignedAmounts(account.getId(), snapshot, Long.MAX_VALUE));
+    }
+
+    /**
+     * Applies a signed movement to an account. The caller must persist the matching transaction.
+     *
+     * @param account        The banking account.
+     * @param currentBalance The balance before the movement, as returned by {@link #getBalance(BankingAccount)}.
+     * @param signedAmount   The amount to add (positive) or subtract (negative), in minor units.
+     * @return The balance after the movement, in minor units.
+     */
+    @Override
+    public long applyMovement(BankingAccount account, long currentBalance, long signedAmount) {
+        long newBalance = Math.addExact(currentBalance, signedAmount);
+        if (!eventSourced) {
+            account.setBalance(Money.ofMinor(newBalance));
+            return newBalance;
+        }
+
+        AtomicInteger movements = movementsSinceSnapshot.computeIfAbsent(account.getId(), id -> new AtomicInteger());
+        if (movements.incrementAndGet() >= snapshotInterval) {
+            movements.set(0);
+            scheduleSnapshot(account.getId());
+        }
+        return newBalance;
+    }
+
+    /**
+     * Replaces the balance of a loaded account with its current value, without marking it for update.
+     *
+     * @param account The banking account.
+     * @return The same account.
+     */
+    @Override
+    public BankingAccount withCurrentBalance(BankingAccount account) {
+        if (eventSourced) {
+            account.setBalance(Money.ofMinor(getBalance(account)));
+        }
+        return account;
+    }
+
+    /**
+     * Drops the snapshots that include a transaction being updated or deleted, and rebuilds the latest one
+     * once the current transaction commits. Must be called in the transaction of the change, under the
+     * account mutation lock. Does nothing in mutable mode, which keeps no snapshots.
+     *
+     * @param accountId      The ID of the banking account.
+     * @param sequenceNumber The sequence number of the changed transaction, or null for a transaction recorded
+     *                       before sequence numbers existed, which every snapshot includes.
+     */
+    @Override
+    public void invalidateSnapshots(Long accountId, Long sequenceNumber) {
+        if (!eventSourced) {
+            return;
+        }
+
+        long from = sequenceNumber == null ? 0L : sequenceNumber;
+        int deleted = balanceSnapshotRepository.deleteIncluding(accountId, from);
+        if (deleted > 0) {
+            log.info("Dropped {} balance snapshots of account {} from sequence number {}.", deleted, accountId, from);
+        }
+        // A snapshot computed from the old values may still be in flight on the writer. It commits before
+        // the rebuild, which runs on the same thread and drops it again.
+        afterCommit(() -> snapshotWriter.execute(() -> rebuildSnapshot(accountId, from)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotWriter != null) {
+            snapshotWriter.shutdown();
+        }
+    }
+
+    /**
+     * Sums the signed amounts of the transactions of an account after a snapshot, up to a sequence number.
+     * Without a snapshot, the transactions recorded before sequence numbers existed are summed too.
+     *
+     * @throws IllegalStateException If a summed transaction has no known direction.
+     */
+    private long sumSignedAmounts(Long accountId, Optional<BalanceSnapshot> snapshot, long upToSequenceNumber) {
+        long afterSequenceNumber = snapshot.map(BalanceSnapshot::getLastSequenceNumber).orElse(0L);
+        Long sum = accountTransactionRepository.sumSignedAmounts(accountId, afterSequenceNumber, upToSequenceNumber, snapshot.isEmpty());
+        if (sum == null) {
+            throw new IllegalStateException("The account " + accountId + " has transactions without a direction after sequence number "
+                    + afterSequenceNumber + ", so its balance cannot be derived. It needs a balance snapshot past them.");
+        }
+        return sum;
+    }
+
+    private void scheduleSnapshot(Long accountId) {
+        afterCommit(() -> snapshotWriter.execute(() -> writeSnapshot(accountId)));
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private void rebuildSnapshot(Long accountId, long from) {
+        try {
+            transactionOperations.executeWithoutResult(status -> balanceSnapshotRepository.deleteIncluding(accountId, from));
+        } catch (RuntimeException e) {
+            log.error("Failed to drop the stale balance snapshots of account {}.", accountId, e);
+            return;
+        }
+        writeSnapshot(accountId);
+    }
+
+    private void writeSnapshot(Long accountId) {
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                Long lastSequenceNumber = accountTransactionRepository.findLastSequenceNumber(accountId);
+                Optional<BalanceSnapshot> latest = balanceSnapshotRepository.findTopByBankingAccountIdOrderByLastSequenceNumberDesc(accountId);
+                if (lastSequenceNumber == null || latest.isPresent() && lastSequenceNumber <= latest.get().getLastSequenceNumber()) {
+                    return;
+                }
+
+                Money balance = Money.ofMinor(Math.addExact(latest.map(s -> s.getBalance().getMinorUnits()).orElse(0L),
+                        sumSignedAmounts(accountId, latest, lastSequenceNumber)));
+                balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                        .bankingAccountId(accountId)
+                        .lastSequenceNumber(lastSequenceNumber)
+                        .balance(balance)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                bankingAccountRepository.updateBalance(accountId, balance);
+                log.info("Balance snapshot written for account {} up to sequence number {}.", accountId, lastSequenceNumber);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to write balance snapshot for account {}.", accountId, e);
+        }
+    }
+}
@@ -1,33 +1,64 @@
 package com.jfecm.bankaccountmanagement.service.imp;
 
+import com.jfecm.bankaccountmanagement.audit.AuditLog;
+import com.jfecm.bankaccountmanagement.audit.AuditOperation;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadata;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadataCache;
+import com.jfecm.bankaccountmanagement.concurrency.AccountMutationExecutor;
+import com.jfecm.bankaccountmanagement.concurrency.DailyWithdrawalTracker;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateTransaction;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionTypeSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransferResult;
+import com.jfecm.bankaccountmanagement.entity.AccountDailySummaryId;
 import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.exceptions.*;
+import com.jfecm.bankaccountmanagement.mapper.AccountTransactionMapper;
+import com.jfecm.bankaccountmanagement.repository.AccountDailySummaryRepository;
 import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
 import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import com.jfecm.bankaccountmanagement.service.AccountLedgerService;
 import com.jfecm.bankaccountmanagement.service.BankingAccountService;
+import com.jfecm.bankaccountmanagement.util.AccountNumbers;
+import com.jfecm.bankaccountmanagement.util.TransactionCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class BankingAccountServiceImpl implements BankingAccountService {
-    private final ModelMapper mapper;
+    private static final int MAX_BATCH_TRANSFERS = 1000;
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+    private static final int MAX_LISTING_PAGE_SIZE = 500;
+    // Slots of the running state of an account: balance in minor units and last sequence number.
+    private static final int BALANCE = 0;
+    private static final int SEQUENCE = 1;
     private final BankingAccountRepository bankingAccountRepository;
     private final AccountTransactionRepository accountTransactionRepository;
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final AccountMutationExecutor accountMutationExecutor;
+    private final AccountMetadataCache accountMetadataCache;
+    private final AccountLedgerService accountLedgerService;
+    private final DailyWithdrawalTracker dailyWithdrawalTracker;
+    private final AuditLog auditLog;
 
     /**
      * Retrieves a banking account by its account number.
@@ -37,8 +68,8 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public BankingAccount getBankingAccountByAccountNumber(String accountNumber) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        log.info("Bank account successfully found for account number {}: {}", accountNumber, bankingAccount);
+        BankingAccount bankingAccount = accountLedgerService.withCurrentBalance(searchBankingAccountByAccountNumber(accountNumber));
+        log.info("Bank account successfully found for account number {}.", accountNumber);
         return bankingAccount;
     }
 
@@ -56,6 +87,38 @@ public class BankingAccountServiceImpl implements BankingAccountService {
         return accounts;
     }
 
+    /**
+     * Retrieves a page of the banking accounts with a specific status, in ID order.
+     * Pages are read with a keyset query on the account ID into flat summaries, so any page costs the
+     * same as the first one and neither the client nor the transactions are loaded. The balance is the
+     * balance column, as in {@link #getAllBankingAccounts}. The total is only counted for the first page.
+     *
+     * @param status  The status of banking accounts to filter by.
+     * @param afterId The nextAfterId returned with the previous page, or null for the first page.
+     * @param size    The maximum number of accounts of the page.
+     * @return The page of accounts and the afterId of the next page, if any.
+     * @throws InvalidPageRequestException If the page size is out of range.
+     */
+    @Override
+    public ResponseKeysetPage<ResponseAccountSummary> getBankingAccountsPage(BankingAccountStatus status, Long afterId, int size) {
+        if (size < 1 || size > MAX_LISTING_PAGE_SIZE) {
+            throw new InvalidPageRequestException("The page size must be between 1 and " + MAX_LISTING_PAGE_SIZE + ".");
+        }
+
+        // One extra row tells whether there is a next page.
+        List<ResponseAccountSummary> accounts = bankingAccountRepository.findSummariesAfter(status, afterId == null ? 0L : afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = accounts.size() > size;
+        List<ResponseAccountSummary> page = hasNext ? accounts.subList(0, size) : accounts;
+        log.info("Returning a page of {} accounts with status {}.", page.size(), status);
+
+        return ResponseKeysetPage.<ResponseAccountSummary>builder()
+                .items(page)
+                .size(page.size())
+                .total(afterId == null ? bankingAccountRepository.countByBankingAccountStatus(status) : null)
+                .nextAfterId(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
     /**
      * Marks a banking account as closed by changing its status and setting the closing date.
      *
@@ -63,15 +126,19 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public void deleteBankingAccount(String accountNumber) {
-        BankingAccount account = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(account);
+        auditLog.audit(AuditOperation.CLOSE_ACCOUNT, accountNumber, null, null, () -> {
+            BankingAccount account = searchBankingAccountByAccountNumber(accountNumber);
+            checkAccountStatus(account);
 
-        account.setBankingAccountStatus(BankingAccountStatus.CLOSED);
-        account.setAccountClosingDate(LocalDate.now());
+            account.setBankingAccountStatus(BankingAccountStatus.CLOSED);
+            account.setAccountClosingDate(LocalDate.now());
 
-        bankingAccountRepository.save(account);
+            bankingAccountRepository.save(account);
+            accountMetadataCache.invalidate(accountNumber);
 
-        log.info("deleteBankingAccount() OK banking account deleted.");
+            log.info("deleteBankingAccount() OK banking account deleted.");
+            return null;
+        });
     }
 
     /**
@@ -84,13 +151,17 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public void updateBankingAccountStatusByAccountNumber(String accountNumber, BankingAccountStatus newAccountStatus) {
-        BankingAccount account = searchBankingAccountByAccountNumber(accountNumber);
-
-        if (!newAccountStatus.equals(account.getBankingAccountStatus())) {
-            account.setBankingAccountStatus(newAccountStatus);
-            bankingAccountRepository.save(account);
-            log.info("updateBankingAccountStatus() - OK.");
-        }
+        auditLog.audit(AuditOperation.UPDATE_ACCOUNT_STATUS, accountNumber, null, null, () -> {
+            BankingAccount account = searchBankingAccountByAccountNumber(accountNumber);
+
+            if (!newAccountStatus.equals(account.getBankingAccountStatus())) {
+                account.setBankingAccountStatus(newAccountStatus);
+                bankingAccountRepository.save(account);
+                accountMetadataCache.invalidate(accountNumber);
+                log.info("updateBankingAccountStatus() - OK.");
+            }
+            return null;
+        });
     }
 
     /**
@@ -107,6 +178,46 @@ public class BankingAccountServiceImpl implements BankingAccountService {
         return accountTransactions;
     }
 
+    /**
+     * Retrieves a page of the transaction history of a banking account, newest first.
+     * Pages are read with a keyset query from the position encoded in the cursor, so any page
+     * costs the same as the first one.
+     *
+     * @param accountNumber The account number of the banking account.
+     * @param cursor        The cursor returned with the previous page, or null for the first page.
+     * @param size          The maximum number of transactions of the page.
+     * @return The page of transactions and the cursor of the next page, if any.
+     * @throws InvalidPageRequestException If the page size is out of range or the cursor is malformed.
+     */
+    @Override
+    public ResponseTransactionPage getTransactionHistory(String accountNumber, String cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidPageRequestException("The page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE + ".");
+        }
+
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+
+        // One extra row tells whether there is a next page without a count query.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<AccountTransaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = accountTransactionRepository.findByBankingAccountIdOrderByDateOfExecutionDescTimeOfExecutionDescIdDesc(accountMetadata.getId(), limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = accountTransactionRepository.findHistoryPageAfter(accountMetadata.getId(), position.getDate(), position.getTime(), position.getId(), limit);
+        }
+
+        boolean hasNext = transactions.size() > size;
+        List<AccountTransaction> page = hasNext ? transactions.subList(0, size) : transactions;
+        log.info("Returning a page of {} transactions for account number {}.", page.size(), accountNumber);
+
+        return ResponseTransactionPage.builder()
+                .transactions(page)
+                .size(page.size())
+                .nextCursor(hasNext ? TransactionCursor.encode(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
     /**
      * Retrieves a specific account transaction by its ID associated with a banking account.
      *
@@ -116,12 +227,11 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public AccountTransaction getTransactionByAccountNumber(String accountNumber, Long idTransaction) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(bankingAccount);
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
 
-        List<AccountTransaction> accountTransactions = bankingAccount.getAccountTransactions();
-        AccountTransaction transaction = getFoundTransactionById(idTransaction, accountTransactions);
-        log.info("Bank account transaction successfully found for account number {}: {}", accountNumber, transaction);
+        AccountTransaction transaction = getFoundTransactionById(idTransaction, accountMetadata.getId());
+        log.info("Bank account transaction {} successfully found for account number {}.", idTransaction, accountNumber);
         return transaction;
     }
 
@@ -135,29 +245,45 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public AccountTransaction updateTransaction(String accountNumber, Long idTransaction, RequestUpdateTransaction accountTransaction) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(bankingAccount);
+        return auditLog.audit(AuditOperation.UPDATE_TRANSACTION, accountNumber, null, accountTransaction.getAmount(), () ->
+                accountMutationExecutor.execute(List.of(accountNumber), () -> update(accountNumber, idTransaction, accountTransaction)));
+    }
 
-        List<AccountTransaction> accountTransactions = bankingAccount.getAccountTransactions();
+    /**
+     * Applies a transaction update. Must be run through the account mutation executor.
+     */
+    private AccountTransaction update(String accountNumber, Long idTransaction, RequestUpdateTransaction accountTransaction) {
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
 
-        AccountTransaction foundTransaction = getFoundTransactionById(idTransaction, accountTransactions);
+        AccountTransaction foundTransaction = getFoundTransactionById(idTransaction, accountMetadata.getId());
+        // The transaction moves from its old rollup and daily withdrawal total to the ones of its new values.
+        recordDailySummaries(List.of(foundTransaction), -1);
+        recordDailyWithdrawal(accountMetadata, foundTransaction, -1);
 
-        mapper.map(accountTransaction, foundTransaction);
+        AccountTransactionMapper.update(accountTransaction, foundTransaction);
         foundTransaction.setTimeOfExecution(LocalTime.now());
         foundTransaction.setDateOfExecution(LocalDate.now());
-        log.info("Transaction with ID {} updated successfully for account number {}", idTransaction, accountNumber);
+        recordDailySummaries(List.of(foundTransaction), 1);
+        recordDailyWithdrawal(accountMetadata, foundTransaction, 1);
+        accountLedgerService.invalidateSnapshots(accountMetadata.getId(), foundTransaction.getSequenceNumber());
+        log.debug("Transaction with ID {} updated successfully for account number {}", idTransaction, accountNumber);
         return accountTransactionRepository.save(foundTransaction);
     }
 
-    private AccountTransaction getFoundTransactionById(Long idTransaction, List<AccountTransaction> accountTransactions) {
-        Optional<AccountTransaction> transaction = accountTransactions.stream().filter(t -> t.getId().equals(idTransaction)).findFirst();
-
-        if (transaction.isEmpty()) {
-            log.error("Transaction not found with id {}", idTransaction);
-            throw new ResourceNotFoundException("Transaction not found with id " + idTransaction);
-        }
-
-        return transaction.get();
+    /**
+     * Looks up a transaction by its ID, restricted to the given banking account, with a single primary key lookup.
+     *
+     * @param idTransaction    The ID of the transaction.
+     * @param bankingAccountId The ID of the banking account the transaction must belong to.
+     * @return The transaction if found, otherwise throws a ResourceNotFoundException.
+     */
+    private AccountTransaction getFoundTransactionById(Long idTransaction, Long bankingAccountId) {
+        return accountTransactionRepository.findByIdAndBankingAccountId(idTransaction, bankingAccountId)
+                .orElseThrow(() -> {
+                    log.error("Transaction not found with id {}", idTransaction);
+                    return new ResourceNotFoundException("Transaction not found with id " + idTransaction);
+                });
     }
 
     /**
@@ -168,17 +294,32 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public void deleteTransaction(String accountNumber, Long idTransaction) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(bankingAccount);
+        auditLog.audit(AuditOperation.DELETE_TRANSACTION, accountNumber, null, null, () ->
+                accountMutationExecutor.execute(List.of(accountNumber), () -> {
+                    delete(accountNumber, idTransaction);
+                    return null;
+                }));
+    }
 
-        Optional<AccountTransaction> transaction = accountTransactionRepository.findById(idTransaction);
+    /**
+     * Applies a transaction deletion. Must be run through the account mutation executor.
+     */
+    private void delete(String accountNumber, Long idTransaction) {
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
+
+        // The transaction is read to take it out of its daily rollup, its daily withdrawal total and the balance snapshots that include it.
+        AccountTransaction foundTransaction = getFoundTransactionById(idTransaction, accountMetadata.getId());
 
-        if (transaction.isEmpty()) {
+        if (accountTransactionRepository.deleteByIdAndBankingAccountId(idTransaction, accountMetadata.getId()) == 0) {
+            log.error("Transaction not found with id {}", idTransaction);
             throw new ResourceNotFoundException("Transaction not found with id " + idTransaction);
         }
 
-        accountTransactionRepository.deleteById(idTransaction);
-        log.info("deleteTransaction() - OK.");
+        recordDailySummaries(List.of(foundTransaction), -1);
+        recordDailyWithdrawal(accountMetadata, foundTransaction, -1);
+        accountLedgerService.invalidateSnapshots(accountMetadata.getId(), foundTransaction.getSequenceNumber());
+        log.debug("deleteTransaction() - OK.");
     }
 
     /**
@@ -190,12 +331,11 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public List<AccountTransaction> getAllTransactionsByType(String accountNumber, AccountTransactionType type) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(bankingAccount);
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
 
-        List<AccountTransaction> accountTransactionList = bankingAccount.getAccountTransactions().stream()
-                .filter(transaction -> transaction.getAccountTransactionType() == type)
-                .collect(Collectors.toList());
+        List<AccountTransaction> accountTransactionList = accountTransactionRepository
+                .findByBankingAccountIdAndAccountTransactionTypeOrderByDateOfExecutionAscIdAsc(accountMetadata.getId(), type);
 
         log.info("Getting all {} transactions for account number {}", type, accountNumber);
         log.info("Found {} {} transactions.", accountTransactionList.size(), type);
@@ -213,14 +353,11 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public List<AccountTransaction> getAllTransactionsByDateRange(String accountNumber, LocalDate fromDate, LocalDate toDate) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(bankingAccount);
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
 
-        List<AccountTransaction> accountTransactionList = bankingAccount.getAccountTransactions().stream()
-                .filter(transaction -> {
-                     LocalDate transactionDate = transaction.getDateOfExecution();
-                     return !transactionDate.isBefore(fromDate) && !transactionDate.isAfter(toDate);
-                }).collect(Collectors.toList());
+        List<AccountTransaction> accountTransactionList = accountTransactionRepository
+                .findByBankingAccountIdAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(accountMetadata.getId(), fromDate, toDate);
 
         log.info("Getting transactions for account number {} in the date range from {} to {}", accountNumber, fromDate, toDate);
         log.info("Found {} transactions within the specified date range.", accountTransactionList.size());
@@ -238,13 +375,11 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public List<AccountTransaction> getAllTransactionsByTypeAndDateRange(String accountNumber, AccountTransactionType type, LocalDate fromDate, LocalDate toDate) {
-        BankingAccount bankingAccount = searchBankingAccountByAccountNumber(accountNumber);
-        checkAccountStatus(bankingAccount);
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
 
-        List<AccountTransaction> accountTransactionList = bankingAccount.getAccountTransactions().stream().filter(transaction -> {
-            LocalDate transactionDate = transaction.getDateOfExecution();
-            return transaction.getAccountTransactionType() == type && !transactionDate.isBefore(fromDate) && !transactionDate.isAfter(toDate);
-        }).collect(Collectors.toList());
+        List<AccountTransaction> accountTransactionList = accountTransactionRepository
+                .findByBankingAccountIdAndAccountTransactionTypeAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(accountMetadata.getId(), type, fromDate, toDate);
 
         log.info("Getting {} transactions for account number {} in the date range from {} to {}", type, accountNumber, fromDate, toDate);
         log.info("Found {} {} transactions within the specified date range.", accountTransactionList.size(), type);
@@ -252,6 +387,44 @@ public class BankingAccountServiceImpl implements BankingAccountService {
         return accountTransactionList;
     }
 
+    /**
+     * Totals the transactions of a banking account per transaction type over a date range.
+     * Only the daily rollups are read, so the cost depends on the number of days, not of transactions.
+     *
+     * @param accountNumber The account number of the banking account.
+     * @param fromDate      The start date of the date range.
+     * @param toDate        The end date of the date range.
+     * @return The count and the credited and debited totals of every transaction type.
+     */
+    @Override
+    public List<ResponseTransactionTypeSummary> getTransactionSummary(String accountNumber, LocalDate fromDate, LocalDate toDate) {
+        AccountMetadata accountMetadata = searchAccountMetadata(accountNumber);
+        checkAccountStatus(accountMetadata);
+
+        // Per type: count, credited and debited amounts in minor units.
+        Map<AccountTransactionType, long[]> totals = new EnumMap<>(AccountTransactionType.class);
+        for (AccountTransactionType type : AccountTransactionType.values()) {
+            totals.put(type, new long[3]);
+        }
+
+        for (Object[] row : accountDailySummaryRepository.sumByTypeAndDirection(accountMetadata.getId(), fromDate, toDate)) {
+            long[] total = totals.get(AccountTransactionType.valueOf((String) row[0]));
+            boolean credit = AccountTransactionDirection.CREDIT.name().equals(row[1]);
+            total[0] += ((Number) row[2]).longValue();
+            total[credit ? 1 : 2] += ((Number) row[3]).longValue();
+        }
+
+        log.info("Getting the transaction summary for account number {} in the date range from {} to {}", accountNumber, fromDate, toDate);
+        return totals.entrySet().stream()
+                .map(entry -> ResponseTransactionTypeSummary.builder()
+                        .accountTransactionType(entry.getKey())
+                        .count(entry.getValue()[0])
+                        .totalCredited(Money.ofMinor(entry.getValue()[1]))
+                        .totalDebited(Money.ofMinor(entry.getValue()[2]))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Recharges the balance of a banking account with a specified amount.
      *
@@ -260,16 +433,24 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      * @return The account transaction representing the recharge.
      */
     @Override
-    public AccountTransaction rechargeAccountBalance(String accountNumber, Double amount) {
-        checkAmount(amount);
+    public AccountTransaction rechargeAccountBalance(String accountNumber, Money amount) {
+        return auditLog.audit(AuditOperation.RECHARGE, accountNumber, null, amount, () -> {
+            checkAmount(amount);
+            return accountMutationExecutor.execute(List.of(accountNumber), () -> recharge(accountNumber, amount));
+        });
+    }
 
+    /**
+     * Applies a recharge. Must be run through the account mutation executor.
+     */
+    private AccountTransaction recharge(String accountNumber, Money amount) {
         BankingAccount account = searchBankingAccountByAccountNumber(accountNumber);
         checkAccountStatus(account);
 
-        account.setBalance(account.getBalance() + amount);
-        AccountTransaction transferTransaction = buildTransaction(account, AccountTransactionType.RECHARGE, amount);
-        account.getAccountTransactions().add(transferTransaction);
-        log.info("Recharged {} to the account with number {}. New balance: {}", amount, accountNumber, account.getBalance());
+        long[] state = newRunningState(account, accountLedgerService.getBalance(account));
+        AccountTransaction transferTransaction = appendMovement(state, account, AccountTransactionType.RECHARGE, AccountTransactionDirection.CREDIT, amount);
+        recordDailySummaries(List.of(transferTransaction), 1);
+        log.debug("Recharged {} to the account with number {}. New balance in minor units: {}", amount, accountNumber, state[BALANCE]);
         return accountTransactionRepository.save(transferTransaction);
     }
 
@@ -281,19 +462,28 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      * @return The account transaction representing the withdrawal.
      */
     @Override
-    public AccountTransaction createWithdrawalTransaction(String accountNumber, Double amount) {
-        checkAmount(amount);
+    public AccountTransaction createWithdrawalTransaction(String accountNumber, Money amount) {
+        return auditLog.audit(AuditOperation.WITHDRAWAL, accountNumber, null, amount, () -> {
+            checkAmount(amount);
+            return accountMutationExecutor.execute(List.of(accountNumber), () -> withdraw(accountNumber, amount));
+        });
+    }
 
+    /**
+     * Applies a withdrawal. Must be run through the account mutation executor.
+     */
+    private AccountTransaction withdraw(String accountNumber, Money amount) {
         BankingAccount account = searchBankingAccountByAccountNumber(accountNumber);
 
         checkAccountStatus(account);
-        checkWithdrawalLimit(account, amount);
-        checkFunds(account.getBalance(), amount);
-
-        account.setBalance(account.getBalance() - amount);
-        AccountTransaction transferTransaction = buildTransaction(account, AccountTransactionType.WITHDRAWAL, amount);
-        account.getAccountTransactions().add(transferTransaction);
-        log.info("Withdrawal {} to the account with number {}. New balance: {}", amount, accountNumber, account.getBalance());
+        long balance = accountLedgerService.getBalance(account);
+        checkFunds(balance, amount.getMinorUnits());
+        checkWithdrawalLimit(account, amount.getMinorUnits());
+
+        long[] state = newRunningState(account, balance);
+        AccountTransaction transferTransaction = appendMovement(state, account, AccountTransactionType.WITHDRAWAL, AccountTransactionDirection.DEBIT, amount);
+        recordDailySummaries(List.of(transferTransaction), 1);
+        log.debug("Withdrawal {} to the account with number {}. New balance in minor units: {}", amount, accountNumber, state[BALANCE]);
         return accountTransactionRepository.save(transferTransaction);
     }
 
@@ -306,35 +496,220 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      */
     @Override
     public AccountTransaction createTransferTransaction(String accountNumber, RequestCreateTransaction transaction) {
-        checkAmount(transaction.getAmount());
-        Double transferAmount = transaction.getAmount();
+        return auditLog.audit(AuditOperation.TRANSFER, accountNumber, transaction.getDestinationAccountNumber(), transaction.getAmount(), () -> {
+            checkAmount(transaction.getAmount());
+
+            if (transaction.getDestinationAccountNumber() == null) {
+                throw new InvalidTransactionException("The destination account number is required.");
+            }
+            AccountNumbers.validate(accountNumber);
+            AccountNumbers.validate(transaction.getDestinationAccountNumber());
+
+            List<String> accountNumbers = List.of(accountNumber, transaction.getDestinationAccountNumber());
+            return accountMutationExecutor.execute(accountNumbers, () -> transfer(accountNumber, transaction));
+        });
+    }
+
+    /**
+     * Applies a transfer. Must be run through the account mutation executor.
+     * Both accounts are read with a single query and both legs are persisted in a single
+     * repository transaction, so the transfer is committed atomically.
+     */
+    private AccountTransaction transfer(String accountNumber, RequestCreateTransaction transaction) {
+        Money transferAmount = transaction.getAmount();
+
+        Map<String, BankingAccount> accounts = searchBankingAccountsByAccountNumbers(List.of(accountNumber, transaction.getDestinationAccountNumber()));
+
+        BankingAccount sourceAccount = getFoundAccount(accounts, accountNumber);
+        checkAccountStatus(sourceAccount);
+
+        Map<String, long[]> states = new HashMap<>();
+        List<AccountTransaction> legs = applyTransfer(sourceAccount, accounts, states, transaction.getDestinationAccountNumber(), transferAmount);
+
+        accountTransactionRepository.saveAll(legs);
+        recordDailySummaries(legs, 1);
+        log.debug("Transfer of {} from account {} to account {} completed successfully. New balance for {} in minor units is {}",
+                transferAmount, accountNumber, transaction.getDestinationAccountNumber(), accountNumber, states.get(accountNumber)[BALANCE]);
 
-        BankingAccount sourceAccount = searchBankingAccountByAccountNumber(accountNumber);
+        return legs.get(0);
+    }
+
+    /**
+     * Creates a batch of transfer transactions from a single source account.
+     * Every transfer is validated and applied in order; a rejected transfer does not stop the
+     * remaining ones. All the accepted legs are persisted together in a single transaction.
+     *
+     * @param accountNumber The source account number.
+     * @param transactions  The transfer transactions details.
+     * @return The result of every transfer, in the same order as the request.
+     */
+    @Override
+    public List<ResponseTransferResult> createBatchTransferTransactions(String accountNumber, List<RequestCreateTransaction> transactions) {
+        return auditLog.audit(AuditOperation.BATCH_TRANSFER, accountNumber, null, null, () -> {
+            if (transactions == null || transactions.isEmpty()) {
+                throw new InvalidTransactionException("The batch must contain at least one transfer.");
+            }
+
+            if (transactions.size() > MAX_BATCH_TRANSFERS) {
+                throw new InvalidTransactionException("The batch cannot contain more than " + MAX_BATCH_TRANSFERS + " transfers.");
+            }
+            AccountNumbers.validate(accountNumber);
+
+            Set<String> accountNumbers = new LinkedHashSet<>();
+            accountNumbers.add(accountNumber);
+            for (RequestCreateTransaction transaction : transactions) {
+                if (transaction.getDestinationAccountNumber() != null) {
+                    accountNumbers.add(transaction.getDestinationAccountNumber());
+                }
+            }
+
+            return accountMutationExecutor.execute(accountNumbers, () -> batchTransfer(accountNumber, transactions, accountNumbers));
+        });
+    }
+
+    /**
+     * Applies a batch of transfers. Must be run through the account mutation executor.
+     */
+    private List<ResponseTransferResult> batchTransfer(String accountNumber, List<RequestCreateTransaction> transactions, Set<String> accountNumbers) {
+        Map<String, BankingAccount> accounts = searchBankingAccountsByAccountNumbers(accountNumbers);
+
+        BankingAccount sourceAccount = getFoundAccount(accounts, accountNumber);
         checkAccountStatus(sourceAccount);
-        checkFunds(sourceAccount.getBalance(), transferAmount);
-        checkWithdrawalLimit(sourceAccount, transferAmount);
 
-        BankingAccount destinationAccount = searchBankingAccountByAccountNumber(transaction.getDestinationAccountNumber());
+        List<ResponseTransferResult> results = new ArrayList<>(transactions.size());
+        List<AccountTransaction> legs = new ArrayList<>(transactions.size() * 2);
+        Map<String, long[]> states = new HashMap<>();
+
+        for (int i = 0; i < transactions.size(); i++) {
+            RequestCreateTransaction transaction = transactions.get(i);
+            ResponseTransferResult.ResponseTransferResultBuilder result = ResponseTransferResult.builder()
+                    .index(i)
+                    .destinationAccountNumber(transaction.getDestinationAccountNumber())
+                    .amount(transaction.getAmount());
+
+            try {
+                if (transaction.getAmount() == null || transaction.getDestinationAccountNumber() == null) {
+                    throw new InvalidTransactionException("The amount and the destination account number are required.");
+                }
+                checkAmount(transaction.getAmount());
+                AccountNumbers.validate(transaction.getDestinationAccountNumber());
+
+                List<AccountTransaction> transferLegs = applyTransfer(sourceAccount, accounts, states, transaction.getDestinationAccountNumber(), transaction.getAmount());
+                legs.addAll(transferLegs);
+                results.add(result.status(ResponseTransferResult.COMPLETED).transaction(transferLegs.get(0)).build());
+            } catch (InsufficientFundsException | InactiveAccountException | InvalidTransactionException | InvalidAccountNumberException | ResourceNotFoundException e) {
+                results.add(result.status(ResponseTransferResult.REJECTED).message(e.getMessage()).build());
+            }
+        }
+
+        accountTransactionRepository.saveAll(legs);
+        recordDailySummaries(legs, 1);
+        log.debug("Batch of {} transfers from account {} processed. {} legs persisted. New balance in minor units: {}",
+                transactions.size(), accountNumber, legs.size(), runningState(states, sourceAccount)[BALANCE]);
+
+        return results;
+    }
+
+    /**
+     * Validates a transfer against an already loaded source account and applies it to both balances.
+     *
+     * @param sourceAccount            The source banking account, already checked to be active.
+     * @param accounts                 The loaded banking accounts indexed by account number.
+     * @param states                   The running states of the accounts, updated with the transfer.
+     * @param destinationAccountNumber The destination account number.
+     * @param transferAmount           The amount to transfer.
+     * @return The source and destination legs of the transfer, in that order.
+     */
+    private List<AccountTransaction> applyTransfer(BankingAccount sourceAccount, Map<String, BankingAccount> accounts, Map<String, long[]> states,
+                                                   String destinationAccountNumber, Money transferAmount) {
+        long amount = transferAmount.getMinorUnits();
+        long[] sourceState = runningState(states, sourceAccount);
+        checkFunds(sourceState[BALANCE], amount);
+
+        BankingAccount destinationAccount = getFoundAccount(accounts, destinationAccountNumber);
         checkAccountStatus(destinationAccount);
 
         if (sourceAccount.getAccountNumber().equals(destinationAccount.getAccountNumber())) {
             throw new InvalidTransactionException("Cannot make a transfer into the same account.");
         }
 
-        AccountTransaction sourceTransfer = buildTransaction(sourceAccount, AccountTransactionType.TRANSFER, transferAmount);
-        AccountTransaction destinationTransfer = buildTransaction(destinationAccount, AccountTransactionType.TRANSFER, transferAmount);
+        // Last check: it reserves the amount against today's limit.
+        checkWithdrawalLimit(sourceAccount, amount);
 
-        sourceAccount.setBalance(sourceAccount.getBalance() - transferAmount);
-        destinationAccount.setBalance(destinationAccount.getBalance() + transferAmount);
+        long[] destinationState = runningState(states, destinationAccount);
 
-        accountTransactionRepository.save(sourceTransfer);
-        accountTransactionRepository.save(destinationTransfer);
-        log.info("Transfer of {} from account {} to account {} completed successfully. New balance for {} is {} and for {} is {}",
-                transferAmount, sourceAccount.getAccountNumber(), destinationAccount.getAccountNumber(),
-                sourceAccount.getAccountNumber(), sourceAccount.getBalance(),
-                destinationAccount.getAccountNumber(), destinationAccount.getBalance());
+        AccountTransaction sourceTransfer = appendMovement(sourceState, sourceAccount, AccountTransactionType.TRANSFER, AccountTransactionDirection.DEBIT, transferAmount);
+        AccountTransaction destinationTransfer = appendMovement(destinationState, destinationAccount, AccountTransactionType.TRANSFER, AccountTransactionDirection.CREDIT, transferAmount);
 
-        return sourceTransfer;
+        return List.of(sourceTransfer, destinationTransfer);
+    }
+
+    /**
+     * Returns the mutable running state of an account, resolving it on first use.
+     */
+    private long[] runningState(Map<String, long[]> states, BankingAccount account) {
+        return states.computeIfAbsent(account.getAccountNumber(), accountNumber -> newRunningState(account, accountLedgerService.getBalance(account)));
+    }
+
+    /**
+     * Creates the running state of an account: its current balance and the sequence number of its last transaction.
+     * Must be called while holding the account mutation lock, so that no other movement can take the next number.
+     */
+    private long[] newRunningState(BankingAccount account, long balance) {
+        Long lastSequenceNumber = accountTransactionRepository.findLastSequenceNumber(account.getId());
+        return new long[]{balance, lastSequenceNumber == null ? 0 : lastSequenceNumber};
+    }
+
+    /**
+     * Applies a movement to the running state of an account and builds the transaction that records it,
+     * stamped with the balance after the movement and the next sequence number of the account.
+     */
+    private AccountTransaction appendMovement(long[] state, BankingAccount account, AccountTransactionType accountTransactionType,
+                                              AccountTransactionDirection direction, Money amount) {
+        long signedAmount = direction == AccountTransactionDirection.CREDIT ? amount.getMinorUnits() : -amount.getMinorUnits();
+        state[BALANCE] = accountLedgerService.applyMovement(account, state[BALANCE], signedAmount);
+        state[SEQUENCE]++;
+        return buildTransaction(account, accountTransactionType, direction, amount, Money.ofMinor(state[BALANCE]), state[SEQUENCE]);
+    }
+
+    /**
+     * Adds transactions to the daily rollups of their accounts, or takes them out with a negative sign.
+     * Must be called in the same database transaction that writes the transactions.
+     *
+     * @param transactions The transactions.
+     * @param sign         1 to add the transactions, -1 to revert them.
+     */
+    private void recordDailySummaries(Collection<AccountTransaction> transactions, int sign) {
+        Map<AccountDailySummaryId, long[]> totals = new LinkedHashMap<>();
+        for (AccountTransaction transaction : transactions) {
+            if (transaction.getAccountTransactionType() == null || transaction.getDirection() == null || transaction.getAmount() == null) {
+                continue;
+            }
+
+            AccountDailySummaryId id = new AccountDailySummaryId(transaction.getBankingAccount().getId(), transaction.getDateOfExecution(),
+                    transaction.getAccountTransactionType(), transaction.getDirection());
+            long[] total = totals.computeIfAbsent(id, key -> new long[2]);
+            total[0] += sign;
+            total[1] += sign * transaction.getAmount().getMinorUnits();
+        }
+
+        totals.forEach((id, total) -> accountDailySummaryRepository.addToSummary(id.getBankingAccountId(), id.getSummaryDate(),
+                id.getAccountTransactionType().name(), id.getDirection().name(), total[0], total[1]));
+    }
+
+    /**
+     * Adds a debit to the daily withdrawal total of its account, or takes it out with a negative sign.
+     * Only debits of today affect the total.
+     *
+     * @param accountMetadata The metadata of the account of the transaction.
+     * @param transaction     The transaction.
+     * @param sign            1 to add the debit, -1 to revert it.
+     */
+    private void recordDailyWithdrawal(AccountMetadata accountMetadata, AccountTransaction transaction, int sign) {
+        if (transaction.getDirection() == AccountTransactionDirection.DEBIT && transaction.getAmount() != null) {
+            dailyWithdrawalTracker.adjust(accountMetadata.getAccountNumber(), transaction.getDateOfExecution(),
+                    sign * transaction.getAmount().getMinorUnits());
+        }
     }
 
     /**
@@ -342,13 +717,20 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      *
      * @param account                The banking account associated with the transaction.
      * @param accountTransactionType The type of account transaction.
+     * @param direction              Whether the transaction credits or debits the account.
      * @param amount                 The transaction amount.
+     * @param balanceAfter           The balance of the account after the transaction.
+     * @param sequenceNumber         The position of the transaction in the history of the account.
      * @return The newly created account transaction.
      */
-    private AccountTransaction buildTransaction(BankingAccount account, AccountTransactionType accountTransactionType, Double amount) {
+    private AccountTransaction buildTransaction(BankingAccount account, AccountTransactionType accountTransactionType,
+                                                AccountTransactionDirection direction, Money amount, Money balanceAfter, long sequenceNumber) {
         return AccountTransaction.builder()
                 .amount(amount)
+                .balanceAfter(balanceAfter)
+                .sequenceNumber(sequenceNumber)
                 .accountTransactionType(accountTransactionType)
+                .direction(direction)
                 .dateOfExecution(LocalDate.now())
                 .timeOfExecution(LocalTime.now())
                 .bankingAccount(account)
@@ -362,7 +744,69 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      * @return The banking account if found, otherwise throws a ResourceNotFoundException.
      */
     private BankingAccount searchBankingAccountByAccountNumber(String accountNumber) {
-        BankingAccount account = bankingAccountRepository.findByAccountNumber(accountNumber);
+        Long accountKey = AccountNumbers.toKey(accountNumber);
+        BankingAccount account = accountKey == null
+                ? bankingAccountRepository.findByAccountNumber(accountNumber)
+                : bankingAccountRepository.findByAccountKey(accountKey);
+
+        if (account == null) {
+            log.error("No banking account found for account number: {}", accountNumber);
+            throw new ResourceNotFoundException("Account not found with account number: " + accountNumber);
+        }
+
+        return account;
+    }
+
+    /**
+     * Searches for the metadata of a banking account by its account number, served from the account cache.
+     *
+     * @param accountNumber The account number to search for.
+     * @return The account metadata if found, otherwise throws a ResourceNotFoundException.
+     */
+    private AccountMetadata searchAccountMetadata(String accountNumber) {
+        return accountMetadataCache.get(accountNumber).orElseThrow(() -> {
+            log.error("No banking account found for account number: {}", accountNumber);
+            return new ResourceNotFoundException("Account not found with account number: " + accountNumber);
+        });
+    }
+
+    /**
+     * Searches for several banking accounts with a single query per account number format.
+     * Account numbers with a wrong check digit are not looked up, so they are reported as not found.
+     *
+     * @param accountNumbers The account numbers to search for.
+     * @return The found banking accounts indexed by account number.
+     */
+    private Map<String, BankingAccount> searchBankingAccountsByAccountNumbers(Collection<String> accountNumbers) {
+        List<Long> accountKeys = new ArrayList<>();
+        List<String> legacyAccountNumbers = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            if (!AccountNumbers.isCurrentFormat(accountNumber)) {
+                legacyAccountNumbers.add(accountNumber);
+            } else if (AccountNumbers.isValid(accountNumber)) {
+                accountKeys.add(Long.parseLong(accountNumber));
+            }
+        }
+
+        List<BankingAccount> accounts = new ArrayList<>(accountNumbers.size());
+        if (!accountKeys.isEmpty()) {
+            accounts.addAll(bankingAccountRepository.findByAccountKeyIn(accountKeys));
+        }
+        if (!legacyAccountNumbers.isEmpty()) {
+            accounts.addAll(bankingAccountRepository.findByAccountNumberIn(legacyAccountNumbers));
+        }
+        return accounts.stream().collect(Collectors.toMap(BankingAccount::getAccountNumber, Function.identity()));
+    }
+
+    /**
+     * Gets a banking account from the result of a multi-account search.
+     *
+     * @param accounts      The found banking accounts indexed by account number.
+     * @param accountNumber The account number to get.
+     * @return The banking account if found, otherwise throws a ResourceNotFoundException.
+     */
+    private BankingAccount getFoundAccount(Map<String, BankingAccount> accounts, String accountNumber) {
+        BankingAccount account = accounts.get(accountNumber);
 
         if (account == null) {
             log.error("No banking account found for account number: {}", accountNumber);
@@ -375,11 +819,11 @@ public class BankingAccountServiceImpl implements BankingAccountService {
     /**
      * Checks if there are sufficient funds to cover a transaction.
      *
-     * @param currentAmount The current amount in the account.
-     * @param requestAmount The requested transaction amount.
+     * @param currentAmount The current amount in the account, in minor units.
+     * @param requestAmount The requested transaction amount, in minor units.
      * @throws InsufficientFundsException if there are not enough funds for the transaction.
      */
-    private void checkFunds(Double currentAmount, Double requestAmount) {
+    private void checkFunds(long currentAmount, long requestAmount) {
         // The request must be less than or equal to the current balance to be processed successfully.
         if (requestAmount > currentAmount) {
             throw new InsufficientFundsException("Insufficient balance in the source account.");
@@ -387,19 +831,20 @@ public class BankingAccountServiceImpl implements BankingAccountService {
     }
 
     /**
-     * Checks if a withdrawal transaction exceeds the account's withdrawal limit.
+     * Checks that a debit fits in what is left of the account's daily withdrawal limit and reserves it.
+     * Must be the last check of a debit, as the reservation is only given back if the transaction rolls back.
      *
      * @param account The banking account.
-     * @param amount  The withdrawal amount.
-     * @throws InsufficientFundsException if the withdrawal exceeds the account's withdrawal limit.
+     * @param amount  The withdrawal amount, in minor units.
+     * @throws InsufficientFundsException if the debit exceeds the account's daily withdrawal limit.
      */
-    private void checkWithdrawalLimit(BankingAccount account, Double amount) {
-        Double withdrawalLimit = account.getWithdrawalLimit();
+    private void checkWithdrawalLimit(BankingAccount account, long amount) {
+        Money withdrawalLimit = account.getWithdrawalLimit();
 
-        if (amount > withdrawalLimit) {
-            throw new InsufficientFundsException("Exceeded withdrawal limit. Withdrawal limit: " + withdrawalLimit);
+        if (!dailyWithdrawalTracker.tryReserve(account.getAccountNumber(), amount, withdrawalLimit.getMinorUnits())) {
+            throw new InsufficientFundsException("Exceeded daily withdrawal limit. Withdrawal limit: " + withdrawalLimit
+                    + ". Withdrawn today: " + Money.ofMinor(dailyWithdrawalTracker.getWithdrawnToday(account.getAccountNumber())));
         }
-
     }
 
     /**
@@ -409,8 +854,16 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      * @throws InactiveAccountException if the account is not active.
      */
     private void checkAccountStatus(BankingAccount account) {
-        if (account.getBankingAccountStatus() != BankingAccountStatus.ACTIVE) {
-            log.error("Account status check failed for account number {}: The bank account is not active.", account.getAccountNumber());
+        checkAccountStatus(account.getAccountNumber(), account.getBankingAccountStatus());
+    }
+
+    private void checkAccountStatus(AccountMetadata account) {
+        checkAccountStatus(account.getAccountNumber(), account.getBankingAccountStatus());
+    }
+
+    private void checkAccountStatus(String accountNumber, BankingAccountStatus status) {
+        if (status != BankingAccountStatus.ACTIVE) {
+            log.error("Account status check failed for account number {}: The bank account is not active.", accountNumber);
             throw new InactiveAccountException("The bank account is not active.");
         }
     }
@@ -421,8 +874,8 @@ public class BankingAccountServiceImpl implements BankingAccountService {
      * @param amount The transaction amount to check.
      * @throws InvalidTransactionException if the amount is not positive.
      */
-    private void checkAmount(Double amount) {
-        if (amount <= 0) {
+    private void checkAmount(Money amount) {
+        if (amount == null || !amount.isPositive()) {
             log.error("Invalid amount: {}", amount);
             throw new InvalidTransactionException("The amount must be positive.");
         }
@@ -1,37 +1,54 @@
 package com.jfecm.bankaccountmanagement.service.imp;
 
+import com.jfecm.bankaccountmanagement.cache.AccountMetadataCache;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
 import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.exceptions.*;
+import com.jfecm.bankaccountmanagement.mapper.ClientMapper;
+import com.jfecm.bankaccountmanagement.repository.AccountDailySummaryRepository;
 import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
 import com.jfecm.bankaccountmanagement.repository.ClientRepository;
 import com.jfecm.bankaccountmanagement.service.ClientService;
+import com.jfecm.bankaccountmanagement.service.EmailOutboxService;
+import com.jfecm.bankaccountmanagement.util.AccountNumberGenerator;
+import com.jfecm.bankaccountmanagement.util.AccountNumbers;
+import com.jfecm.bankaccountmanagement.util.Email;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class ClientServiceImpl implements ClientService {
-    private final ModelMapper mapper;
+    private static final String WELCOME_SUBJECT = "Welcome message";
+    private static final int MAX_LISTING_PAGE_SIZE = 500;
+
     private final ClientRepository clientRepository;
     private final BankingAccountRepository bankingAccountRepository;
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final AccountMetadataCache accountMetadataCache;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final EmailOutboxService emailOutboxService;
+    private final TransactionOperations transactionOperations;
 
     /**
-     * Register a new client.
+     * Register a new client and queue its welcome email.
      *
      * @param client The client data to register.
      * @throws DniAlreadyExistsException If the DNI is already registered.
@@ -44,16 +61,23 @@ public class ClientServiceImpl implements ClientService {
 
             client.setUserStatus(UserStatus.PENDING);
 
-            Client clientEntity = new Client();
-            mapper.map(client, clientEntity);
+            Client clientEntity = ClientMapper.toEntity(client);
 
             // Create a default BankingAccount
             BankingAccount defaultAccount = createDefaultBankingAccount(clientEntity);
             clientEntity.setBankingAccount(defaultAccount);
 
-            Client saveClient = clientRepository.save(clientEntity);
-
-            log.info("saveClient() - OK. Data: {}", saveClient);
+            // The welcome email is queued in the same transaction as the client: it is sent once the client
+            // is committed, and never for a client that was rolled back (e.g. a duplicate email).
+            Client saveClient = transactionOperations.execute(status -> {
+                Client saved = clientRepository.save(clientEntity);
+                emailOutboxService.enqueue(client.getEmail(), WELCOME_SUBJECT, Email.welcomeMessage(client));
+                return saved;
+            });
+            // Drops a cached "not found" entry for the new account number, if any.
+            accountMetadataCache.invalidate(defaultAccount.getAccountNumber());
+
+            log.info("saveClient() - OK. Client with DNI {} and account number {} registered.", saveClient.getDni(), defaultAccount.getAccountNumber());
             return saveClient;
         } catch (DataIntegrityViolationException ex) {
             log.error("The EMAIL={} is already registered.", client.getEmail());
@@ -68,28 +92,18 @@ public class ClientServiceImpl implements ClientService {
      * @return banking account
      */
     private BankingAccount createDefaultBankingAccount(Client client) {
+        String accountNumber = accountNumberGenerator.next();
         return BankingAccount.builder()
                 .client(client)
-                .accountNumber(generateUniqueAccountNumber())
-                .balance(0.0)
-                .withdrawalLimit(5000.0)
+                .accountNumber(accountNumber)
+                .accountKey(AccountNumbers.toKey(accountNumber))
+                .balance(Money.ZERO)
+                .withdrawalLimit(Money.ofMajor(5000))
                 .accountOpenedDate(LocalDate.now())
                 .bankingAccountStatus(BankingAccountStatus.ACTIVE)
                 .build();
     }
 
-    /**
-     * Generate a random Unique Account Number
-     *
-     * @return Unique account number
-     */
-    private String generateUniqueAccountNumber() {
-        // Generate a random UUID
-        UUID uuid = UUID.randomUUID();
-        // Convert the UUID to a string and remove the dashes
-        return uuid.toString().replace("-", "");
-    }
-
     /**
      * Update a client's data by their DNI.
      *
@@ -104,7 +118,7 @@ public class ClientServiceImpl implements ClientService {
 
         checkClientStatus(existingClient);
 
-        mapper.map(updateClient, existingClient);
+        ClientMapper.update(updateClient, existingClient);
 
         Client client = clientRepository.save(existingClient);
         log.info("updateClient() - OK.");
@@ -155,7 +169,36 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public Client getClientByDni(String dni) {
-        Client client = clientRepository.findByDni(dni);
+        return requireClient(clientRepository.findByDni(dni), dni);
+    }
+
+    /**
+     * Obtains the data of a client by their DNI. The client, their account, their adherents and their main
+     * client are loaded in the same query, and mapped to flat summaries so that serializing the result
+     * does not load anything else.
+     *
+     * @param dni The DNI of the client to obtain.
+     * @return The data of the client found.
+     * @throws ResourceNotFoundException If the client is not found.
+     */
+    @Override
+    public ResponseClientData getClientDetailsByDni(String dni) {
+        return ClientMapper.toResponse(requireClient(clientRepository.findDetailByDni(dni), dni));
+    }
+
+    /**
+     * Obtains a client by their DNI, with their account and its transactions loaded in the same query.
+     *
+     * @param dni The DNI of the client to obtain.
+     * @return The client found.
+     * @throws ResourceNotFoundException If the client is not found.
+     */
+    @Override
+    public Client getClientReportByDni(String dni) {
+        return requireClient(clientRepository.findReportByDni(dni), dni);
+    }
+
+    private Client requireClient(Client client, String dni) {
         if (client == null) {
             log.error("Client not found with DNI= {}", dni);
             throw new ResourceNotFoundException("Client not found with DNI: " + dni);
@@ -172,11 +215,11 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public List<ResponseClientData> getAllClients(UserStatus status) {
-        List<ResponseClientData> clients = new ArrayList<>();
+        List<Client> found = clientRepository.findByUserStatus(status);
+        List<ResponseClientData> clients = new ArrayList<>(found.size());
 
-        for (Client client : clientRepository.findByUserStatus(status)) {
-            ResponseClientData c = mapper.map(client, ResponseClientData.class);
-            clients.add(c);
+        for (Client client : found) {
+            clients.add(ClientMapper.toResponse(client));
         }
 
         log.info("Returning the list of clients. List size: " + clients.size());
@@ -184,6 +227,38 @@ public class ClientServiceImpl implements ClientService {
         return clients;
     }
 
+    /**
+     * Gets a page of the clients with a specific status, in ID order.
+     * Pages are read with a keyset query on the client ID into flat summaries, so any page costs the
+     * same as the first one and no client entity, account or adherent is loaded. The total is only
+     * counted for the first page.
+     *
+     * @param status  The status of the clients to obtain.
+     * @param afterId The nextAfterId returned with the previous page, or null for the first page.
+     * @param size    The maximum number of clients of the page.
+     * @return The page of clients and the afterId of the next page, if any.
+     * @throws InvalidPageRequestException If the page size is out of range.
+     */
+    @Override
+    public ResponseKeysetPage<ResponseClientSummary> getClientsPage(UserStatus status, Long afterId, int size) {
+        if (size < 1 || size > MAX_LISTING_PAGE_SIZE) {
+            throw new InvalidPageRequestException("The page size must be between 1 and " + MAX_LISTING_PAGE_SIZE + ".");
+        }
+
+        // One extra row tells whether there is a next page.
+        List<ResponseClientSummary> clients = clientRepository.findSummariesAfter(status, afterId == null ? 0L : afterId, PageRequest.of(0, size + 1));
+        boolean hasNext = clients.size() > size;
+        List<ResponseClientSummary> page = hasNext ? clients.subList(0, size) : clients;
+        log.info("Returning a page of {} clients with status {}.", page.size(), status);
+
+        return ResponseKeysetPage.<ResponseClientSummary>builder()
+                .items(page)
+                .size(page.size())
+                .total(afterId == null ? clientRepository.countByUserStatus(status) : null)
+                .nextAfterId(hasNext ? page.get(page.size() - 1).getId() : null)
+                .build();
+    }
+
     /**
      * Validates if a unique identification number (DNI) already exists in the database.
      *
@@ -226,16 +301,17 @@ public class ClientServiceImpl implements ClientService {
 
         adherentRequest.setUserStatus(UserStatus.ACTIVE);
 
-        Client adherent = new Client();
-        mapper.map(adherentRequest, adherent);
+        Client adherent = ClientMapper.toEntity(adherentRequest);
 
         // Create a default BankingAccount
         BankingAccount defaultAccount = createDefaultBankingAccount(adherent);
         adherent.setBankingAccount(defaultAccount);
 
         adherent.setMainClient(mainClient);
+        Client savedAdherent = clientRepository.save(adherent);
+        accountMetadataCache.invalidate(defaultAccount.getAccountNumber());
         log.info("Client adherent with DNI {} added for main client with DNI {}", adherentRequest.getDni(), dni);
-        return clientRepository.save(adherent);
+        return savedAdherent;
     }
 
     /**
@@ -246,7 +322,7 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public List<Client> getClientAdherentsList(String dni) {
-        Client client = getClientByDni(dni);
+        Client client = requireClient(clientRepository.findDetailByDni(dni), dni);
         return client.getAdherents();
     }
 
@@ -263,7 +339,7 @@ public class ClientServiceImpl implements ClientService {
         Client client = getClientByDni(dniMain);
         Client clientAdherent = getClientByDni(dniAdherent);
         Client adherent = checkIsAdherent(client, clientAdherent);
-        log.info("Returning the adherent. Data: " + adherent);
+        log.info("Returning the adherent with DNI {}.", adherent.getDni());
         return adherent;
     }
 
@@ -294,8 +370,14 @@ public class ClientServiceImpl implements ClientService {
 
         BankingAccount bankingAccount = adherent.getBankingAccount();
         bankingAccount.setClient(null);
-        clientRepository.deleteById(adherent.getId());
-        bankingAccountRepository.deleteById(bankingAccount.getId());
+        transactionOperations.execute(status -> {
+            clientRepository.deleteById(adherent.getId());
+            // The daily rollups reference the account, so they go first; its transactions cascade with it.
+            accountDailySummaryRepository.deleteByBankingAccountId(bankingAccount.getId());
+            bankingAccountRepository.deleteById(bankingAccount.getId());
+            return null;
+        });
+        accountMetadataCache.invalidate(bankingAccount.getAccountNumber());
         log.info("Removed adherent with DNI {} for main client with DNI {}", dniAdherent, dniMain);
     }
 
@@ -313,9 +395,9 @@ public class ClientServiceImpl implements ClientService {
         Client client = getClientByDni(dniMain);
         Client clientAdherent = getClientByDni(dniAdherent);
         Client adherent = checkIsAdherent(client, clientAdherent);
-        mapper.map(adherentRequest, adherent);
+        ClientMapper.update(adherentRequest, adherent);
         Client clientAdherentUpdated = clientRepository.save(adherent);
-        log.info("Data of adherent with DNI {} changed to {} for main client with DNI {}", dniAdherent, adherent, dniMain);
+        log.info("Data of adherent with DNI {} changed for main client with DNI {}", dniAdherent, dniMain);
         return clientAdherentUpdated;
     }
 
@@ -0,0 +1,193 @@
+package com.jfecm.bankaccountmanagement.service.imp;
+
+import com.jfecm.bankaccountmanagement.entity.EmailOutboxMessage;
+import com.jfecm.bankaccountmanagement.entity.enums.EmailOutboxStatus;
+import com.jfecm.bankaccountmanagement.repository.EmailOutboxRepository;
+import com.jfecm.bankaccountmanagement.service.EmailOutboxService;
+import com.jfecm.bankaccountmanagement.service.EmailService;
+import com.jfecm.bankaccountmanagement.util.EmailMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for emails. Callers queue emails with {@link #enqueue}, inside the transaction
+ * of the change that triggers them, and a scheduled dispatcher delivers them afterwards, so a slow
+ * or failing SMTP server never delays nor fails the caller and queued emails survive restarts.
+ *
+ * <p>Each batch of due messages is sent over a single pooled SMTP connection. Failed deliveries are
+ * retried with an exponential backoff, up to a maximum number of attempts. Before sending, the
+ * dispatcher claims each message with a conditional update that pushes its next attempt past a lease,
+ * so concurrent dispatchers (e.g. several instances) do not send it twice.
+ *
+ * <p>The body of a message is cleared once it is sent or has failed for good: the welcome email
+ * carries the initial password, which must not stay in the outbox table.
+ */
+@Slf4j
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimLease;
+
+    public EmailOutboxServiceImpl(EmailOutboxRepository emailOutboxRepository,
+                                  EmailService emailService,
+                                  @Value("${app.email.outbox.batch-size:50}") int batchSize,
+                                  @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+                                  @Value("${app.email.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                                  @Value("${app.email.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                                  @Value("${app.email.outbox.claim-lease:PT5M}") Duration claimLease) {
+        if (batchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("The outbox batch size and maximum attempts must be positive.");
+        }
+
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimLease = claimLease;
+    }
+
+    /**
+     * Queues an email. Joins the transaction of the caller, if any.
+     *
+     * @param recipient The email address of the receiver.
+     * @param subject   The subject of the email.
+     * @param body      The HTML body of the email.
+     * @return The queued message.
+     */
+    @Override
+    public EmailOutboxMessage enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.debug("Email {} queued for {}.", message.getId(), recipient);
+        return message;
+    }
+
+    /**
+     * Delivers the due messages, batch after batch, until a batch comes back incomplete.
+     *
+     * @return The number of messages sent.
+     */
+    @Override
+    public int dispatchPending() {
+        int sent = 0;
+        List<EmailOutboxMessage> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            batch = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(
+                    EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+
+            List<EmailOutboxMessage> claimed = new ArrayList<>(batch.size());
+            for (EmailOutboxMessage message : batch) {
+                // Skips the messages claimed by another dispatcher in the meantime.
+                if (emailOutboxRepository.claim(message.getId(), message.getNextAttemptAt(), now.plus(claimLease)) == 1) {
+                    claimed.add(message);
+                }
+            }
+            if (!claimed.isEmpty()) {
+                sent += deliver(claimed);
+            }
+        } while (batch.size() == batchSize);
+
+        if (sent > 0) {
+            log.info("Email outbox dispatched {} messages.", sent);
+        }
+        return sent;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:PT5S}")
+    public void dispatchScheduled() {
+        dispatchPending();
+    }
+
+    /**
+     * Sends the claimed messages over a single SMTP connection and records the outcome of each one.
+     *
+     * @return The number of messages sent.
+     */
+    private int deliver(List<EmailOutboxMessage> messages) {
+        List<EmailMessage> emails = messages.stream()
+                .map(message -> new EmailMessage(message.getRecipient(), message.getSubject(), message.getBody()))
+                .collect(Collectors.toList());
+
+        List<? extends Exception> failures;
+        try {
+            failures = emailService.sendBatch(emails);
+        } catch (RuntimeException e) {
+            failures = Collections.nCopies(messages.size(), e);
+        }
+
+        int sent = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            if (record(messages.get(i), failures.get(i))) {
+                sent++;
+            }
+        }
+        emailOutboxRepository.saveAll(messages);
+        return sent;
+    }
+
+    private boolean record(EmailOutboxMessage message, Exception failure) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+
+        if (failure == null) {
+            message.setStatus(EmailOutboxStatus.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+            message.setBody(null);
+            return true;
+        }
+
+        message.setLastError(truncate(String.valueOf(failure)));
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.FAILED);
+            message.setBody(null);
+            log.error("Email {} to {} failed after {} attempts: {}", message.getId(), message.getRecipient(), attempts, failure.getMessage());
+        } else {
+            message.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                    message.getId(), message.getRecipient(), attempts, message.getNextAttemptAt(), failure.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * @param attempts The number of failed attempts so far.
+     * @return The delay before the next attempt: the initial backoff doubled on every failure, capped.
+     */
+    public Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
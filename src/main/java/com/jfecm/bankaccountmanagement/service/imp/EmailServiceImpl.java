@@ -1,65 +1,251 @@
 package com.jfecm.bankaccountmanagement.service.imp;
 
 import com.jfecm.bankaccountmanagement.service.EmailService;
+import com.jfecm.bankaccountmanagement.util.EmailMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
-
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends emails through a small pool of long-lived, already authenticated SMTP connections.
+ *
+ * <p>The mail session is built once, and the connections (TCP, STARTTLS and AUTH handshakes) are reused
+ * across emails instead of being opened for every one. At most {@code pool-size} connections are open at
+ * a time; idle connections are reused most recent first and closed once idle for longer than
+ * {@code idle-timeout}, before the server drops them. A reused connection that turns out to be broken is
+ * replaced by a new one once.
+ */
 @Slf4j
 @Service
 public class EmailServiceImpl implements EmailService {
-    @Value("${app.email.account}")
-    private String account;
-    @Value("${app.email.account.password}")
-    private String accountPassword;
+    private final String account;
+    private final String accountPassword;
+    private final String host;
+    private final int port;
+    private final boolean auth;
+    private final Duration timeout;
+    private final long idleTimeoutNanos;
+    private final Session session;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    public EmailServiceImpl(@Value("${app.email.account}") String account,
+                            @Value("${app.email.account.password}") String accountPassword,
+                            @Value("${app.email.smtp.host:smtp.gmail.com}") String host,
+                            @Value("${app.email.smtp.port:587}") int port,
+                            @Value("${app.email.smtp.auth:true}") boolean auth,
+                            @Value("${app.email.smtp.starttls:true}") boolean startTls,
+                            @Value("${app.email.smtp.timeout:PT10S}") Duration timeout,
+                            @Value("${app.email.smtp.pool-size:4}") int poolSize,
+                            @Value("${app.email.smtp.idle-timeout:PT1M}") Duration idleTimeout) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("The SMTP pool size must be positive.");
+        }
+
+        this.account = account;
+        this.accountPassword = accountPassword;
+        this.host = host;
+        this.port = port;
+        this.auth = auth;
+        this.timeout = timeout;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.permits = new Semaphore(poolSize, true);
+
+        Properties properties = new Properties();
+
+        properties.put("mail.smtp.auth", String.valueOf(auth));
+        properties.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        properties.put("mail.smtp.host", host);
+        properties.put("mail.smtp.port", String.valueOf(port));
+        // Bounds the time the outbox dispatcher can be stuck on an unresponsive server.
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(timeout.toMillis()));
+        properties.put("mail.smtp.timeout", String.valueOf(timeout.toMillis()));
+        properties.put("mail.smtp.writetimeout", String.valueOf(timeout.toMillis()));
+
+        this.session = Session.getInstance(properties);
+    }
 
     @Override
     public void sendEmail(String receiver, String subject, String message) throws MessagingException {
-        Properties properties = new Properties();
+        MessagingException failure = sendBatch(List.of(new EmailMessage(receiver, subject, message))).get(0);
+        if (failure != null) {
+            throw failure;
+        }
+        log.debug("sendEmail() - OK.");
+    }
 
-        properties.put("mail.smtp.auth", "true");
-        properties.put("mail.smtp.starttls.enable", "true");
-        properties.put("mail.smtp.host", "smtp.gmail.com");
-        properties.put("mail.smtp.port", "587");
+    @Override
+    public List<MessagingException> sendBatch(List<EmailMessage> messages) {
+        List<MessagingException> failures = new ArrayList<>(Collections.nCopies(messages.size(), null));
+        PooledTransport connection = null;
+
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message;
+                try {
+                    message = configMessage(messages.get(i));
+                } catch (MessagingException e) {
+                    failures.set(i, e);
+                    continue;
+                }
+
+                try {
+                    if (connection == null) {
+                        connection = borrow();
+                    }
+                    try {
+                        connection.transport.sendMessage(message, message.getAllRecipients());
+                    } catch (MessagingException e) {
+                        // A rejection over a connection the server already closed is reported as a send failure too.
+                        if (e instanceof SendFailedException && connection.transport.isConnected()) {
+                            throw e;
+                        }
+                        discard(connection);
+                        boolean reused = connection.reused;
+                        connection = null;
+                        if (!reused) {
+                            throw e;
+                        }
+                        // The pooled connection was closed by the server while idle: retries once on a new one.
+                        log.debug("Pooled SMTP connection broken, reconnecting: {}", e.getMessage());
+                        connection = borrow();
+                        connection.transport.sendMessage(message, message.getAllRecipients());
+                    }
+                } catch (SendFailedException e) {
+                    // Rejected by the server (e.g. an invalid recipient): the connection is still usable.
+                    failures.set(i, e);
+                } catch (MessagingException e) {
+                    // No working connection to the server: the remaining emails would fail the same way.
+                    if (connection != null) {
+                        discard(connection);
+                        connection = null;
+                    }
+                    for (int j = i; j < messages.size(); j++) {
+                        failures.set(j, e);
+                    }
+                    break;
+                }
+            }
+        } finally {
+            if (connection != null) {
+                release(connection);
+            }
+        }
 
-        Session session = Session.getInstance(properties, new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(account, accountPassword);
+        long sent = failures.stream().filter(failure -> failure == null).count();
+        log.debug("sendBatch() - {} of {} emails sent.", sent, messages.size());
+        return failures;
+    }
+
+    /**
+     * Closes the idle connections.
+     */
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("No SMTP connection available after " + timeout + ".");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection.", e);
+        }
+
+        try {
+            long now = System.nanoTime();
+            PooledTransport connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (now - connection.releasedAt < idleTimeoutNanos) {
+                    connection.reused = true;
+                    return connection;
+                }
+                connection.close();
             }
-        });
 
-        Message messageResult = configMessage(session, account, receiver, subject, message);
+            Transport transport = session.getTransport("smtp");
+            transport.connect(host, port, auth ? account : null, auth ? accountPassword : null);
+            log.debug("SMTP connection opened to {}:{}.", host, port);
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledTransport connection) {
+        connection.releasedAt = System.nanoTime();
+        idle.offerFirst(connection);
+        permits.release();
+    }
 
-        Transport.send(messageResult);
-        log.info("sendEmail() - OK.");
+    private void discard(PooledTransport connection) {
+        connection.close();
+        permits.release();
     }
 
-    private Message configMessage(Session session, String email, String receiver, String subject, String message) throws MessagingException {
+    private MimeMessage configMessage(EmailMessage email) throws MessagingException {
         MimeMessage mimeMessage = new MimeMessage(session);
 
-        mimeMessage.setFrom(new InternetAddress(email));
-        mimeMessage.setRecipient(Message.RecipientType.TO, new InternetAddress(receiver));
+        mimeMessage.setFrom(new InternetAddress(account));
+        mimeMessage.setRecipient(Message.RecipientType.TO, new InternetAddress(email.getReceiver()));
 
         BodyPart bodyPart = new MimeBodyPart();
 
-        bodyPart.setContent(message, "text/html");
+        bodyPart.setContent(email.getBody(), "text/html");
 
         MimeMultipart mimeMultipart = new MimeMultipart("related");
 
         mimeMultipart.addBodyPart(bodyPart);
 
-        mimeMessage.setSubject(subject);
+        mimeMessage.setSubject(email.getSubject());
         mimeMessage.setContent(mimeMultipart);
+        // Transport.send() did this for us; Transport.sendMessage() does not.
+        mimeMessage.saveChanges();
 
         return mimeMessage;
     }
 
+    /**
+     * An open SMTP connection and the time it was returned to the pool.
+     */
+    private static final class PooledTransport {
+        private final Transport transport;
+        private long releasedAt;
+        private boolean reused;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("SMTP connection closed with an error: {}", e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,263 @@
+package com.jfecm.bankaccountmanagement.service.imp;
+
+import com.jfecm.bankaccountmanagement.concurrency.AccountMutationHooks;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.IdempotencyRecord;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.exceptions.IdempotencyKeyReusedException;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidIdempotencyKeyException;
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import com.jfecm.bankaccountmanagement.repository.IdempotencyRecordRepository;
+import com.jfecm.bankaccountmanagement.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final long cacheTtlNanos;
+    private final int cacheMaxSize;
+    private final Duration retention;
+
+    /**
+     * Recent results indexed by scoped key. ConcurrentHashMap locks per bin, so lookups of
+     * different keys never contend with each other.
+     */
+    private final ConcurrentHashMap<String, CachedResult> cache = new ConcurrentHashMap<>();
+    /**
+     * Cached results in insertion order. Every entry has the same TTL, so this is also expiration order.
+     */
+    private final Queue<CachedResult> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  AccountTransactionRepository accountTransactionRepository,
+                                  @Value("${app.idempotency.cache.ttl:PT10M}") Duration cacheTtl,
+                                  @Value("${app.idempotency.cache.max-size:100000}") int cacheMaxSize,
+                                  @Value("${app.idempotency.retention:P1D}") Duration retention) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.cacheMaxSize = cacheMaxSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Executes a mutation at most once per Idempotency-Key and account.
+     * A repeated key returns the transaction created by the first request, served from memory
+     * while it is cached and from the idempotency table afterwards.
+     * Requests without a key are executed as they are.
+     *
+     * <p>The key is recorded in the database transaction of the mutation, so both commit or roll back together,
+     * along with the operation and a fingerprint of the request. A key reused for another operation or other
+     * parameters is rejected instead of replaying the result of an unrelated mutation.
+     *
+     * @param idempotencyKey The Idempotency-Key header sent by the client, may be null.
+     * @param accountNumber  The account number the mutation applies to.
+     * @param operation      The operation requested.
+     * @param request        The parameters of the request besides the account number, in a canonical form.
+     * @param mutation       The mutation to execute. It must submit the mutation through the account mutation executor.
+     * @return The transaction created by the first request with this key.
+     * @throws InvalidIdempotencyKeyException If the key is too long to be recorded.
+     * @throws IdempotencyKeyReusedException  If the key was already used for a different request.
+     */
+    @Override
+    public AccountTransaction execute(String idempotencyKey, String accountNumber, AccountTransactionType operation, String request,
+                                      Supplier<AccountTransaction> mutation) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return mutation.get();
+        }
+
+        String scopedKey = accountNumber + ":" + idempotencyKey;
+        if (scopedKey.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("The Idempotency-Key must be at most "
+                    + Math.max(0, IdempotencyRecord.MAX_KEY_LENGTH - accountNumber.length() - 1) + " characters long.");
+        }
+
+        String requestFingerprint = fingerprint(request);
+        long now = System.nanoTime();
+        CachedResult created = new CachedResult(scopedKey, operation, requestFingerprint, now + cacheTtlNanos);
+
+        CachedResult existing = cache.putIfAbsent(scopedKey, created);
+        while (existing != null && existing.isExpired(now)) {
+            cache.remove(scopedKey, existing);
+            existing = cache.putIfAbsent(scopedKey, created);
+        }
+
+        if (existing != null) {
+            checkSameRequest(idempotencyKey, existing.operation, existing.requestFingerprint, operation, requestFingerprint);
+            log.info("Replaying the result of Idempotency-Key {} for account number {}", idempotencyKey, accountNumber);
+            return join(existing.result);
+        }
+
+        insertionOrder.add(created);
+        evict(now);
+
+        try {
+            AccountTransaction transaction = findPersistedResult(idempotencyKey, scopedKey, operation, requestFingerprint)
+                    .orElseGet(() -> executeAndRecord(idempotencyKey, scopedKey, operation, requestFingerprint, mutation));
+            created.result.complete(transaction);
+            return transaction;
+        } catch (RuntimeException e) {
+            // Failed requests are not recorded, so the client can retry them with the same key.
+            cache.remove(scopedKey, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the idempotency records older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredRecords() {
+        int deleted = idempotencyRecordRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        log.info("Purged {} expired idempotency records.", deleted);
+    }
+
+    private Optional<AccountTransaction> findPersistedResult(String idempotencyKey, String scopedKey,
+                                                             AccountTransactionType operation, String requestFingerprint) {
+        return idempotencyRecordRepository.findById(scopedKey)
+                .map(record -> {
+                    // Keys recorded before the request was stored with them have neither and are replayed as they are.
+                    if (record.getOperation() != null) {
+                        checkSameRequest(idempotencyKey, record.getOperation(), record.getRequestFingerprint(), operation, requestFingerprint);
+                    }
+                    return record;
+                })
+                .flatMap(record -> accountTransactionRepository.findById(record.getTransactionId()));
+    }
+
+    private static void checkSameRequest(String idempotencyKey, AccountTransactionType recordedOperation, String recordedFingerprint,
+                                         AccountTransactionType operation, String requestFingerprint) {
+        if (recordedOperation != operation || !Objects.equals(recordedFingerprint, requestFingerprint)) {
+            throw new IdempotencyKeyReusedException("The Idempotency-Key " + idempotencyKey + " was already used for a different request.");
+        }
+    }
+
+    private static String fingerprint(String request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return String.format("%064x", new BigInteger(1, digest.digest(String.valueOf(request).getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Runs the operation with its key inserted first in the transaction of the mutation. A key recorded
+     * meanwhile by another node fails the insert before any balance changes, and the transaction of that
+     * request is returned instead.
+     */
+    private AccountTransaction executeAndRecord(String idempotencyKey, String scopedKey, AccountTransactionType operation,
+                                                String requestFingerprint, Supplier<AccountTransaction> mutation) {
+        KeyRecordingHook hook = new KeyRecordingHook(scopedKey, operation, requestFingerprint);
+        AccountTransaction transaction;
+        try {
+            transaction = AccountMutationHooks.runWith(hook, mutation);
+        } catch (DataIntegrityViolationException e) {
+            if (!hook.conflicted) {
+                throw e;
+            }
+            log.info("Idempotency-Key {} was recorded concurrently, replaying its result.", scopedKey);
+            return findPersistedResult(idempotencyKey, scopedKey, operation, requestFingerprint).orElseThrow(() -> e);
+        }
+
+        if (!hook.recorded) {
+            throw new IllegalStateException("The operation for Idempotency-Key " + scopedKey + " did not run through the account mutation executor.");
+        }
+        return transaction;
+    }
+
+    private void evict(long now) {
+        CachedResult oldest;
+        while ((oldest = insertionOrder.peek()) != null && (oldest.isExpired(now) || cache.size() > cacheMaxSize)) {
+            CachedResult evicted = insertionOrder.poll();
+            if (evicted != null) {
+                cache.remove(evicted.key, evicted);
+            }
+        }
+    }
+
+    private static AccountTransaction join(CompletableFuture<AccountTransaction> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Records a key in the transaction of the mutation it guards.
+     */
+    private final class KeyRecordingHook implements AccountMutationHooks.Hook {
+        private final String scopedKey;
+        private final AccountTransactionType operation;
+        private final String requestFingerprint;
+        private boolean conflicted;
+        private boolean recorded;
+
+        private KeyRecordingHook(String scopedKey, AccountTransactionType operation, String requestFingerprint) {
+            this.scopedKey = scopedKey;
+            this.operation = operation;
+            this.requestFingerprint = requestFingerprint;
+        }
+
+        @Override
+        public void beforeMutation() {
+            try {
+                idempotencyRecordRepository.insertKey(scopedKey, operation.name(), requestFingerprint, LocalDateTime.now());
+            } catch (DataIntegrityViolationException e) {
+                conflicted = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void afterMutation(Object result) {
+            idempotencyRecordRepository.setTransactionId(scopedKey, ((AccountTransaction) result).getId());
+            recorded = true;
+        }
+    }
+
+    private static final class CachedResult {
+        private final String key;
+        private final AccountTransactionType operation;
+        private final String requestFingerprint;
+        private final long expiresAt;
+        private final CompletableFuture<AccountTransaction> result = new CompletableFuture<>();
+
+        private CachedResult(String key, AccountTransactionType operation, String requestFingerprint, long expiresAt) {
+            this.key = key;
+            this.operation = operation;
+            this.requestFingerprint = requestFingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.jfecm.bankaccountmanagement.service.imp;
+
+import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import com.jfecm.bankaccountmanagement.repository.ClientRepository;
+import com.jfecm.bankaccountmanagement.service.ListingExportService;
+import com.jfecm.bankaccountmanagement.util.NdjsonStreamWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exports the client and account listings as NDJSON (one JSON object per line).
+ *
+ * <p>Rows are read as flat summaries through a forward-only JDBC cursor inside a read-only
+ * transaction. Summaries are not managed entities, so nothing accumulates in the persistence
+ * context and memory use does not depend on the number of rows.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ListingExportServiceImpl implements ListingExportService {
+    private final ClientRepository clientRepository;
+    private final BankingAccountRepository bankingAccountRepository;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+
+    /**
+     * Writes every client with a status, in ID order, as one JSON line.
+     *
+     * @param status       The status of the clients to export.
+     * @param outputStream The stream to write to. It is flushed but not closed.
+     * @return The number of exported clients.
+     */
+    @Override
+    public long exportClients(UserStatus status, OutputStream outputStream) throws IOException {
+        long exported = ndjsonStreamWriter.write(() -> clientRepository.streamSummariesByUserStatus(status), outputStream);
+        log.info("Exported {} clients with status {}.", exported, status);
+        return exported;
+    }
+
+    /**
+     * Writes every banking account with a status, in ID order, as one JSON line.
+     *
+     * @param status       The status of the accounts to export.
+     * @param outputStream The stream to write to. It is flushed but not closed.
+     * @return The number of exported accounts.
+     */
+    @Override
+    public long exportBankingAccounts(BankingAccountStatus status, OutputStream outputStream) throws IOException {
+        long exported = ndjsonStreamWriter.write(() -> bankingAccountRepository.streamSummariesByBankingAccountStatus(status), outputStream);
+        log.info("Exported {} accounts with status {}.", exported, status);
+        return exported;
+    }
+}
@@ -21,8 +21,11 @@ import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.exceptions.ResourceNotFoundException;
+import com.jfecm.bankaccountmanagement.service.AccountLedgerService;
 import com.jfecm.bankaccountmanagement.service.PdfService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
@@ -30,8 +33,11 @@ import java.io.IOException;
 import java.util.List;
 
 
+@RequiredArgsConstructor
 @Service
 public class PdfServiceImpl implements PdfService {
+    private final AccountLedgerService accountLedgerService;
+
     @Override
     public byte[] generateAccountTransactionsPdf(Client client) {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
@@ -186,7 +192,7 @@ public class PdfServiceImpl implements PdfService {
         accountDetails.add("\n");
 
         accountDetails.add(new Text("Balance: $").setFontColor(ColorConstants.DARK_GRAY).setBold());
-        accountDetails.add(new Text(client.getBankingAccount().getBalance().toString()).setFontColor(ColorConstants.BLACK));
+        accountDetails.add(new Text(Money.ofMinor(accountLedgerService.getBalance(client.getBankingAccount())).toString()).setFontColor(ColorConstants.BLACK));
         accountDetails.add("\n");
 
         document.add(accountDetails);
@@ -207,7 +213,7 @@ public class PdfServiceImpl implements PdfService {
         } else {
             int numTransactionsToShow = Math.min(transactions.size(), 20);
 
-            Table table = new Table(4);
+            Table table = new Table(5);
             table.setWidth(500);
             table.setTextAlignment(TextAlignment.CENTER);
 
@@ -215,6 +221,7 @@ public class PdfServiceImpl implements PdfService {
             table.addHeaderCell("Date");
             table.addHeaderCell("Time");
             table.addHeaderCell("Amount");
+            table.addHeaderCell("Balance");
 
             for (int i = 0; i < numTransactionsToShow; i++) {
                 AccountTransaction transaction = transactions.get(i);
@@ -228,6 +235,8 @@ public class PdfServiceImpl implements PdfService {
                 table.addCell(transaction.getDateOfExecution().toString());
                 table.addCell(transaction.getTimeOfExecution().toString());
                 table.addCell("$ " + transaction.getAmount().toString());
+                // Transactions recorded before the running balance was persisted have none.
+                table.addCell(transaction.getBalanceAfter() == null ? "-" : "$ " + transaction.getBalanceAfter().toString());
             }
 
             document.add(table);
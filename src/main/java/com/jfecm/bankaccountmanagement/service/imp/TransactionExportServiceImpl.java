@@ -0,0 +1,61 @@
+package com.jfecm.bankaccountmanagement.service.imp;
+
+import com.jfecm.bankaccountmanagement.cache.AccountMetadata;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadataCache;
+import com.jfecm.bankaccountmanagement.exceptions.ResourceNotFoundException;
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import com.jfecm.bankaccountmanagement.service.TransactionExportService;
+import com.jfecm.bankaccountmanagement.util.NdjsonStreamWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exports the full transaction history of an account as NDJSON (one JSON object per line).
+ *
+ * <p>Rows are read through a forward-only JDBC cursor inside a read-only transaction and every
+ * entity is detached from the persistence context once written, so memory use does not depend on
+ * the number of transactions of the account.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class TransactionExportServiceImpl implements TransactionExportService {
+    private final AccountMetadataCache accountMetadataCache;
+    private final AccountTransactionRepository accountTransactionRepository;
+    private final EntityManager entityManager;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+
+    /**
+     * Resolves the ID of an account before the export starts, so that an unknown account is reported
+     * before the response is committed.
+     *
+     * @param accountNumber The account number.
+     * @return The ID of the banking account.
+     */
+    @Override
+    public Long getAccountId(String accountNumber) {
+        return accountMetadataCache.get(accountNumber)
+                .map(AccountMetadata::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with account number: " + accountNumber));
+    }
+
+    /**
+     * Writes every transaction of an account, oldest first, as one JSON line.
+     *
+     * @param accountId    The ID of the banking account.
+     * @param outputStream The stream to write to. It is flushed but not closed.
+     * @return The number of exported transactions.
+     */
+    @Override
+    public long exportTransactions(Long accountId, OutputStream outputStream) throws IOException {
+        long exported = ndjsonStreamWriter.write(() -> accountTransactionRepository.streamByBankingAccountId(accountId),
+                outputStream, entityManager::detach);
+        log.info("Exported {} transactions of account {}.", exported, accountId);
+        return exported;
+    }
+}
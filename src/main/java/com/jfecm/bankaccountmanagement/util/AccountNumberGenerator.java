@@ -0,0 +1,60 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates account numbers from blocks reserved on the {@code account_numbers_seq} database sequence.
+ *
+ * <p>Each sequence call reserves {@value #BLOCK_SIZE} consecutive bodies, which are then handed out
+ * with a single atomic increment, so numbers are unique across nodes and only one caller per block
+ * goes to the database. {@link #BLOCK_SIZE} must match the {@code INCREMENT BY} of the sequence.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class AccountNumberGenerator {
+    public static final int BLOCK_SIZE = 1000;
+
+    private final BankingAccountRepository bankingAccountRepository;
+    private volatile Block block = new Block(0, 0);
+
+    /**
+     * @return A new account number, see {@link AccountNumbers}.
+     */
+    public String next() {
+        while (true) {
+            Block current = block;
+            long body = current.next.getAndIncrement();
+            if (body < current.end) {
+                return AccountNumbers.format(body);
+            }
+            reserveBlock(current);
+        }
+    }
+
+    private synchronized void reserveBlock(Block exhausted) {
+        if (block != exhausted) {
+            // Another caller already reserved a new block.
+            return;
+        }
+
+        long start = bankingAccountRepository.nextAccountNumberBlock();
+        block = new Block(start, start + BLOCK_SIZE);
+        log.debug("Reserved account number block [{}, {})", start, start + BLOCK_SIZE);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
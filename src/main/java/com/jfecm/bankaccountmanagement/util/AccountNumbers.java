@@ -0,0 +1,105 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.jfecm.bankaccountmanagement.exceptions.InvalidAccountNumberException;
+
+/**
+ * Account number format: a 15-digit body followed by a Luhn check digit.
+ *
+ * <p>Numbers in this format are also stored as a {@code BIGINT} account key, which is what lookups
+ * use. Any other string is treated as a legacy account number (32-char hex UUID) and is looked up by
+ * the {@code account_number} column, so accounts opened before this format keep working.
+ */
+public final class AccountNumbers {
+    public static final int LENGTH = 16;
+    public static final long MAX_BODY = 999_999_999_999_999L;
+
+    private AccountNumbers() {
+    }
+
+    /**
+     * @param body The body of the account number, between 1 and {@value #MAX_BODY}.
+     * @return The 16-digit account number, zero-padded and ending with its check digit.
+     */
+    public static String format(long body) {
+        if (body <= 0 || body > MAX_BODY) {
+            throw new IllegalArgumentException("The account number body must be between 1 and " + MAX_BODY + ".");
+        }
+
+        char[] digits = new char[LENGTH];
+        int sum = 0;
+        long rest = body;
+        // The rightmost digit of the body sits next to the check digit, so it is the first one doubled.
+        for (int i = LENGTH - 2, position = 0; i >= 0; i--, position++) {
+            int digit = (int) (rest % 10);
+            rest /= 10;
+            digits[i] = (char) ('0' + digit);
+            sum += position % 2 == 0 ? doubled(digit) : digit;
+        }
+        digits[LENGTH - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(digits);
+    }
+
+    /**
+     * @param accountNumber An account number.
+     * @return Whether the account number has the current 16-digit shape, whatever its check digit.
+     */
+    public static boolean isCurrentFormat(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param accountNumber An account number.
+     * @return Whether the account number has the current format and a matching check digit.
+     */
+    public static boolean isValid(String accountNumber) {
+        if (!isCurrentFormat(accountNumber)) {
+            return false;
+        }
+
+        int sum = 0;
+        for (int i = LENGTH - 1, position = 0; i >= 0; i--, position++) {
+            int digit = accountNumber.charAt(i) - '0';
+            sum += position % 2 == 1 ? doubled(digit) : digit;
+        }
+        return sum % 10 == 0;
+    }
+
+    /**
+     * Returns the account key used to look an account up, rejecting mistyped numbers without a query.
+     *
+     * @param accountNumber An account number.
+     * @return The account key, or {@code null} for a legacy account number.
+     * @throws InvalidAccountNumberException if the account number has the current format but a wrong check digit.
+     */
+    public static Long toKey(String accountNumber) {
+        if (!isCurrentFormat(accountNumber)) {
+            return null;
+        }
+        if (!isValid(accountNumber)) {
+            throw new InvalidAccountNumberException("Invalid account number: " + accountNumber);
+        }
+        return Long.parseLong(accountNumber);
+    }
+
+    /**
+     * @param accountNumber An account number.
+     * @throws InvalidAccountNumberException if the account number has the current format but a wrong check digit.
+     */
+    public static void validate(String accountNumber) {
+        toKey(accountNumber);
+    }
+
+    private static int doubled(int digit) {
+        int doubled = digit * 2;
+        return doubled > 9 ? doubled - 9 : doubled;
+    }
+}
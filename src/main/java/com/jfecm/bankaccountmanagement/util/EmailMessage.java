@@ -0,0 +1,18 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable email to be sent through {@link com.jfecm.bankaccountmanagement.service.EmailService#sendBatch}.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class EmailMessage {
+    private final String receiver;
+    private final String subject;
+    @ToString.Exclude
+    private final String body;
+}
@@ -0,0 +1,183 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * HTML email template with {@code {{name}}} placeholders, parsed once into an array of literal segments
+ * and an array of variable slots.
+ *
+ * <p>Rendering only appends the literal segments and the HTML-escaped values, in order, into a
+ * {@link StringBuilder} reused by the calling thread, so no intermediate strings are built and the
+ * template source is never scanned again.
+ */
+public final class EmailTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    /**
+     * Larger buffers are not kept by the thread after rendering, so that one huge email does not pin memory.
+     */
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final List<String> variables;
+    /**
+     * Literal text around the placeholders: {@code segments[i]} comes before the i-th placeholder.
+     */
+    private final String[] segments;
+    /**
+     * Index in {@link #variables} of the value of each placeholder.
+     */
+    private final int[] slots;
+    private final int literalLength;
+
+    private EmailTemplate(String name, List<String> variables, String[] segments, int[] slots) {
+        this.name = name;
+        this.variables = variables;
+        this.segments = segments;
+        this.slots = slots;
+        this.literalLength = Arrays.stream(segments).mapToInt(String::length).sum();
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param name      The name of the template, for error messages.
+     * @param source    The HTML source of the template.
+     * @param variables The names of the variables, in the order their values are passed to {@link #render}.
+     * @return The parsed template.
+     * @throws IllegalArgumentException If a placeholder is not closed or names an undeclared variable.
+     */
+    public static EmailTemplate compile(String name, String source, String... variables) {
+        List<String> declared = List.of(variables);
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template " + name + " at offset " + open + ".");
+            }
+
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            int slot = declared.indexOf(variable);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown variable '" + variable + "' in template " + name + ".");
+            }
+
+            segments.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        segments.add(source.substring(position));
+
+        return new EmailTemplate(name, declared, segments.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Loads and parses a UTF-8 template from the classpath.
+     *
+     * @param path      The classpath location of the template.
+     * @param variables The names of the variables, in the order their values are passed to {@link #render}.
+     * @return The parsed template.
+     */
+    public static EmailTemplate load(String path, String... variables) {
+        try (InputStream in = EmailTemplate.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Email template " + path + " not found.");
+            }
+            return compile(path, new String(in.readAllBytes(), StandardCharsets.UTF_8), variables);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Email template " + path + " could not be read.", e);
+        }
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values The values of the variables, in declaration order. {@code null} values render as nothing.
+     * @return The HTML document.
+     */
+    public String render(String... values) {
+        StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
+        renderTo(buffer, values);
+        String html = buffer.toString();
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            BUFFERS.remove();
+        }
+        return html;
+    }
+
+    /**
+     * Renders the template at the end of a buffer.
+     *
+     * @param buffer The buffer to append to.
+     * @param values The values of the variables, in declaration order. {@code null} values render as nothing.
+     */
+    public void renderTo(StringBuilder buffer, String... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Template " + name + " expects " + variables.size() + " values " + variables + ", got " + values.length + ".");
+        }
+
+        buffer.ensureCapacity(buffer.length() + literalLength + 32 * slots.length);
+        buffer.append(segments[0]);
+        for (int i = 0; i < slots.length; i++) {
+            escapeHtml(values[slots[i]], buffer);
+            buffer.append(segments[i + 1]);
+        }
+    }
+
+    /**
+     * Appends a value with the HTML special characters escaped, so that it can be placed in element
+     * content or in a quoted attribute.
+     *
+     * @param value  The value to escape, or {@code null}.
+     * @param buffer The buffer to append to.
+     */
+    static void escapeHtml(String value, StringBuilder buffer) {
+        if (value == null) {
+            return;
+        }
+
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement;
+            switch (value.charAt(i)) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\'':
+                    replacement = "&#39;";
+                    break;
+                default:
+                    continue;
+            }
+            // Appends the run of characters that need no escaping in one call.
+            buffer.append(value, start, i).append(replacement);
+            start = i + 1;
+        }
+        buffer.append(value, start, value.length());
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams database rows as NDJSON (one JSON object per line).
+ *
+ * <p>The rows are opened and read inside a read-only transaction, so repository methods returning a
+ * {@link Stream} can keep a forward-only JDBC cursor open. Output is flushed every
+ * {@value #FLUSH_INTERVAL} rows instead of after every value.
+ */
+@Component
+public class NdjsonStreamWriter {
+    public static final int FLUSH_INTERVAL = 1000;
+
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NdjsonStreamWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes every row as one JSON line.
+     *
+     * @param rows         Opens the stream of rows. Called inside the transaction; the stream is closed once written.
+     * @param outputStream The stream to write to. It is flushed but not closed.
+     * @return The number of written rows.
+     */
+    public long write(Supplier<? extends Stream<?>> rows, OutputStream outputStream) throws IOException {
+        return write(rows, outputStream, row -> { });
+    }
+
+    /**
+     * Writes every row as one JSON line, calling {@code afterWrite} with each row once it is written,
+     * e.g. to detach an entity from the persistence context.
+     *
+     * @param rows         Opens the stream of rows. Called inside the transaction; the stream is closed once written.
+     * @param outputStream The stream to write to. It is flushed but not closed.
+     * @param afterWrite   Called with each row after it is written.
+     * @return The number of written rows.
+     */
+    public <T> long write(Supplier<? extends Stream<? extends T>> rows, OutputStream outputStream, Consumer<? super T> afterWrite) throws IOException {
+        try {
+            Long written = readOnlyTransaction.execute(status -> writeRows(rows, outputStream, afterWrite));
+            return written == null ? 0L : written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> long writeRows(Supplier<? extends Stream<? extends T>> rows, OutputStream outputStream, Consumer<? super T> afterWrite) {
+        long written = 0;
+        try (Stream<? extends T> stream = rows.get();
+             JsonGenerator generator = objectWriter.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<? extends T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                objectWriter.writeValue(generator, row);
+                generator.writeRaw('\n');
+                afterWrite.accept(row);
+
+                if (++written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+}
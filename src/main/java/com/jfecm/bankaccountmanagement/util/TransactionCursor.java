@@ -0,0 +1,56 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidPageRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of a transaction in the history ordering (date, time, id), exchanged with clients as an
+ * opaque URL-safe token so that the next page can be read with a keyset query.
+ */
+@Getter
+public final class TransactionCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate date;
+    private final LocalTime time;
+    private final Long id;
+
+    private TransactionCursor(LocalDate date, LocalTime time, Long id) {
+        this.date = date;
+        this.time = time;
+        this.id = id;
+    }
+
+    /**
+     * @param transaction The last transaction of a page.
+     * @return The token pointing right after the transaction.
+     */
+    public static String encode(AccountTransaction transaction) {
+        String position = transaction.getDateOfExecution() + SEPARATOR + transaction.getTimeOfExecution() + SEPARATOR + transaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token A token returned by {@link #encode(AccountTransaction)}.
+     * @return The decoded cursor.
+     * @throws InvalidPageRequestException if the token is malformed.
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected number of cursor parts.");
+            }
+            return new TransactionCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the pooled-lo sequences of the client, account and transaction ids. Each sequence starts
+ * after the highest id already in its table, which a plain SQL migration cannot read into
+ * {@code START WITH} on MariaDB. The increment must match {@code PooledLoSequenceGenerator.ALLOCATION_SIZE}.
+ *
+ * <p>The AUTO_INCREMENT of the baseline id columns is left in place; inserts now always carry their id.
+ */
+public class V1_1__Pooled_sequence_ids extends BaseJavaMigration {
+    private static final int INCREMENT = 50;
+    private static final String[] TABLES = {"clients", "banking_accounts", "account_transactions"};
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long start;
+                try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    resultSet.next();
+                    start = resultSet.getLong(1);
+                }
+                statement.execute("CREATE SEQUENCE " + table + "_seq START WITH " + start + " INCREMENT BY " + INCREMENT);
+            }
+        }
+    }
+}
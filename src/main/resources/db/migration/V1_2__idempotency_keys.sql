@@ -0,0 +1,11 @@
+-- Results of the mutations executed with an Idempotency-Key. A key is inserted first in the transaction
+-- of the mutation it guards, so a repeated key fails before any balance changes; the transaction it
+-- points to is only known after the mutation.
+
+CREATE TABLE idempotency_keys
+(
+    idempotency_key VARCHAR(320) NOT NULL,
+    transaction_id  BIGINT,
+    created_at      DATETIME(6)  NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
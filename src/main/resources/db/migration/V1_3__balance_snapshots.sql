@@ -0,0 +1,25 @@
+-- Direction of every movement, which the event-sourced ledger sums, and its periodic balance snapshots.
+-- Recharges are always credits and withdrawals always debits. Both legs of a legacy transfer have the
+-- same type, so their direction cannot be told and stays NULL (AccountTransactionRepository.sumSignedAmounts
+-- refuses to sum them).
+
+ALTER TABLE account_transactions ADD COLUMN direction VARCHAR(255);
+
+UPDATE account_transactions SET direction = 'CREDIT' WHERE account_transaction_type = 'RECHARGE';
+UPDATE account_transactions SET direction = 'DEBIT' WHERE account_transaction_type = 'WITHDRAWAL';
+
+CREATE INDEX idx_account_transactions_account_id ON account_transactions (banking_account_id, id);
+
+CREATE SEQUENCE balance_snapshots_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE balance_snapshots
+(
+    id                  BIGINT      NOT NULL,
+    banking_account_id  BIGINT      NOT NULL,
+    last_transaction_id BIGINT      NOT NULL,
+    balance             DOUBLE      NOT NULL,
+    created_at          DATETIME(6) NOT NULL,
+    CONSTRAINT pk_balance_snapshots PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_balance_snapshots_account_transaction ON balance_snapshots (banking_account_id, last_transaction_id);
@@ -0,0 +1,11 @@
+-- Money columns hold minor units (cents) instead of floating-point major units.
+
+UPDATE banking_accounts SET balance = ROUND(balance * 100), withdrawal_limit = ROUND(withdrawal_limit * 100);
+ALTER TABLE banking_accounts MODIFY balance BIGINT;
+ALTER TABLE banking_accounts MODIFY withdrawal_limit BIGINT;
+
+UPDATE account_transactions SET amount = ROUND(amount * 100);
+ALTER TABLE account_transactions MODIFY amount BIGINT;
+
+UPDATE balance_snapshots SET balance = ROUND(balance * 100);
+ALTER TABLE balance_snapshots MODIFY balance BIGINT NOT NULL;
@@ -0,0 +1,5 @@
+-- Indexes for the transaction filters and the keyset-paginated history. The history index also serves
+-- (banking_account_id, date_of_execution) ranges through its leading columns.
+
+CREATE INDEX idx_account_transactions_account_date_time ON account_transactions (banking_account_id, date_of_execution, time_of_execution);
+CREATE INDEX idx_account_transactions_account_type_date ON account_transactions (banking_account_id, account_transaction_type, date_of_execution);
@@ -0,0 +1,45 @@
+-- Baseline of the schema previously generated by Hibernate (ddl-auto=create-drop), before any migration.
+-- Existing databases with this schema are baselined at version 1 and upgraded by the following migrations.
+
+CREATE TABLE clients
+(
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    dni            VARCHAR(255),
+    name           VARCHAR(255),
+    email          VARCHAR(255),
+    password       VARCHAR(255),
+    address        VARCHAR(255),
+    user_status    VARCHAR(255),
+    main_client_id BIGINT,
+    CONSTRAINT pk_clients PRIMARY KEY (id),
+    CONSTRAINT uk_clients_email UNIQUE (email),
+    CONSTRAINT fk_clients_main_client FOREIGN KEY (main_client_id) REFERENCES clients (id)
+);
+
+CREATE TABLE banking_accounts
+(
+    id                     BIGINT NOT NULL AUTO_INCREMENT,
+    account_number         VARCHAR(255),
+    balance                DOUBLE,
+    withdrawal_limit       DOUBLE,
+    account_opened_date    DATE,
+    account_closing_date   DATE,
+    client_id              BIGINT,
+    banking_account_status VARCHAR(255),
+    CONSTRAINT pk_banking_accounts PRIMARY KEY (id),
+    CONSTRAINT uk_banking_accounts_account_number UNIQUE (account_number),
+    CONSTRAINT uk_banking_accounts_client UNIQUE (client_id),
+    CONSTRAINT fk_banking_accounts_client FOREIGN KEY (client_id) REFERENCES clients (id)
+);
+
+CREATE TABLE account_transactions
+(
+    id                       BIGINT NOT NULL AUTO_INCREMENT,
+    account_transaction_type VARCHAR(255),
+    date_of_execution        DATE,
+    time_of_execution        TIME,
+    amount                   DOUBLE,
+    banking_account_id       BIGINT,
+    CONSTRAINT pk_account_transactions PRIMARY KEY (id),
+    CONSTRAINT fk_account_transactions_banking_account FOREIGN KEY (banking_account_id) REFERENCES banking_accounts (id)
+);
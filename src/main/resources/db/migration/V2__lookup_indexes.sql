@@ -0,0 +1,8 @@
+-- Indexes for the client and account lookups that used to scan the whole table.
+-- account_transactions (banking_account_id, date_of_execution) is already served by the
+-- leading columns of idx_account_transactions_account_date_time.
+
+CREATE INDEX idx_clients_dni ON clients (dni);
+CREATE INDEX idx_clients_user_status ON clients (user_status);
+CREATE INDEX idx_clients_main_client_id ON clients (main_client_id);
+CREATE INDEX idx_banking_accounts_status ON banking_accounts (banking_account_status);
@@ -0,0 +1,8 @@
+-- Balance after each movement and per-account sequence number, written together with the movement.
+-- Rows recorded before this migration keep both columns empty.
+
+ALTER TABLE account_transactions ADD COLUMN balance_after BIGINT;
+ALTER TABLE account_transactions ADD COLUMN sequence_number BIGINT;
+
+ALTER TABLE account_transactions
+    ADD CONSTRAINT uk_account_transactions_account_sequence UNIQUE (banking_account_id, sequence_number);
@@ -0,0 +1,23 @@
+-- Daily rollup of the transactions of each account, maintained together with every movement.
+-- The primary key starts with (banking_account_id, summary_date), so range statistics read one row per day.
+
+CREATE TABLE account_daily_summaries
+(
+    banking_account_id       BIGINT       NOT NULL,
+    summary_date             DATE         NOT NULL,
+    account_transaction_type VARCHAR(255) NOT NULL,
+    direction                VARCHAR(255) NOT NULL,
+    transaction_count        BIGINT       NOT NULL,
+    total_amount             BIGINT       NOT NULL,
+    CONSTRAINT pk_account_daily_summaries PRIMARY KEY (banking_account_id, summary_date, account_transaction_type, direction),
+    CONSTRAINT fk_account_daily_summaries_banking_account FOREIGN KEY (banking_account_id) REFERENCES banking_accounts (id)
+);
+
+INSERT INTO account_daily_summaries (banking_account_id, summary_date, account_transaction_type, direction, transaction_count, total_amount)
+SELECT banking_account_id, date_of_execution, account_transaction_type, direction, COUNT(*), SUM(amount)
+FROM account_transactions
+WHERE banking_account_id IS NOT NULL
+  AND date_of_execution IS NOT NULL
+  AND account_transaction_type IS NOT NULL
+  AND direction IS NOT NULL
+GROUP BY banking_account_id, date_of_execution, account_transaction_type, direction;
@@ -0,0 +1,9 @@
+-- New account numbers are 16 digits: a 15-digit body reserved in blocks from account_numbers_seq
+-- plus a Luhn check digit. They are also stored as a BIGINT key with a narrow unique index, which
+-- lookups use; legacy 32-char hex numbers keep a NULL key and are looked up by account_number.
+-- The increment must match AccountNumberGenerator.BLOCK_SIZE.
+
+CREATE SEQUENCE account_numbers_seq START WITH 1 INCREMENT BY 1000;
+
+ALTER TABLE banking_accounts ADD COLUMN account_key BIGINT;
+ALTER TABLE banking_accounts ADD CONSTRAINT uk_banking_accounts_account_key UNIQUE (account_key);
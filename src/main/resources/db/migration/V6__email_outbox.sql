@@ -0,0 +1,21 @@
+-- Outbox of the emails to send, written in the same transaction as the client that triggers them
+-- and delivered by EmailOutboxServiceImpl with retries and exponential backoff.
+
+CREATE SEQUENCE email_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE email_outbox
+(
+    id              BIGINT        NOT NULL,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            LONGTEXT      NOT NULL,
+    status          VARCHAR(255)  NOT NULL,
+    attempts        INT           NOT NULL,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    sent_at         DATETIME(6),
+    last_error      VARCHAR(1000),
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
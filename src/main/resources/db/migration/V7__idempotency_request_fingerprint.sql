@@ -0,0 +1,6 @@
+-- Operation and SHA-256 fingerprint of the request that recorded each Idempotency-Key, so that a key
+-- reused for a different request is rejected instead of replaying an unrelated result.
+-- Keys recorded before this migration keep both columns empty and are replayed without the check.
+
+ALTER TABLE idempotency_keys ADD COLUMN operation VARCHAR(255);
+ALTER TABLE idempotency_keys ADD COLUMN request_fingerprint VARCHAR(64);
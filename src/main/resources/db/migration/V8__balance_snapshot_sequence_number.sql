@@ -0,0 +1,26 @@
+-- Balance snapshots are bounded by the per-account sequence number instead of the transaction id.
+-- Pooled ids are not taken in commit order, so a transaction committed after a snapshot could carry
+-- a lower id than its bound and be left out of the balance.
+-- A snapshot covers the numbered transactions up to its bound plus every unnumbered (older) one.
+-- Existing snapshots take the highest sequence number they covered, and the ones that missed a
+-- transaction below that bound are dropped, as their balance cannot be trusted.
+
+ALTER TABLE balance_snapshots ADD COLUMN last_sequence_number BIGINT;
+
+UPDATE balance_snapshots
+SET last_sequence_number = COALESCE((SELECT MAX(t.sequence_number) FROM account_transactions t
+                                     WHERE t.banking_account_id = balance_snapshots.banking_account_id
+                                       AND t.id <= balance_snapshots.last_transaction_id), 0);
+
+DELETE FROM balance_snapshots
+WHERE EXISTS (SELECT 1 FROM account_transactions t
+              WHERE t.banking_account_id = balance_snapshots.banking_account_id
+                AND t.id > balance_snapshots.last_transaction_id
+                AND (t.sequence_number IS NULL OR t.sequence_number <= balance_snapshots.last_sequence_number));
+
+ALTER TABLE balance_snapshots MODIFY last_sequence_number BIGINT NOT NULL;
+
+DROP INDEX idx_balance_snapshots_account_transaction ON balance_snapshots;
+ALTER TABLE balance_snapshots DROP COLUMN last_transaction_id;
+
+CREATE INDEX idx_balance_snapshots_account_sequence ON balance_snapshots (banking_account_id, last_sequence_number);
@@ -0,0 +1,6 @@
+-- The body of an outbox message is only needed until it is delivered or given up on, and the welcome
+-- email carries the initial password, so the body is cleared once a message is SENT or FAILED.
+
+ALTER TABLE email_outbox MODIFY body LONGTEXT NULL;
+
+UPDATE email_outbox SET body = NULL WHERE status IN ('SENT', 'FAILED');
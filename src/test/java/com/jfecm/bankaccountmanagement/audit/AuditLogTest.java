@@ -0,0 +1,87 @@
+package com.jfecm.bankaccountmanagement.audit;
+
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.exceptions.InsufficientFundsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditLog Tests")
+class AuditLogTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Given audited operations, when shutting down the audit log, then write one JSON line per event in order")
+    void givenAuditedOperations_whenShutdown_thenWriteOneLinePerEvent() throws Exception {
+        Path file = directory.resolve("audit.log");
+        AuditLog auditLog = new AuditLog(true, file.toString(), 16, DataSize.ofMegabytes(1), 2);
+
+        String result = auditLog.audit(AuditOperation.TRANSFER, "123", "456", Money.ofMinor(15025), () -> "done");
+        assertThrows(InsufficientFundsException.class, () -> auditLog.audit(AuditOperation.WITHDRAWAL, "123", null, Money.ofMajor(10), () -> {
+            throw new InsufficientFundsException("Insufficient funds.");
+        }));
+        auditLog.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("done", result);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"sequence\":0,"), lines.get(0));
+        assertTrue(lines.get(0).contains("\"operation\":\"TRANSFER\",\"accountNumber\":\"123\",\"counterpartyAccountNumber\":\"456\",\"amount\":\"150.25\",\"outcome\":\"SUCCESS\""), lines.get(0));
+        assertTrue(lines.get(1).contains("\"operation\":\"WITHDRAWAL\",\"accountNumber\":\"123\",\"amount\":\"10.00\",\"outcome\":\"REJECTED\""), lines.get(1));
+        assertEquals(2, auditLog.getStats().getWritten());
+    }
+
+    @Test
+    @DisplayName("Given more events than the buffer size, when recording them, then write them all once the writer catches up")
+    void givenMoreEventsThanBufferSize_whenRecord_thenWriteOrDropEveryEvent() throws Exception {
+        Path file = directory.resolve("audit.log");
+        AuditLog auditLog = new AuditLog(true, file.toString(), 4, DataSize.ofMegabytes(1), 2);
+
+        for (int i = 0; i < 1000; i++) {
+            auditLog.record(AuditOperation.RECHARGE, String.valueOf(i), null, Money.ofMajor(1), AuditOutcome.SUCCESS, System.nanoTime());
+        }
+        auditLog.shutdown();
+
+        long written = auditLog.getStats().getWritten();
+        assertEquals(1000, written + auditLog.getStats().getDropped());
+        assertEquals(written, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("Given a stopped audit log, when recording an event, then drop it")
+    void givenStoppedAuditLog_whenRecord_thenDropEvent() throws Exception {
+        AuditLog auditLog = new AuditLog(true, directory.resolve("audit.log").toString(), 16, DataSize.ofMegabytes(1), 2);
+        auditLog.shutdown();
+
+        auditLog.record(AuditOperation.RECHARGE, "123", null, Money.ofMajor(1), AuditOutcome.SUCCESS, System.nanoTime());
+
+        assertEquals(1, auditLog.getStats().getDropped());
+        assertEquals(0, auditLog.getStats().getWritten());
+    }
+
+    @Test
+    @DisplayName("Given a file over its maximum size, when appending a line, then roll the file over and keep the configured number of files")
+    void givenFileOverMaxSize_whenAppend_thenRollOver() throws IOException {
+        Path file = directory.resolve("audit.log");
+
+        try (RollingAuditFile rollingFile = new RollingAuditFile(file, 10, 2)) {
+            for (int i = 0; i < 4; i++) {
+                rollingFile.append("event-" + i);
+            }
+        }
+
+        assertEquals(List.of("event-3"), Files.readAllLines(file));
+        assertEquals(List.of("event-2"), Files.readAllLines(directory.resolve("audit.log.1")));
+        assertEquals(List.of("event-1"), Files.readAllLines(directory.resolve("audit.log.2")));
+        assertFalse(Files.exists(directory.resolve("audit.log.3")));
+    }
+}
@@ -0,0 +1,85 @@
+package com.jfecm.bankaccountmanagement.benchmark;
+
+import com.jfecm.bankaccountmanagement.concurrency.AccountLockManager;
+import com.jfecm.bankaccountmanagement.concurrency.AccountMutationExecutor;
+import com.jfecm.bankaccountmanagement.concurrency.LockingAccountMutationExecutor;
+import com.jfecm.bankaccountmanagement.concurrency.ShardedAccountMutationExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lock-based and the sharded single-writer account mutation executors with in-memory
+ * balances. {@code accounts} controls how hot the workload is: few accounts means heavy contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AccountMutationBenchmark {
+
+    @Param({"locking", "sharded"})
+    public String mode;
+
+    @Param({"4", "10000"})
+    public int accounts;
+
+    private AccountMutationExecutor executor;
+    private String[] accountNumbers;
+    private long[] balances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransactionOperations noTransaction = TransactionOperations.withoutTransaction();
+        executor = "sharded".equals(mode)
+                ? new ShardedAccountMutationExecutor(Runtime.getRuntime().availableProcessors(), noTransaction)
+                : new LockingAccountMutationExecutor(new AccountLockManager(64), noTransaction);
+
+        accountNumbers = new String[accounts];
+        balances = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers[i] = "account-" + i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof ShardedAccountMutationExecutor) {
+            ((ShardedAccountMutationExecutor) executor).shutdown();
+        }
+    }
+
+    @Benchmark
+    public long recharge() {
+        int account = ThreadLocalRandom.current().nextInt(accounts);
+        return executor.execute(List.of(accountNumbers[account]), () -> balances[account] += 100);
+    }
+
+    @Benchmark
+    public long transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accounts);
+        int destination = (source + 1 + random.nextInt(accounts - 1)) % accounts;
+        return executor.execute(List.of(accountNumbers[source], accountNumbers[destination]), () -> {
+            balances[source] -= 100;
+            return balances[destination] += 100;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AccountMutationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
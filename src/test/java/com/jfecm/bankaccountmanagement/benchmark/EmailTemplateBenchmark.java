@@ -0,0 +1,94 @@
+package com.jfecm.bankaccountmanagement.benchmark;
+
+import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
+import com.jfecm.bankaccountmanagement.util.Email;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost per message of the welcome email built by string concatenation (the previous
+ * implementation, values not escaped) with the precompiled template rendered into a reused buffer.
+ * Run with {@code -prof gc} to compare the allocation rate of both paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+    private static final int CLIENTS = 64;
+
+    private RequestCreateClient[] clients;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        clients = new RequestCreateClient[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = RequestCreateClient.builder()
+                    .email("client" + i + "@example.com")
+                    .password("Pa$$word&" + i)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public String concatenation() {
+        return concatenatedWelcomeMessage(nextClient());
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return Email.welcomeMessage(nextClient());
+    }
+
+    private RequestCreateClient nextClient() {
+        RequestCreateClient client = clients[next];
+        next = (next + 1) & (CLIENTS - 1);
+        return client;
+    }
+
+    private static String concatenatedWelcomeMessage(RequestCreateClient client) {
+        return
+                "<html>\n" +
+                        "<head>\n" +
+                        "    <meta name=\"viewport\" content=\"user-scalable=no, width=device-width, initial-scale=1\">\n" +
+                        "</head>\n" +
+                        "<body style=\"font-family: 'Franklin Gothic Medium', 'Arial Narrow', Arial, sans-serif;\">\n" +
+                        "    <div style=\"background: rgba(236, 158, 49, 0.282); margin: auto;\">\n" +
+                        "        <center>\n" +
+                        "            <img src='https://www.vhv.rs/dpng/d/438-4383567_bank-png-free-pic-transparent-bank-logo-png.png' width='25%'>\n" +
+                        "        </center>\n" +
+                        "        <center>\n" +
+                        "            <h1 style=\"color: #e0500e;\">WELCOME TO OUR BANK</h1>\n" +
+                        "            <div>\n" +
+                        "                <br>This email has been sent from <b>NAME_BANK</b>.<br>\n" +
+                        "                We welcome you to your account.<br><br>\n" +
+                        "                We provide you with your User and Password so that you can access our network.<br><br>\n" +
+                        "                <u>Client Details:</u><br><br>\n" +
+                        "                <table border=\"1\" style='font-size:14px; border-collapse: collapse; text-align: center; border-color:#252850;'>\n" +
+                        "                    <tr><td><b>User:</b></td><td>" + client.getEmail() + "</td></tr>\n" +
+                        "                    <tr><td><b>Password:</b></td><td>" + client.getPassword() + "</td></tr>\n" +
+                        "                </table><br>\n" +
+                        "                In case of any inconvenience, please do not hesitate to contact us at <b>jfecm.dev@gmail.com</b>.<br><br>\n" +
+                        "                <b><strong>Thank you for choosing us.</strong></b><br><br>\n" +
+                        "            </div>\n" +
+                        "        </center>\n" +
+                        "    </div>\n" +
+                        "</body>\n" +
+                        "</html>";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
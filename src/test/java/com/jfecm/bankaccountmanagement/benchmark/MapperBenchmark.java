@@ -0,0 +1,102 @@
+package com.jfecm.bankaccountmanagement.benchmark;
+
+import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
+import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
+import com.jfecm.bankaccountmanagement.entity.Client;
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.mapper.ClientMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the explicit mappers of the {@code mapper} package with the reflective ModelMapper calls
+ * they replaced, configured as the application used to configure it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final int CLIENTS = 1_000;
+
+    private ModelMapper modelMapper;
+    private RequestCreateClient[] createRequests;
+    private RequestUpdateClient updateRequest;
+    private Client[] clients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.addConverter(context -> context.getSource(), Money.class, Money.class);
+
+        createRequests = new RequestCreateClient[CLIENTS];
+        clients = new Client[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            createRequests[i] = RequestCreateClient.builder()
+                    .dni(String.valueOf(10_000_000 + i))
+                    .name("name " + i)
+                    .email("client" + i + "@example.com")
+                    .password("password " + i)
+                    .address("address " + i)
+                    .userStatus(UserStatus.PENDING)
+                    .build();
+            clients[i] = ClientMapper.toEntity(createRequests[i]);
+        }
+        updateRequest = RequestUpdateClient.builder().name("new name").address("new address").build();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public Client modelMapperToEntity() {
+        Client client = null;
+        for (RequestCreateClient request : createRequests) {
+            client = new Client();
+            modelMapper.map(request, client);
+        }
+        return client;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public Client explicitToEntity() {
+        Client client = null;
+        for (RequestCreateClient request : createRequests) {
+            client = ClientMapper.toEntity(request);
+        }
+        return client;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public Client[] modelMapperUpdate() {
+        for (Client client : clients) {
+            modelMapper.map(updateRequest, client);
+        }
+        return clients;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public Client[] explicitUpdate() {
+        for (Client client : clients) {
+            ClientMapper.update(updateRequest, client);
+        }
+        return clients;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
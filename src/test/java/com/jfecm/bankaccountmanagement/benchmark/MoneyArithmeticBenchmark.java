@@ -0,0 +1,84 @@
+package com.jfecm.bankaccountmanagement.benchmark;
+
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the balance checks and updates of a withdrawal on boxed {@code Double} values (the
+ * previous entity representation) with the {@code long} minor-unit path used by the service.
+ * Run with {@code -prof gc} to compare the allocation rate of both paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+    private static final int MOVEMENTS = 1_000;
+
+    private Double doubleBalance;
+    private Double doubleWithdrawalLimit;
+    private Double[] doubleAmounts;
+
+    private Money moneyBalance;
+    private Money moneyWithdrawalLimit;
+    private Money[] moneyAmounts;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        doubleBalance = 1_000_000.0;
+        doubleWithdrawalLimit = 5_000.0;
+        moneyBalance = Money.ofMajor(1_000_000);
+        moneyWithdrawalLimit = Money.ofMajor(5_000);
+
+        doubleAmounts = new Double[MOVEMENTS];
+        moneyAmounts = new Money[MOVEMENTS];
+        for (int i = 0; i < MOVEMENTS; i++) {
+            // Cent amounts such as 0.10 have no exact binary representation.
+            doubleAmounts[i] = (i % 100 + 1) / 10.0;
+            moneyAmounts[i] = Money.ofMinor((i % 100 + 1) * 10L);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVEMENTS)
+    public Double boxedDouble() {
+        for (Double amount : doubleAmounts) {
+            if (amount > doubleWithdrawalLimit || amount > doubleBalance) {
+                throw new IllegalStateException();
+            }
+            doubleBalance = doubleBalance - amount;
+        }
+        return doubleBalance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVEMENTS)
+    public long minorUnits() {
+        long balance = moneyBalance.getMinorUnits();
+        long withdrawalLimit = moneyWithdrawalLimit.getMinorUnits();
+        for (Money amount : moneyAmounts) {
+            long minorUnits = amount.getMinorUnits();
+            if (minorUnits > withdrawalLimit || minorUnits > balance) {
+                throw new IllegalStateException();
+            }
+            balance = Math.subtractExact(balance, minorUnits);
+        }
+        moneyBalance = Money.ofMinor(balance);
+        return balance;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jfecm.bankaccountmanagement.benchmark;
+
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.Client;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.entity.money.MoneyConverter;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures persisting and flushing account transactions through the EntityManager, with their ids
+ * reserved in blocks by {@code PooledLoSequenceGenerator}. {@code jdbcBatchSize} 0 sends one INSERT
+ * per row, as with IDENTITY keys; 50 groups the inserts into JDBC batches, which the ids known
+ * before the INSERT make possible.
+ *
+ * <p>The schema is created by the Flyway migrations and validated against the entity mappings.
+ * Runs against an in-memory H2 database by default. Set {@code benchmark.jdbc.url},
+ * {@code benchmark.jdbc.username} and {@code benchmark.jdbc.password} to run it against an empty
+ * MariaDB database, where the saved round trips are much more visible.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionInsertBenchmark {
+    private static final int ROWS = 1000;
+
+    @Param({"0", "50"})
+    public int jdbcBatchSize;
+
+    private SessionFactory entityManagerFactory;
+    private Long accountId;
+    private long sequenceNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:insert_benchmark_" + jdbcBatchSize + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        String username = System.getProperty("benchmark.jdbc.username", "sa");
+        String password = System.getProperty("benchmark.jdbc.password", "");
+        Flyway.configure().dataSource(url, username, password).load().migrate();
+
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(AvailableSettings.URL, url);
+        settings.put(AvailableSettings.USER, username);
+        settings.put(AvailableSettings.PASS, password);
+        settings.put(AvailableSettings.HBM2DDL_AUTO, "validate");
+        settings.put(AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchSize);
+        settings.put(AvailableSettings.ORDER_INSERTS, true);
+        // The naming strategies of Spring Boot, so that the mappings resolve to the migrated columns.
+        settings.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName());
+        settings.put(AvailableSettings.IMPLICIT_NAMING_STRATEGY, SpringImplicitNamingStrategy.class.getName());
+
+        entityManagerFactory = new MetadataSources(new StandardServiceRegistryBuilder().applySettings(settings).build())
+                .addAnnotatedClass(Client.class)
+                .addAnnotatedClass(BankingAccount.class)
+                .addAnnotatedClass(AccountTransaction.class)
+                .addAnnotatedClass(MoneyConverter.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            BankingAccount account = BankingAccount.builder()
+                    .accountNumber("benchmark-" + System.nanoTime())
+                    .balance(Money.ZERO)
+                    .withdrawalLimit(Money.ofMajor(1000))
+                    .accountOpenedDate(LocalDate.now())
+                    .bankingAccountStatus(BankingAccountStatus.ACTIVE)
+                    .build();
+            entityManager.persist(account);
+            entityManager.getTransaction().commit();
+            accountId = account.getId();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTransactions() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.createQuery("delete from AccountTransaction t where t.bankingAccount.id = :accountId")
+                    .setParameter("accountId", accountId)
+                    .executeUpdate();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void persistAndFlush() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            BankingAccount account = entityManager.getReference(BankingAccount.class, accountId);
+
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(AccountTransaction.builder()
+                        .bankingAccount(account)
+                        .accountTransactionType(AccountTransactionType.RECHARGE)
+                        .direction(AccountTransactionDirection.CREDIT)
+                        .amount(Money.ofMinor(i + 1))
+                        .balanceAfter(Money.ofMinor(i + 1))
+                        .sequenceNumber(++sequenceNumber)
+                        .dateOfExecution(LocalDate.now())
+                        .timeOfExecution(LocalTime.now())
+                        .build());
+            }
+
+            entityManager.flush();
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransactionInsertBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -2,6 +2,7 @@ package com.jfecm.bankaccountmanagement.builders;
 
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -11,8 +12,8 @@ public class BankingAccountBuilder {
         return BankingAccount.builder()
                 .id(1L)
                 .accountNumber(getRandomAccountNumber())
-                .balance(0.0)
-                .withdrawalLimit(0.0)
+                .balance(Money.ZERO)
+                .withdrawalLimit(Money.ZERO)
                 .accountOpenedDate(LocalDate.now())
                 .accountClosingDate(LocalDate.now())
                 .bankingAccountStatus(BankingAccountStatus.ACTIVE)
@@ -22,8 +23,8 @@ public class BankingAccountBuilder {
     public static BankingAccount buildBankingAccountRepository() {
         return BankingAccount.builder()
                 .accountNumber(getRandomAccountNumber())
-                .balance(0.0)
-                .withdrawalLimit(0.0)
+                .balance(Money.ZERO)
+                .withdrawalLimit(Money.ZERO)
                 .accountOpenedDate(LocalDate.now())
                 .accountClosingDate(LocalDate.now())
                 .bankingAccountStatus(BankingAccountStatus.ACTIVE)
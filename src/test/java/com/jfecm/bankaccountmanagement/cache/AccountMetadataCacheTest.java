@@ -0,0 +1,114 @@
+package com.jfecm.bankaccountmanagement.cache;
+
+import com.jfecm.bankaccountmanagement.dto.response.ResponseCacheStats;
+import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AccountMetadataCache Tests")
+@ExtendWith(MockitoExtension.class)
+class AccountMetadataCacheTest {
+    @Mock
+    private BankingAccountRepository bankingAccountRepository;
+    private AccountMetadataCache accountMetadataCache;
+
+    @BeforeEach
+    void setUp() {
+        accountMetadataCache = new AccountMetadataCache(bankingAccountRepository, Duration.ofMinutes(1), 2);
+    }
+
+    @Test
+    @DisplayName("Given a cached account, when getting its metadata again, then do not query the database")
+    void givenCachedAccount_whenGet_thenReturnCachedMetadata() {
+        when(bankingAccountRepository.findMetadataByAccountNumber("123")).thenReturn(Optional.of(metadata(1L, "123")));
+
+        Optional<AccountMetadata> first = accountMetadataCache.get("123");
+        Optional<AccountMetadata> second = accountMetadataCache.get("123");
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.orElseThrow());
+        verify(bankingAccountRepository, times(1)).findMetadataByAccountNumber("123");
+        ResponseCacheStats stats = accountMetadataCache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    @DisplayName("Given an unknown account number, when getting its metadata twice, then cache the miss")
+    void givenUnknownAccountNumber_whenGet_thenCacheMiss() {
+        when(bankingAccountRepository.findMetadataByAccountNumber("unknown")).thenReturn(Optional.empty());
+
+        assertTrue(accountMetadataCache.get("unknown").isEmpty());
+        assertTrue(accountMetadataCache.get("unknown").isEmpty());
+
+        verify(bankingAccountRepository, times(1)).findMetadataByAccountNumber("unknown");
+    }
+
+    @Test
+    @DisplayName("Given an invalidated account, when getting its metadata, then reload it from the database")
+    void givenInvalidatedAccount_whenGet_thenReloadMetadata() {
+        when(bankingAccountRepository.findMetadataByAccountNumber("123"))
+                .thenReturn(Optional.of(metadata(1L, "123")))
+                .thenReturn(Optional.of(new AccountMetadata(1L, "123", BankingAccountStatus.FROZEN, Money.ofMajor(1000), 1L)));
+
+        accountMetadataCache.get("123");
+        accountMetadataCache.invalidate("123");
+        Optional<AccountMetadata> result = accountMetadataCache.get("123");
+
+        assertEquals(BankingAccountStatus.FROZEN, result.orElseThrow().getBankingAccountStatus());
+        verify(bankingAccountRepository, times(2)).findMetadataByAccountNumber("123");
+        assertEquals(1, accountMetadataCache.getStats().getInvalidations());
+    }
+
+    @Test
+    @DisplayName("Given a full cache, when loading another account, then evict the oldest entry")
+    void givenFullCache_whenGet_thenEvictOldestEntry() {
+        when(bankingAccountRepository.findMetadataByAccountNumber(anyString()))
+                .thenAnswer(invocation -> Optional.of(metadata(1L, invocation.getArgument(0))));
+
+        accountMetadataCache.get("1");
+        accountMetadataCache.get("2");
+        accountMetadataCache.get("3");
+        accountMetadataCache.get("1");
+
+        verify(bankingAccountRepository, times(2)).findMetadataByAccountNumber("1");
+        ResponseCacheStats stats = accountMetadataCache.getStats();
+        assertEquals(2, stats.getSize());
+        assertEquals(2, stats.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Given an expired entry, when getting its metadata, then reload it from the database")
+    void givenExpiredEntry_whenGet_thenReloadMetadata() {
+        AccountMetadataCache expiringCache = new AccountMetadataCache(bankingAccountRepository, Duration.ZERO, 10);
+        when(bankingAccountRepository.findMetadataByAccountNumber("123")).thenReturn(Optional.of(metadata(1L, "123")));
+
+        expiringCache.get("123");
+        expiringCache.get("123");
+
+        verify(bankingAccountRepository, times(2)).findMetadataByAccountNumber("123");
+    }
+
+    @Test
+    @DisplayName("Given an invalid size, when creating the cache, then throw IllegalArgumentException")
+    void givenInvalidSize_whenCreateAccountMetadataCache_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountMetadataCache(bankingAccountRepository, Duration.ofMinutes(1), 0));
+    }
+
+    private static AccountMetadata metadata(Long id, String accountNumber) {
+        return new AccountMetadata(id, accountNumber, BankingAccountStatus.ACTIVE, Money.ofMajor(1000), 1L);
+    }
+}
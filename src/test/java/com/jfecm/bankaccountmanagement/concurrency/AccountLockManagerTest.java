@@ -0,0 +1,67 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountLockManager Tests")
+class AccountLockManagerTest {
+
+    @Test
+    @DisplayName("Given a stripe count, when creating the lock manager, then round it up to a power of two")
+    void givenStripeCount_whenCreateAccountLockManager_thenRoundUpToPowerOfTwo() {
+        AccountLockManager lockManager = new AccountLockManager(10);
+
+        assertEquals(16, lockManager.getStripeCount());
+        assertEquals(16, lockManager.getContentionCounts().length);
+    }
+
+    @Test
+    @DisplayName("Given an invalid stripe count, when creating the lock manager, then throw IllegalArgumentException")
+    void givenInvalidStripeCount_whenCreateAccountLockManager_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockManager(0));
+    }
+
+    @Test
+    @DisplayName("Given concurrent mutations on the same account, when executing with lock, then no update is lost")
+    void givenConcurrentMutations_whenExecuteWithLock_thenNoUpdateIsLost() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long[] balance = {0};
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            futures.add(executor.submit(() -> lockManager.executeWithLock("123", () -> balance[0]++)));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1000, balance[0]);
+    }
+
+    @Test
+    @DisplayName("Given reciprocal transfers, when executing with locks, then every transfer completes")
+    void givenReciprocalTransfers_whenExecuteWithLocks_thenNoDeadlock() throws Exception {
+        AccountLockManager lockManager = new AccountLockManager(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            List<String> accounts = i % 2 == 0 ? List.of("A", "B") : List.of("B", "A");
+            futures.add(executor.submit(() -> lockManager.executeWithLocks(accounts, () -> accounts.size())));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,104 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DailyWithdrawalTracker Tests")
+class DailyWithdrawalTrackerTest {
+
+    @Test
+    @DisplayName("Given reservations within the limit, when reserving over it, then reject the reservation")
+    void givenReservationsWithinLimit_whenReserveOverLimit_thenReject() {
+        DailyWithdrawalTracker tracker = new DailyWithdrawalTracker(null, () -> 100L);
+
+        assertTrue(tracker.tryReserve("123", 3_000L, 5_000L));
+        assertTrue(tracker.tryReserve("123", 2_000L, 5_000L));
+        assertFalse(tracker.tryReserve("123", 1L, 5_000L));
+        assertTrue(tracker.tryReserve("456", 5_000L, 5_000L));
+        assertEquals(5_000L, tracker.getWithdrawnToday("123"));
+    }
+
+    @Test
+    @DisplayName("Given a reservation from yesterday, when the day changes, then start from zero")
+    void givenReservationFromYesterday_whenDayChanges_thenStartFromZero() {
+        AtomicLong day = new AtomicLong(100L);
+        DailyWithdrawalTracker tracker = new DailyWithdrawalTracker(null, day::get);
+        assertTrue(tracker.tryReserve("123", 5_000L, 5_000L));
+
+        day.incrementAndGet();
+        tracker.release("123", 100L, 5_000L);
+
+        assertEquals(0L, tracker.getWithdrawnToday("123"));
+        assertTrue(tracker.tryReserve("123", 5_000L, 5_000L));
+        assertEquals(5_000L, tracker.getWithdrawnToday("123"));
+    }
+
+    @Test
+    @DisplayName("Given a debit of today changed or deleted, when adjusting, then apply the difference to today's total only")
+    void givenChangedDebit_whenAdjust_thenApplyDifferenceToTodayOnly() {
+        DailyWithdrawalTracker tracker = new DailyWithdrawalTracker(null, () -> 100L);
+        assertTrue(tracker.tryReserve("123", 5_000L, 5_000L));
+
+        tracker.adjust("123", LocalDate.ofEpochDay(100L), -5_000L);
+        tracker.adjust("123", LocalDate.ofEpochDay(100L), 2_000L);
+        tracker.adjust("123", LocalDate.ofEpochDay(99L), -2_000L);
+
+        assertEquals(2_000L, tracker.getWithdrawnToday("123"));
+        assertTrue(tracker.tryReserve("123", 3_000L, 5_000L));
+        tracker.adjust("123", LocalDate.ofEpochDay(100L), -9_000L);
+        assertEquals(0L, tracker.getWithdrawnToday("123"));
+    }
+
+    @Test
+    @DisplayName("Given concurrent reservations, when reserving, then never exceed the limit")
+    void givenConcurrentReservations_whenTryReserve_thenNeverExceedLimit() throws Exception {
+        DailyWithdrawalTracker tracker = new DailyWithdrawalTracker(null, () -> 100L);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            futures.add(executor.submit(() -> {
+                if (tracker.tryReserve("123", 100L, 50_000L)) {
+                    accepted.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(500, accepted.get());
+        assertEquals(50_000L, tracker.getWithdrawnToday("123"));
+    }
+
+    @Test
+    @DisplayName("Given today's debit transactions, when rebuilding, then restore the totals")
+    void givenTodayDebits_whenRebuild_thenRestoreTotals() {
+        AccountTransactionRepository repository = mock(AccountTransactionRepository.class);
+        long today = LocalDate.of(2024, 1, 15).toEpochDay();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"123", 4_000L});
+        when(repository.sumDebitsByAccountNumber(LocalDate.of(2024, 1, 15))).thenReturn(rows);
+        DailyWithdrawalTracker tracker = new DailyWithdrawalTracker(repository, () -> today);
+
+        tracker.rebuild();
+
+        assertEquals(4_000L, tracker.getWithdrawnToday("123"));
+        assertFalse(tracker.tryReserve("123", 1_001L, 5_000L));
+        assertTrue(tracker.tryReserve("123", 1_000L, 5_000L));
+    }
+}
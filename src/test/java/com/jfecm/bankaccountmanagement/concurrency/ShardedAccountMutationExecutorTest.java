@@ -0,0 +1,66 @@
+package com.jfecm.bankaccountmanagement.concurrency;
+
+import com.jfecm.bankaccountmanagement.exceptions.InsufficientFundsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedAccountMutationExecutor Tests")
+class ShardedAccountMutationExecutorTest {
+    private ShardedAccountMutationExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ShardedAccountMutationExecutor(4, TransactionOperations.withoutTransaction());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given a mutation, when it fails, then rethrow the original exception")
+    void givenFailingMutation_whenExecute_thenRethrowOriginalException() {
+        List<String> accounts = List.of("A");
+
+        assertThrows(InsufficientFundsException.class, () -> executor.execute(accounts, () -> {
+            throw new InsufficientFundsException("Insufficient balance in the source account.");
+        }));
+    }
+
+    @Test
+    @DisplayName("Given reciprocal transfers across shards, when executing them concurrently, then complete all and keep the total balance")
+    void givenReciprocalTransfersAcrossShards_whenExecute_thenKeepTotalBalance() throws Exception {
+        List<String> accountNumbers = new ArrayList<>();
+        Map<String, Long> balances = new ConcurrentHashMap<>();
+        for (int i = 0; i < 16; i++) {
+            accountNumbers.add("account-" + i);
+            balances.put("account-" + i, 1000L);
+        }
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String source = accountNumbers.get(i % 16);
+            String destination = accountNumbers.get((i * 7 + 3) % 16);
+            futures.add(executor.submit(List.of(source, destination), () -> {
+                balances.put(source, balances.get(source) - 1);
+                return balances.put(destination, balances.get(destination) + 1);
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        assertEquals(16 * 1000L, balances.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
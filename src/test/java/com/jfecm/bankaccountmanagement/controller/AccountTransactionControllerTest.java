@@ -3,9 +3,17 @@ package com.jfecm.bankaccountmanagement.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateTransaction;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionTypeSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransferResult;
 import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.exceptions.IdempotencyKeyReusedException;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidPageRequestException;
 import com.jfecm.bankaccountmanagement.service.BankingAccountService;
+import com.jfecm.bankaccountmanagement.service.IdempotencyService;
+import com.jfecm.bankaccountmanagement.service.TransactionExportService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,19 +21,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -39,11 +55,19 @@ class AccountTransactionControllerTest {
     @MockBean
     private BankingAccountService bankingAccountService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
+    @MockBean
+    private TransactionExportService transactionExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
     void setUp() {
+        when(idempotencyService.execute(any(), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<AccountTransaction>>getArgument(4).get());
     }
 
     @AfterEach
@@ -54,7 +78,7 @@ class AccountTransactionControllerTest {
     void givenAccountNumberAndAmount_whenRecharge_thenReturnRechargeTransaction() throws Exception {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/recharge/{amount}";
         String accountNumber = "123456789";
-        Double amount = 100.0;
+        Money amount = Money.ofMajor(100);
         AccountTransaction depositTransaction = new AccountTransaction();
         when(bankingAccountService.rechargeAccountBalance(accountNumber, amount)).thenReturn(depositTransaction);
 
@@ -66,11 +90,39 @@ class AccountTransactionControllerTest {
         verify(bankingAccountService, times(1)).rechargeAccountBalance(accountNumber, amount);
     }
 
+    @Test @DisplayName("Given an Idempotency-Key header, when recharge is called, then pass the key to the idempotency service")
+    void givenIdempotencyKey_whenRecharge_thenUseIdempotencyService() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/recharge/{amount}";
+        String accountNumber = "123456789";
+        Money amount = Money.ofMajor(100);
+        AccountTransaction depositTransaction = AccountTransaction.builder().id(1L).amount(amount).build();
+        when(bankingAccountService.rechargeAccountBalance(accountNumber, amount)).thenReturn(depositTransaction);
+
+        mockMvc.perform(post(urlTemplate, accountNumber, amount).header("Idempotency-Key", "key-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Result.id", is(1)));
+
+        verify(idempotencyService, times(1)).execute(eq("key-1"), eq(accountNumber), eq(AccountTransactionType.RECHARGE), eq("100.00"), any());
+    }
+
+    @Test @DisplayName("Given an Idempotency-Key used for a different request, when recharge is called, then return 422")
+    void givenReusedIdempotencyKey_whenRecharge_thenReturnUnprocessableEntity() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/recharge/{amount}";
+        String accountNumber = "123456789";
+        when(idempotencyService.execute(eq("key-1"), eq(accountNumber), eq(AccountTransactionType.RECHARGE), eq("200.00"), any()))
+                .thenThrow(new IdempotencyKeyReusedException("The Idempotency-Key key-1 was already used for a different request."));
+
+        mockMvc.perform(post(urlTemplate, accountNumber, Money.ofMajor(200)).header("Idempotency-Key", "key-1"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(bankingAccountService, never()).rechargeAccountBalance(anyString(), any());
+    }
+
     @Test @DisplayName("Given account number and withdrawal amount, when withdrawal is called, then create withdrawal transaction")
     void givenAccountNumberAndAmount_whenWithdrawal_thenReturnWithdrawalTransaction() throws Exception {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/withdrawal/{amount}";
         String accountNumber = "123456789";
-        Double withdrawalAmount = 50.0;
+        Money withdrawalAmount = Money.ofMajor(50);
         AccountTransaction withdrawalTransaction = AccountTransaction.builder()
                 .id(1L)
                 .amount(withdrawalAmount)
@@ -92,13 +144,13 @@ class AccountTransactionControllerTest {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/transfer";
         String accountNumber = "123456789";
         RequestCreateTransaction requestTransfer = RequestCreateTransaction.builder()
-                .amount(100.0)
+                .amount(Money.ofMajor(100))
                 .destinationAccountNumber("987654321")
                 .build();
 
         AccountTransaction transferTransaction = AccountTransaction.builder()
                 .id(1L)
-                .amount(100.0)
+                .amount(Money.ofMajor(100))
                 .accountTransactionType(AccountTransactionType.TRANSFER)
                 .build();
 
@@ -116,6 +168,31 @@ class AccountTransactionControllerTest {
         verify(bankingAccountService, times(1)).createTransferTransaction(accountNumber, requestTransfer);
     }
 
+    @Test @DisplayName("Given account number and a list of transfer requests, when batchTransfer is called, then return the result of every transfer")
+    void givenAccountNumberAndRequestCreateTransactionList_whenBatchTransfer_thenReturnTransferResults() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/transfer/batch";
+        String accountNumber = "123456789";
+        List<RequestCreateTransaction> requestTransfers = List.of(
+                RequestCreateTransaction.builder().amount(Money.ofMajor(100)).destinationAccountNumber("987654321").build(),
+                RequestCreateTransaction.builder().amount(Money.ofMajor(-1)).destinationAccountNumber("987654321").build()
+        );
+        List<ResponseTransferResult> results = List.of(
+                ResponseTransferResult.builder().index(0).status(ResponseTransferResult.COMPLETED).build(),
+                ResponseTransferResult.builder().index(1).status(ResponseTransferResult.REJECTED).message("The amount must be positive.").build()
+        );
+        when(bankingAccountService.createBatchTransferTransactions(accountNumber, requestTransfers)).thenReturn(results);
+
+        mockMvc.perform(post(urlTemplate, accountNumber)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestTransfers)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Total", is(2)))
+                .andExpect(jsonPath("$.Completed", is(1)))
+                .andExpect(jsonPath("$.Result[1].status", is("REJECTED")));
+
+        verify(bankingAccountService, times(1)).createBatchTransferTransactions(accountNumber, requestTransfers);
+    }
+
     @Test @DisplayName("Given account number and transaction ID, when getTransactionByAccountNumber is called, then return transaction")
     void givenAccountNumberAndTransactionId_whenGetTransactionByAccountNumber_thenReturnAccountTransaction() throws Exception {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/transaction/{transactionId}";
@@ -123,7 +200,7 @@ class AccountTransactionControllerTest {
         Long transactionId = 1L;
         AccountTransaction transaction = AccountTransaction.builder()
                 .id(transactionId)
-                .amount(100.0)
+                .amount(Money.ofMajor(100))
                 .accountTransactionType(AccountTransactionType.RECHARGE)
                 .build();
         when(bankingAccountService.getTransactionByAccountNumber(accountNumber, transactionId))
@@ -144,13 +221,13 @@ class AccountTransactionControllerTest {
         String accountNumber = "123456789";
         Long transactionId = 1L;
         RequestUpdateTransaction updateTransactionRequest = RequestUpdateTransaction.builder()
-                .amount(50.0)
+                .amount(Money.ofMajor(50))
                 .accountTransactionType(AccountTransactionType.WITHDRAWAL)
                 .build();
 
         AccountTransaction updatedTransaction = AccountTransaction.builder()
                 .id(transactionId)
-                .amount(50.0)
+                .amount(Money.ofMajor(50))
                 .accountTransactionType(AccountTransactionType.WITHDRAWAL)
                 .build();
         when(bankingAccountService.updateTransaction(accountNumber, transactionId, updateTransactionRequest))
@@ -185,8 +262,8 @@ class AccountTransactionControllerTest {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions";
         String accountNumber = "123456789";
         List<AccountTransaction> transactions = Arrays.asList(
-                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(100.0).build(),
-                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.WITHDRAWAL).amount(50.0).build()
+                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(Money.ofMajor(100)).build(),
+                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.WITHDRAWAL).amount(Money.ofMajor(50)).build()
         );
 
         when(bankingAccountService.getAllTransactionsByAccount(accountNumber)).thenReturn(transactions);
@@ -205,14 +282,99 @@ class AccountTransactionControllerTest {
         verify(bankingAccountService, times(1)).getAllTransactionsByAccount(accountNumber);
     }
 
+    @Test @DisplayName("Given account number, cursor and size, when getTransactionHistory is called, then return the page and the next cursor")
+    void givenAccountNumberCursorAndSize_whenGetTransactionHistory_thenReturnPage() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/history";
+        String accountNumber = "123456789";
+        ResponseTransactionPage page = ResponseTransactionPage.builder()
+                .transactions(List.of(AccountTransaction.builder().id(5L).accountTransactionType(AccountTransactionType.RECHARGE).amount(Money.ofMajor(100)).build()))
+                .size(1)
+                .nextCursor("next")
+                .build();
+        when(bankingAccountService.getTransactionHistory(accountNumber, "current", 1)).thenReturn(page);
+
+        mockMvc.perform(get(urlTemplate, accountNumber).param("cursor", "current").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Result.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.Result.transactions[0].id", is(5)))
+                .andExpect(jsonPath("$.Result.nextCursor", is("next")));
+
+        verify(bankingAccountService, times(1)).getTransactionHistory(accountNumber, "current", 1);
+    }
+
+    @Test @DisplayName("Given a page size out of range, when getTransactionHistory is called, then return 400")
+    void givenPageSizeOutOfRange_whenGetTransactionHistory_thenReturnBadRequest() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/history";
+        String accountNumber = "123456789";
+        when(bankingAccountService.getTransactionHistory(accountNumber, null, 1000))
+                .thenThrow(new InvalidPageRequestException("The page size must be between 1 and 500."));
+
+        mockMvc.perform(get(urlTemplate, accountNumber).param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.Result", is("The page size must be between 1 and 500.")));
+    }
+
+    @Test @DisplayName("Given account number, when exportTransactions is called, then stream the transactions as NDJSON")
+    void givenAccountNumber_whenExportTransactions_thenStreamNdjson() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/export";
+        String accountNumber = "123456789";
+        when(transactionExportService.getAccountId(accountNumber)).thenReturn(7L);
+        when(transactionExportService.exportTransactions(eq(7L), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get(urlTemplate, accountNumber))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions-123456789.ndjson"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(transactionExportService, times(1)).exportTransactions(eq(7L), any(OutputStream.class));
+    }
+
+    @Test @DisplayName("Given account number and date range, when getTransactionSummary is called, then return the totals per type")
+    void givenAccountNumberAndDateRange_whenGetTransactionSummary_thenReturnTotalsPerType() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/summary";
+        String accountNumber = "123456789";
+        LocalDate fromDate = LocalDate.of(2023, 1, 1);
+        LocalDate toDate = LocalDate.of(2023, 12, 31);
+        List<ResponseTransactionTypeSummary> summary = List.of(ResponseTransactionTypeSummary.builder()
+                .accountTransactionType(AccountTransactionType.RECHARGE).count(2).totalCredited(Money.ofMajor(150)).totalDebited(Money.ZERO).build());
+        when(bankingAccountService.getTransactionSummary(accountNumber, fromDate, toDate)).thenReturn(summary);
+
+        mockMvc.perform(get(urlTemplate, accountNumber).param("fromDate", "2023-01-01").param("toDate", "2023-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Result", hasSize(1)))
+                .andExpect(jsonPath("$.Result[0].accountTransactionType", is("RECHARGE")))
+                .andExpect(jsonPath("$.Result[0].count", is(2)))
+                .andExpect(jsonPath("$.Result[0].totalCredited", is(150.0)));
+
+        verify(bankingAccountService, times(1)).getTransactionSummary(accountNumber, fromDate, toDate);
+    }
+
+    @Test @DisplayName("Given a start date after the end date, when getTransactionSummary is called, then return bad request")
+    void givenInvertedDateRange_whenGetTransactionSummary_thenReturnBadRequest() throws Exception {
+        String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/summary";
+
+        mockMvc.perform(get(urlTemplate, "123456789").param("fromDate", "2023-12-31").param("toDate", "2023-01-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bankingAccountService);
+    }
+
     @Test @DisplayName("Given account number and transaction type filter, when filterTransactionsByType is called, then return filtered transactions")
     void givenAccountNumberAndAccountTransactionType_whenFilterTransactionsByType_thenReturnAccountTransactionList() throws Exception {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}/transactions/filterByType/{transactionTypeFilter}";
         String accountNumber = "123456789";
         AccountTransactionType transactionTypeFilter = AccountTransactionType.TRANSFER;
         List<AccountTransaction> filteredTransactions = Arrays.asList(
-                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(100.0).build(),
-                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.TRANSFER).amount(50.0).build()
+                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(Money.ofMajor(100)).build(),
+                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.TRANSFER).amount(Money.ofMajor(50)).build()
         );
         when(bankingAccountService.getAllTransactionsByType(accountNumber, transactionTypeFilter)).thenReturn(filteredTransactions);
 
@@ -237,8 +399,8 @@ class AccountTransactionControllerTest {
         LocalDate fromDate = LocalDate.of(2023, 1, 1);
         LocalDate toDate = LocalDate.of(2023, 12, 31);
         List<AccountTransaction> filteredTransactions = Arrays.asList(
-                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(100.0).build(),
-                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.WITHDRAWAL).amount(50.0).build()
+                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(Money.ofMajor(100)).build(),
+                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.WITHDRAWAL).amount(Money.ofMajor(50)).build()
         );
 
         when(bankingAccountService.getAllTransactionsByDateRange(accountNumber, fromDate, toDate)).thenReturn(filteredTransactions);
@@ -267,8 +429,8 @@ class AccountTransactionControllerTest {
         LocalDate fromDate = LocalDate.of(2023, 1, 1);
         LocalDate toDate = LocalDate.of(2023, 12, 31);
         List<AccountTransaction> filteredTransactions = Arrays.asList(
-                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(100.0).build(),
-                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.TRANSFER).amount(50.0).build()
+                AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).amount(Money.ofMajor(100)).build(),
+                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.TRANSFER).amount(Money.ofMajor(50)).build()
         );
         when(bankingAccountService.getAllTransactionsByTypeAndDateRange(accountNumber, transactionTypeFilter, fromDate, toDate))
                 .thenReturn(filteredTransactions);
@@ -1,8 +1,12 @@
 package com.jfecm.bankaccountmanagement.controller;
 
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.service.BankingAccountService;
+import com.jfecm.bankaccountmanagement.service.ListingExportService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +14,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -28,6 +39,9 @@ class BankingAccountControllerTest {
     @MockBean
     private BankingAccountService bankingAccountService;
 
+    @MockBean
+    private ListingExportService listingExportService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -43,7 +57,7 @@ class BankingAccountControllerTest {
     void givenAccountNumber_whenGetBankingAccount_thenReturnBankingAccountDetails() throws Exception {
         String urlTemplate = "/api/v1/accounts/account/{accountNumber}";
         String accountNumber = "123456789";
-        BankingAccount account = BankingAccount.builder().accountNumber(accountNumber).balance(1000.0).build();
+        BankingAccount account = BankingAccount.builder().accountNumber(accountNumber).balance(Money.ofMajor(1000)).build();
         when(bankingAccountService.getBankingAccountByAccountNumber(accountNumber)).thenReturn(account);
 
         mockMvc.perform(get(urlTemplate, accountNumber))
@@ -60,10 +74,10 @@ class BankingAccountControllerTest {
         BankingAccountStatus statusParam = BankingAccountStatus.ACTIVE;
         List<BankingAccount> accounts = List.of(
                 BankingAccount.builder()
-                        .accountNumber("123").balance(1000.0).bankingAccountStatus(BankingAccountStatus.ACTIVE)
+                        .accountNumber("123").balance(Money.ofMajor(1000)).bankingAccountStatus(BankingAccountStatus.ACTIVE)
                         .build(),
                 BankingAccount.builder()
-                        .accountNumber("456").balance(2000.0).bankingAccountStatus(BankingAccountStatus.ACTIVE)
+                        .accountNumber("456").balance(Money.ofMajor(2000)).bankingAccountStatus(BankingAccountStatus.ACTIVE)
                         .build()
         );
         when(bankingAccountService.getAllBankingAccounts(BankingAccountStatus.ACTIVE)).thenReturn(accounts);
@@ -108,4 +122,46 @@ class BankingAccountControllerTest {
         verify(bankingAccountService, times(1)).deleteBankingAccount(accountNumber);
     }
 
-}
\ No newline at end of file
+    @Test @DisplayName("Given no afterId, when getBankingAccountsPage is called, then return the first page of accounts with the total")
+    void givenNoAfterId_whenGetBankingAccountsPage_thenReturnFirstPageWithTotal() throws Exception {
+        String urlTemplate = "/api/v1/accounts/page";
+        ResponseKeysetPage<ResponseAccountSummary> page = ResponseKeysetPage.<ResponseAccountSummary>builder()
+                .items(List.of(ResponseAccountSummary.builder().id(3L).accountNumber("123").balance(Money.ofMajor(1000)).clientDni("456").build()))
+                .size(1)
+                .total(4L)
+                .nextAfterId(3L)
+                .build();
+        when(bankingAccountService.getBankingAccountsPage(BankingAccountStatus.FROZEN, null, 1)).thenReturn(page);
+
+        mockMvc.perform(get(urlTemplate).param("status", "FROZEN").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Result.items[0].accountNumber").value("123"))
+                .andExpect(jsonPath("$.Result.items[0].balance").value(1000.0))
+                .andExpect(jsonPath("$.Result.items[0].clientDni").value("456"))
+                .andExpect(jsonPath("$.Result.total").value(4))
+                .andExpect(jsonPath("$.Result.nextAfterId").value(3));
+
+        verify(bankingAccountService, times(1)).getBankingAccountsPage(BankingAccountStatus.FROZEN, null, 1);
+    }
+
+    @Test @DisplayName("Given a status, when exportBankingAccounts is called, then stream the accounts as NDJSON")
+    void givenBankingAccountStatus_whenExportBankingAccounts_thenStreamNdjson() throws Exception {
+        String urlTemplate = "/api/v1/accounts/export";
+        when(listingExportService.exportBankingAccounts(eq(BankingAccountStatus.ACTIVE), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get(urlTemplate))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=accounts-active.ndjson"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n"));
+
+        verify(listingExportService, times(1)).exportBankingAccounts(eq(BankingAccountStatus.ACTIVE), any(OutputStream.class));
+    }
+}
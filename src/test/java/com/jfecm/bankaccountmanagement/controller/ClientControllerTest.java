@@ -4,10 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
 import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidPageRequestException;
 import com.jfecm.bankaccountmanagement.service.ClientService;
-import com.jfecm.bankaccountmanagement.service.EmailService;
+import com.jfecm.bankaccountmanagement.service.ListingExportService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,20 +18,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import javax.mail.MessagingException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -38,7 +48,7 @@ class ClientControllerTest {
     @MockBean
     private ClientService clientService;
     @MockBean
-    private EmailService emailService;
+    private ListingExportService listingExportService;
     @Autowired
     private MockMvc mockMvc;
     @Autowired
@@ -69,35 +79,12 @@ class ClientControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(client)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.Result", is("Client created and email sent.")))
+                .andExpect(jsonPath("$.Result", is("Client created. The welcome email will be sent shortly.")))
                 .andExpect(jsonPath("$.Data", notNullValue()));
 
         verify(clientService, times(1)).saveClient(any(RequestCreateClient.class));
     }
 
-    @Test @DisplayName("Given an error in sending email, when createClient is called, then return an internal server error response")
-    void givenRequestCreateClient_whenCreateClient_thenThrowInternalServerError() throws Exception {
-        String urlTemplate = "/api/v1/clients/client";
-        Client client = Client.builder()
-                .id(1L)
-                .dni("123456789")
-                .name("test name")
-                .email("test@example.com")
-                .password("test password")
-                .address("test address")
-                .build();
-        doThrow(new MessagingException()).when(emailService).sendEmail(anyString(), anyString(), any());
-
-        mockMvc.perform(post(urlTemplate)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(client)))
-                .andExpect(status().isInternalServerError())
-                .andExpect(jsonPath("$.Error", is("An error occurred while sending the email.")));
-
-        verify(clientService, times(1)).saveClient(any(RequestCreateClient.class));
-        verify(emailService, times(1)).sendEmail(anyString(), anyString(), any());
-    }
-
     @Test @DisplayName("Given active clients, when getAllClients is called, then return a list of active clients")
     void givenUserStatus_whenGetAllClients_thenReturnsListActiveClients() throws Exception {
         String urlTemplate = "/api/v1/clients";
@@ -115,27 +102,76 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.Result[0].userStatus").value("ACTIVE"));
     }
 
+    @Test @DisplayName("Given an afterId and a size, when getClientsPage is called, then return the page of clients")
+    void givenAfterIdAndSize_whenGetClientsPage_thenReturnPageOfClients() throws Exception {
+        String urlTemplate = "/api/v1/clients/page";
+        ResponseKeysetPage<ResponseClientSummary> page = ResponseKeysetPage.<ResponseClientSummary>builder()
+                .items(List.of(ResponseClientSummary.builder().id(12L).dni("123").accountNumber("000000018").userStatus(UserStatus.ACTIVE).build()))
+                .size(1)
+                .nextAfterId(12L)
+                .build();
+        when(clientService.getClientsPage(UserStatus.ACTIVE, 10L, 1)).thenReturn(page);
+
+        mockMvc.perform(get(urlTemplate).param("afterId", "10").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Result.items[0].id", is(12)))
+                .andExpect(jsonPath("$.Result.items[0].accountNumber", is("000000018")))
+                .andExpect(jsonPath("$.Result.nextAfterId", is(12)));
+
+        verify(clientService, times(1)).getClientsPage(UserStatus.ACTIVE, 10L, 1);
+    }
+
+    @Test @DisplayName("Given a page size out of range, when getClientsPage is called, then return bad request")
+    void givenPageSizeOutOfRange_whenGetClientsPage_thenReturnBadRequest() throws Exception {
+        String urlTemplate = "/api/v1/clients/page";
+        when(clientService.getClientsPage(UserStatus.ACTIVE, null, 1000)).thenThrow(new InvalidPageRequestException("The page size must be between 1 and 500."));
+
+        mockMvc.perform(get(urlTemplate).param("size", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test @DisplayName("Given a status, when exportClients is called, then stream the clients as NDJSON")
+    void givenUserStatus_whenExportClients_thenStreamNdjson() throws Exception {
+        String urlTemplate = "/api/v1/clients/export";
+        when(listingExportService.exportClients(eq(UserStatus.INACTIVE), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get(urlTemplate).param("status", "INACTIVE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=clients-inactive.ndjson"))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(listingExportService, times(1)).exportClients(eq(UserStatus.INACTIVE), any(OutputStream.class));
+    }
+
     @Test @DisplayName("Given valid DNI, when getClientByDni is called, then return client details")
     void testGetClientByDni() throws Exception {
         String urlTemplate = "/api/v1/clients/client/{dni}";
         String dni = "123456789";
-        Client client = Client.builder()
+        ResponseClientData client = ResponseClientData.builder()
                 .id(1L)
                 .dni(dni)
                 .name("test name")
                 .email("test@example.com")
-                .password("test password")
                 .address("test address")
                 .build();
-        when(clientService.getClientByDni(anyString())).thenReturn(client);
+        when(clientService.getClientDetailsByDni(anyString())).thenReturn(client);
 
         mockMvc.perform(get(urlTemplate, dni)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.Result.id").value(1))
-                .andExpect(jsonPath("$.Result.dni").value(dni));
+                .andExpect(jsonPath("$.Result.dni").value(dni))
+                .andExpect(jsonPath("$.Result.password").doesNotExist());
 
-        verify(clientService, times(1)).getClientByDni(anyString());
+        verify(clientService, times(1)).getClientDetailsByDni(anyString());
     }
 
     @Test @DisplayName("Given valid DNI, when deleteClientByDni is called, then return success response")
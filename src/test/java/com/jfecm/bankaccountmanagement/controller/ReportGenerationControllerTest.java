@@ -79,7 +79,7 @@ class ReportGenerationControllerTest {
         Client client = new Client();
         byte[] pdfBytes = "PDF Content".getBytes();
 
-        when(clientService.getClientByDni(dni)).thenReturn(client);
+        when(clientService.getClientReportByDni(dni)).thenReturn(client);
         when(pdfService.generateAccountTransactionsPdf(client)).thenReturn(pdfBytes);
 
         mockMvc.perform(get(urlTemplate, dni))
@@ -88,7 +88,7 @@ class ReportGenerationControllerTest {
                 .andExpect(header().string("Content-Disposition", "attachment; filename=AccountTransactions_" + dni + "_" + LocalDate.now() + ".pdf"))
                 .andExpect(content().bytes(pdfBytes));
 
-        verify(clientService, times(1)).getClientByDni(dni);
+        verify(clientService, times(1)).getClientReportByDni(dni);
         verify(pdfService, times(1)).generateAccountTransactionsPdf(client);
     }
 
@@ -0,0 +1,49 @@
+package com.jfecm.bankaccountmanagement.entity.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Given cent amounts, when adding them many times, then the total is exact")
+    void givenCentAmounts_whenAdding_thenTotalIsExact() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            total = total.plus(Money.valueOf("0.10"));
+        }
+
+        assertEquals(Money.ofMajor(100), total);
+        assertEquals("100.00", total.toString());
+    }
+
+    @Test
+    @DisplayName("Given a decimal text, when parsing, then convert it to minor units")
+    void givenDecimalText_whenValueOf_thenConvertToMinorUnits() {
+        assertEquals(15025L, Money.valueOf("150.25").getMinorUnits());
+        assertEquals(10000L, Money.valueOf("100").getMinorUnits());
+        assertEquals(-50L, Money.valueOf("-0.5").getMinorUnits());
+    }
+
+    @Test
+    @DisplayName("Given an invalid amount, when parsing, then throw NumberFormatException")
+    void givenInvalidAmount_whenValueOf_thenThrowNumberFormatException() {
+        assertThrows(NumberFormatException.class, () -> Money.valueOf("10.001"));
+        assertThrows(NumberFormatException.class, () -> Money.valueOf("abc"));
+        assertThrows(NumberFormatException.class, () -> Money.valueOf("100000000000000000000"));
+    }
+
+    @Test
+    @DisplayName("Given a decimal amount, when serializing and deserializing JSON, then keep the decimal value")
+    void givenDecimalAmount_whenJsonRoundTrip_thenKeepDecimalValue() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("150.25", objectMapper.writeValueAsString(Money.valueOf("150.25")));
+        assertEquals(Money.valueOf("150.25"), objectMapper.readValue("150.25", Money.class));
+        assertEquals(Money.valueOf("150.25"), objectMapper.readValue("\"150.25\"", Money.class));
+    }
+}
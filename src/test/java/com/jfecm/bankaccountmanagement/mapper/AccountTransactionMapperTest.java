@@ -0,0 +1,40 @@
+package com.jfecm.bankaccountmanagement.mapper;
+
+import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountTransactionMapper Tests")
+class AccountTransactionMapperTest {
+
+    @Test
+    @DisplayName("Given an update request, when updating a transaction, then copy the type and amount and keep the ledger fields")
+    void givenRequestUpdateTransaction_whenUpdate_thenCopyTypeAndAmount() {
+        AccountTransaction transaction = AccountTransaction.builder()
+                .id(1L)
+                .accountTransactionType(AccountTransactionType.RECHARGE)
+                .direction(AccountTransactionDirection.CREDIT)
+                .amount(Money.ofMajor(10))
+                .balanceAfter(Money.ofMajor(10))
+                .sequenceNumber(1L)
+                .build();
+        RequestUpdateTransaction request = RequestUpdateTransaction.builder()
+                .accountTransactionType(AccountTransactionType.WITHDRAWAL)
+                .amount(Money.ofMajor(25))
+                .build();
+
+        AccountTransactionMapper.update(request, transaction);
+
+        assertEquals(AccountTransactionType.WITHDRAWAL, transaction.getAccountTransactionType());
+        assertEquals(Money.ofMajor(25), transaction.getAmount());
+        assertEquals(1L, transaction.getId());
+        assertEquals(Money.ofMajor(10), transaction.getBalanceAfter());
+        assertEquals(1L, transaction.getSequenceNumber());
+    }
+}
@@ -0,0 +1,125 @@
+package com.jfecm.bankaccountmanagement.mapper;
+
+import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
+import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
+import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.Client;
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Besides the mapped values, checks by reflection that every property of the source DTOs (and of the
+ * response DTO) is mapped, so that a property added to a DTO without updating its mapper fails the build.
+ */
+@DisplayName("ClientMapper Tests")
+class ClientMapperTest {
+
+    @Test
+    @DisplayName("Given a creation request, when mapping it to an entity, then copy every request property")
+    void givenRequestCreateClient_whenToEntity_thenCopyEveryProperty() {
+        RequestCreateClient request = RequestCreateClient.builder()
+                .dni("12345678")
+                .name("name test")
+                .email("email@gmail.com")
+                .password("<PASSWORD>")
+                .address("address test")
+                .userStatus(UserStatus.PENDING)
+                .build();
+
+        Client client = ClientMapper.toEntity(request);
+
+        assertNull(client.getId());
+        assertEquals("<PASSWORD>", client.getPassword());
+        assertPropertiesCopied(request, client, fieldsOf(RequestCreateClient.class));
+    }
+
+    @Test
+    @DisplayName("Given an update request, when updating a client, then copy every request property and keep the others")
+    void givenRequestUpdateClient_whenUpdate_thenCopyEveryProperty() {
+        Client client = client();
+        RequestUpdateClient request = RequestUpdateClient.builder().name("name test update").address("address test update").build();
+
+        ClientMapper.update(request, client);
+
+        assertEquals("name test update", client.getName());
+        assertEquals("12345678", client.getDni());
+        assertPropertiesCopied(request, client, fieldsOf(RequestUpdateClient.class));
+    }
+
+    @Test
+    @DisplayName("Given a client, when mapping it to the response, then fill every response property")
+    void givenClient_whenToResponse_thenFillEveryProperty() {
+        Client client = client();
+
+        ResponseClientData response = ClientMapper.toResponse(client);
+
+        for (String property : fieldsOf(ResponseClientData.class)) {
+            assertNotNull(read(response, property), property);
+        }
+        assertPropertiesCopied(client, response, List.of("id", "dni", "name", "email", "address", "userStatus"));
+        assertPropertiesCopied(client.getBankingAccount(), response.getBankingAccount(),
+                fieldsOf(ResponseAccountSummary.class).stream().filter(property -> !property.equals("clientDni")).collect(Collectors.toList()));
+        assertEquals("12345678", response.getBankingAccount().getClientDni());
+        assertEquals(3L, response.getAdherents().get(0).getId());
+        assertEquals("87654321", response.getMainClient().getDni());
+    }
+
+    private static Client client() {
+        Client mainClient = Client.builder().id(2L).dni("87654321").build();
+        BankingAccount account = BankingAccountBuilder.buildBankingAccountService();
+        Client client = Client.builder()
+                .id(1L)
+                .dni("12345678")
+                .name("name test")
+                .email("email@gmail.com")
+                .password("<PASSWORD>")
+                .address("address test")
+                .userStatus(UserStatus.ACTIVE)
+                .bankingAccount(account)
+                .adherents(List.of(Client.builder().id(3L).build()))
+                .mainClient(mainClient)
+                .build();
+        account.setClient(client);
+        return client;
+    }
+
+    /**
+     * Asserts that each named property is not {@code null} in the source and has the same value in the target.
+     */
+    private static void assertPropertiesCopied(Object source, Object target, List<String> properties) {
+        for (String property : properties) {
+            Object value = read(source, property);
+            assertNotNull(value, "The test data must set " + property + ".");
+            assertEquals(value, read(target, property), property);
+        }
+    }
+
+    private static List<String> fieldsOf(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toList());
+    }
+
+    private static Object read(Object object, String property) {
+        try {
+            Field field = object.getClass().getDeclaredField(property);
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            return fail(object.getClass().getSimpleName() + " has no property " + property + ".", e);
+        }
+    }
+}
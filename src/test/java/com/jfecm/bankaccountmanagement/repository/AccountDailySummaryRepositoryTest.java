@@ -0,0 +1,85 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("AccountDailySummaryRepository Tests")
+class AccountDailySummaryRepositoryTest {
+
+    @Autowired
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+    @Autowired
+    private BankingAccountRepository bankingAccountRepository;
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+    private BankingAccount bankingAccount;
+
+    @BeforeEach
+    void setUp() {
+        bankingAccount = bankingAccountRepository.saveAndFlush(BankingAccountBuilder.buildBankingAccountRepository());
+    }
+
+    @Test
+    @DisplayName("Given movements on several days, when summing a date range, then add up only the rollups in the range")
+    void givenMovementsOnSeveralDays_whenSumByTypeAndDirection_thenAddUpRollupsInRange() {
+        Long accountId = bankingAccount.getId();
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 6, 1), "RECHARGE", "CREDIT", 1, 10000);
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 6, 1), "RECHARGE", "CREDIT", 1, 5000);
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 6, 2), "RECHARGE", "CREDIT", 1, 2000);
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 6, 2), "TRANSFER", "DEBIT", 1, 3000);
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 6, 2), "TRANSFER", "DEBIT", -1, -3000);
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 7, 1), "RECHARGE", "CREDIT", 1, 99900);
+
+        List<Object[]> rows = accountDailySummaryRepository.sumByTypeAndDirection(accountId, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 30));
+        Map<String, long[]> totals = rows.stream().collect(Collectors.toMap(row -> row[0] + "/" + row[1],
+                row -> new long[]{((Number) row[2]).longValue(), ((Number) row[3]).longValue()}));
+
+        assertArrayEquals(new long[]{3, 17000}, totals.get("RECHARGE/CREDIT"));
+        assertArrayEquals(new long[]{0, 0}, totals.get("TRANSFER/DEBIT"));
+        assertEquals(2, totals.size());
+    }
+
+    @Test
+    @DisplayName("Given an account with a transaction and its rollup, when deleting the rollups and then the account, then remove the account and its transaction")
+    void givenAccountWithTransactionAndRollup_whenDeleteByBankingAccountIdAndDeleteAccount_thenRemoveAccountAndTransaction() {
+        Long accountId = bankingAccount.getId();
+        bankingAccount.setAccountTransactions(new ArrayList<>(List.of(AccountTransaction.builder()
+                .accountTransactionType(AccountTransactionType.RECHARGE)
+                .direction(AccountTransactionDirection.CREDIT)
+                .amount(Money.ofMinor(10000))
+                .dateOfExecution(LocalDate.of(2023, 6, 1))
+                .bankingAccount(bankingAccount)
+                .build())));
+        bankingAccountRepository.saveAndFlush(bankingAccount);
+        accountDailySummaryRepository.addToSummary(accountId, LocalDate.of(2023, 6, 1), "RECHARGE", "CREDIT", 1, 10000);
+
+        int deleted = accountDailySummaryRepository.deleteByBankingAccountId(accountId);
+        bankingAccountRepository.deleteById(accountId);
+        bankingAccountRepository.flush();
+
+        assertEquals(1, deleted);
+        assertTrue(bankingAccountRepository.findById(accountId).isEmpty());
+        assertEquals(0, accountTransactionRepository.count());
+        assertTrue(accountDailySummaryRepository.sumByTypeAndDirection(accountId, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 6, 1)).isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("AccountTransactionRepository Tests")
+class AccountTransactionRepositoryTest {
+
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+    @Autowired
+    private BankingAccountRepository bankingAccountRepository;
+    private BankingAccount bankingAccount;
+    private BankingAccount otherBankingAccount;
+
+    @BeforeEach
+    void setUp() {
+        bankingAccount = bankingAccountRepository.save(BankingAccountBuilder.buildBankingAccountRepository());
+        otherBankingAccount = bankingAccountRepository.save(BankingAccountBuilder.buildBankingAccountRepository());
+
+        accountTransactionRepository.saveAll(List.of(
+                buildTransaction(bankingAccount, AccountTransactionType.RECHARGE, LocalDate.of(2023, 11, 10)),
+                buildTransaction(bankingAccount, AccountTransactionType.TRANSFER, LocalDate.of(2023, 2, 15)),
+                buildTransaction(bankingAccount, AccountTransactionType.RECHARGE, LocalDate.of(2023, 6, 30)),
+                buildTransaction(bankingAccount, AccountTransactionType.RECHARGE, LocalDate.of(2024, 1, 5)),
+                buildTransaction(otherBankingAccount, AccountTransactionType.RECHARGE, LocalDate.of(2023, 6, 30))
+        ));
+    }
+
+    @Test
+    @DisplayName("Given an account and a type, when finding by type, then return only that account's transactions of the type ordered by date")
+    void givenAccountAndType_whenFindByType_thenReturnFilteredTransactions() {
+        List<AccountTransaction> transactions = accountTransactionRepository
+                .findByBankingAccountIdAndAccountTransactionTypeOrderByDateOfExecutionAscIdAsc(bankingAccount.getId(), AccountTransactionType.RECHARGE);
+
+        assertEquals(List.of(LocalDate.of(2023, 6, 30), LocalDate.of(2023, 11, 10), LocalDate.of(2024, 1, 5)), datesOf(transactions));
+    }
+
+    @Test
+    @DisplayName("Given an account and a date range, when finding by date range, then return only that account's transactions in the range")
+    void givenAccountAndDateRange_whenFindByDateRange_thenReturnFilteredTransactions() {
+        List<AccountTransaction> transactions = accountTransactionRepository
+                .findByBankingAccountIdAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(bankingAccount.getId(), LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31));
+
+        assertEquals(List.of(LocalDate.of(2023, 2, 15), LocalDate.of(2023, 6, 30), LocalDate.of(2023, 11, 10)), datesOf(transactions));
+    }
+
+    @Test
+    @DisplayName("Given an account, a type and a date range, when finding by type and date range, then return the matching transactions")
+    void givenAccountTypeAndDateRange_whenFindByTypeAndDateRange_thenReturnFilteredTransactions() {
+        List<AccountTransaction> transactions = accountTransactionRepository
+                .findByBankingAccountIdAndAccountTransactionTypeAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(
+                        bankingAccount.getId(), AccountTransactionType.RECHARGE, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31));
+
+        assertEquals(List.of(LocalDate.of(2023, 6, 30), LocalDate.of(2023, 11, 10)), datesOf(transactions));
+    }
+
+    @Test
+    @DisplayName("Given a keyset position, when reading history pages, then walk every transaction once, newest first")
+    void givenKeysetPosition_whenFindHistoryPageAfter_thenWalkEveryTransactionOnce() {
+        List<AccountTransaction> firstPage = accountTransactionRepository
+                .findByBankingAccountIdOrderByDateOfExecutionDescTimeOfExecutionDescIdDesc(bankingAccount.getId(), PageRequest.of(0, 2));
+        AccountTransaction last = firstPage.get(firstPage.size() - 1);
+        List<AccountTransaction> secondPage = accountTransactionRepository.findHistoryPageAfter(bankingAccount.getId(),
+                last.getDateOfExecution(), last.getTimeOfExecution(), last.getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(LocalDate.of(2024, 1, 5), LocalDate.of(2023, 11, 10)), datesOf(firstPage));
+        assertEquals(List.of(LocalDate.of(2023, 6, 30), LocalDate.of(2023, 2, 15)), datesOf(secondPage));
+    }
+
+    @Test
+    @DisplayName("Given an account, when streaming its transactions, then return only that account's transactions in insertion order")
+    void givenAccount_whenStreamByBankingAccountId_thenReturnTransactionsInIdOrder() {
+        List<AccountTransaction> transactions;
+        try (Stream<AccountTransaction> stream = accountTransactionRepository.streamByBankingAccountId(bankingAccount.getId())) {
+            transactions = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(LocalDate.of(2023, 11, 10), LocalDate.of(2023, 2, 15), LocalDate.of(2023, 6, 30), LocalDate.of(2024, 1, 5)),
+                datesOf(transactions));
+    }
+
+    @Test
+    @DisplayName("Given a transaction of another account, when finding or deleting it by account, then leave it untouched")
+    void givenTransactionOfAnotherAccount_whenFindAndDeleteByIdAndAccount_thenLeaveItUntouched() {
+        AccountTransaction transaction = accountTransactionRepository
+                .findByBankingAccountIdOrderByDateOfExecutionDescTimeOfExecutionDescIdDesc(bankingAccount.getId(), PageRequest.of(0, 1)).get(0);
+
+        assertTrue(accountTransactionRepository.findByIdAndBankingAccountId(transaction.getId(), otherBankingAccount.getId()).isEmpty());
+        assertEquals(0, accountTransactionRepository.deleteByIdAndBankingAccountId(transaction.getId(), otherBankingAccount.getId()));
+        assertTrue(accountTransactionRepository.findByIdAndBankingAccountId(transaction.getId(), bankingAccount.getId()).isPresent());
+        assertEquals(1, accountTransactionRepository.deleteByIdAndBankingAccountId(transaction.getId(), bankingAccount.getId()));
+    }
+
+    @Test
+    @DisplayName("Given credits and debits, when summing signed amounts, then add the credits and subtract the debits")
+    void givenCreditsAndDebits_whenSumSignedAmounts_thenReturnSignedSum() {
+        assertEquals(20_000L, accountTransactionRepository.sumSignedAmounts(bankingAccount.getId(), 0L, Long.MAX_VALUE, true));
+    }
+
+    @Test
+    @DisplayName("Given a transaction without a direction, when summing signed amounts, then return null")
+    void givenTransactionWithoutDirection_whenSumSignedAmounts_thenReturnNull() {
+        AccountTransaction legacyTransfer = buildTransaction(bankingAccount, AccountTransactionType.TRANSFER, LocalDate.of(2022, 5, 1));
+        legacyTransfer.setDirection(null);
+        accountTransactionRepository.save(legacyTransfer);
+
+        assertNull(accountTransactionRepository.sumSignedAmounts(bankingAccount.getId(), 0L, Long.MAX_VALUE, true));
+    }
+
+    @Test
+    @DisplayName("Given numbered and unnumbered transactions, when summing signed amounts after a sequence number, then count only the numbered transactions of the range")
+    void givenNumberedTransactions_whenSumSignedAmountsAfterSequenceNumber_thenCountOnlyRange() {
+        AccountTransaction credit = buildTransaction(bankingAccount, AccountTransactionType.RECHARGE, LocalDate.of(2024, 2, 1));
+        credit.setSequenceNumber(1L);
+        AccountTransaction debit = buildTransaction(bankingAccount, AccountTransactionType.WITHDRAWAL, LocalDate.of(2024, 2, 2));
+        debit.setSequenceNumber(2L);
+        accountTransactionRepository.saveAll(List.of(credit, debit));
+
+        assertEquals(-10_000L, accountTransactionRepository.sumSignedAmounts(bankingAccount.getId(), 1L, Long.MAX_VALUE, false));
+        assertEquals(10_000L, accountTransactionRepository.sumSignedAmounts(bankingAccount.getId(), 0L, 1L, false));
+        assertEquals(20_000L, accountTransactionRepository.sumSignedAmounts(bankingAccount.getId(), 0L, Long.MAX_VALUE, true));
+    }
+
+    private static AccountTransaction buildTransaction(BankingAccount account, AccountTransactionType type, LocalDate date) {
+        return AccountTransaction.builder()
+                .bankingAccount(account)
+                .accountTransactionType(type)
+                .direction(type == AccountTransactionType.RECHARGE ? AccountTransactionDirection.CREDIT : AccountTransactionDirection.DEBIT)
+                .amount(Money.ofMajor(100))
+                .dateOfExecution(date)
+                .timeOfExecution(LocalTime.NOON)
+                .build();
+    }
+
+    private static List<LocalDate> datesOf(List<AccountTransaction> transactions) {
+        return transactions.stream().map(AccountTransaction::getDateOfExecution).collect(Collectors.toList());
+    }
+}
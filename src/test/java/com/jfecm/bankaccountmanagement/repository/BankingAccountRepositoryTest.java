@@ -2,18 +2,24 @@ package com.jfecm.bankaccountmanagement.repository;
 
 import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
 import com.jfecm.bankaccountmanagement.builders.ClientBuilder;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.util.AccountNumberGenerator;
+import com.jfecm.bankaccountmanagement.util.AccountNumbers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +64,41 @@ class BankingAccountRepositoryTest {
         assertNull(foundBankingAccount);
     }
 
+    @Test
+    @DisplayName("Given account numbers, when finding by account numbers, then return only the existing BankingAccounts")
+    void givenAccountNumbers_whenFindByAccountNumberIn_thenReturnBankingAccountList() {
+        List<BankingAccount> foundBankingAccounts = bankingAccountRepository.findByAccountNumberIn(
+                List.of(bankingAccount.getAccountNumber(), BankingAccountBuilder.getRandomAccountNumber()));
+
+        assertEquals(1, foundBankingAccounts.size());
+        assertEquals(bankingAccount.getAccountNumber(), foundBankingAccounts.get(0).getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("Given an account key, when finding by account key, then return the BankingAccount")
+    void givenAccountKey_whenFindByAccountKey_thenReturnBankingAccount() {
+        String accountNumber = AccountNumbers.format(bankingAccountRepository.nextAccountNumberBlock());
+        bankingAccount.setAccountNumber(accountNumber);
+        bankingAccount.setAccountKey(AccountNumbers.toKey(accountNumber));
+        bankingAccountRepository.save(bankingAccount);
+
+        BankingAccount foundBankingAccount = bankingAccountRepository.findByAccountKey(Long.parseLong(accountNumber));
+
+        assertNotNull(foundBankingAccount);
+        assertEquals(accountNumber, foundBankingAccount.getAccountNumber());
+        assertEquals(1, bankingAccountRepository.findByAccountKeyIn(List.of(Long.parseLong(accountNumber), 18L)).size());
+        assertTrue(bankingAccountRepository.findMetadataByAccountKey(Long.parseLong(accountNumber)).isPresent());
+    }
+
+    @Test
+    @DisplayName("Given the account number sequence, when reserving blocks, then every block starts one block size after the previous one")
+    void givenAccountNumberSequence_whenNextAccountNumberBlock_thenAdvanceByBlockSize() {
+        long first = bankingAccountRepository.nextAccountNumberBlock();
+        long second = bankingAccountRepository.nextAccountNumberBlock();
+
+        assertEquals(AccountNumberGenerator.BLOCK_SIZE, second - first);
+    }
+
     @Test
     @DisplayName("Given banking account status, when finding by status, then return BankingAccount list")
     void givenBankingAccountStatus_whenFindByBankingAccountStatus_thenReturnBankingAccountList() {
@@ -78,4 +119,46 @@ class BankingAccountRepositoryTest {
         assertTrue(bankingAccountList.isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Given accounts with several statuses, when reading summaries after an ID, then return the next accounts of the status in ID order")
+    void givenAccounts_whenFindSummariesAfter_thenReturnNextAccountsInIdOrder() {
+        Client owner = ClientBuilder.buildClientWithoutBankingAccountRepository();
+        owner.setEmail(owner.getDni() + "@example.com");
+        clientRepository.save(owner);
+        BankingAccount owned = BankingAccountBuilder.buildBankingAccountRepository();
+        owned.setClient(owner);
+        BankingAccount closed = BankingAccountBuilder.buildBankingAccountRepository();
+        closed.setBankingAccountStatus(BankingAccountStatus.CLOSED);
+        List<BankingAccount> saved = bankingAccountRepository.saveAll(List.of(owned, BankingAccountBuilder.buildBankingAccountRepository(), closed));
+
+        List<ResponseAccountSummary> firstPage = bankingAccountRepository.findSummariesAfter(BankingAccountStatus.ACTIVE, bankingAccount.getId(), PageRequest.of(0, 1));
+        List<ResponseAccountSummary> secondPage = bankingAccountRepository.findSummariesAfter(BankingAccountStatus.ACTIVE, firstPage.get(0).getId(), PageRequest.of(0, 5));
+
+        assertEquals(List.of(saved.get(0).getId()), idsOf(firstPage));
+        assertEquals(owner.getDni(), firstPage.get(0).getClientDni());
+        assertEquals(owned.getAccountNumber(), firstPage.get(0).getAccountNumber());
+        assertEquals(owned.getBalance(), firstPage.get(0).getBalance());
+        assertEquals(List.of(saved.get(1).getId()), idsOf(secondPage));
+        assertEquals(3, bankingAccountRepository.countByBankingAccountStatus(BankingAccountStatus.ACTIVE));
+        assertEquals(1, bankingAccountRepository.countByBankingAccountStatus(BankingAccountStatus.CLOSED));
+    }
+
+    @Test
+    @DisplayName("Given accounts with several statuses, when streaming the summaries of a status, then return its accounts in ID order")
+    void givenAccounts_whenStreamSummariesByBankingAccountStatus_thenReturnAccountsInIdOrder() {
+        BankingAccount closed = BankingAccountBuilder.buildBankingAccountRepository();
+        closed.setBankingAccountStatus(BankingAccountStatus.CLOSED);
+        List<BankingAccount> saved = bankingAccountRepository.saveAll(List.of(BankingAccountBuilder.buildBankingAccountRepository(), closed));
+
+        List<ResponseAccountSummary> summaries;
+        try (Stream<ResponseAccountSummary> stream = bankingAccountRepository.streamSummariesByBankingAccountStatus(BankingAccountStatus.ACTIVE)) {
+            summaries = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(bankingAccount.getId(), saved.get(0).getId()), idsOf(summaries));
+    }
+
+    private static List<Long> idsOf(List<ResponseAccountSummary> summaries) {
+        return summaries.stream().map(ResponseAccountSummary::getId).collect(Collectors.toList());
+    }
+}
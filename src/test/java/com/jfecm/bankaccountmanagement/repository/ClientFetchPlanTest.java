@@ -0,0 +1,151 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
+import com.jfecm.bankaccountmanagement.builders.ClientBuilder;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.Client;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.mapper.ClientMapper;
+import com.jfecm.bankaccountmanagement.support.SqlStatementCounter;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements of the client read use cases (list, detail and report views) and
+ * checks that the account of a client is only loaded when used. Requires the entities to be enhanced by
+ * the hibernate-enhance-maven-plugin, as in a Maven build.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Client Fetch Plan Tests")
+class ClientFetchPlanTest {
+    private static final int MAIN_CLIENTS = 3;
+    private static final int ADHERENTS_PER_CLIENT = 2;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 3;
+
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private AccountTransactionRepository accountTransactionRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private SqlStatementCounter statements;
+    private Client mainClient;
+    private Client adherent;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MAIN_CLIENTS; i++) {
+            Client main = saveClient(null);
+            for (int j = 0; j < ADHERENTS_PER_CLIENT; j++) {
+                adherent = saveClient(main);
+            }
+            mainClient = main;
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statements = new SqlStatementCounter(entityManagerFactory);
+        statements.reset();
+    }
+
+    @Test
+    @DisplayName("Given clients with accounts and adherents, when listing and mapping them, then run one query for the clients and one for the adherents")
+    void givenClientsWithAdherents_whenFindByUserStatusAndMap_thenRunTwoStatements() {
+        List<ResponseClientData> clients = clientRepository.findByUserStatus(UserStatus.ACTIVE).stream()
+                .map(ClientMapper::toResponse)
+                .collect(Collectors.toList());
+
+        assertEquals(MAIN_CLIENTS * (1 + ADHERENTS_PER_CLIENT), clients.size());
+        assertTrue(clients.stream().allMatch(client -> client.getBankingAccount().getAccountNumber() != null));
+        assertEquals(MAIN_CLIENTS * ADHERENTS_PER_CLIENT, clients.stream().mapToInt(client -> client.getAdherents().size()).sum());
+        statements.assertCount(2);
+    }
+
+    @Test
+    @DisplayName("Given a client with adherents, when finding its details, then load the client, the adherents and their accounts in one query")
+    void givenClientWithAdherents_whenFindDetailByDni_thenRunOneStatement() {
+        Client client = clientRepository.findDetailByDni(mainClient.getDni());
+
+        assertNotNull(client.getBankingAccount().getAccountNumber());
+        assertEquals(ADHERENTS_PER_CLIENT, client.getAdherents().size());
+        client.getAdherents().forEach(adherent -> assertNotNull(adherent.getBankingAccount().getAccountNumber()));
+        statements.assertCount(1);
+    }
+
+    @Test
+    @DisplayName("Given an adherent, when finding and mapping its details, then load the adherent, its account and its main client in one query")
+    void givenAdherent_whenFindDetailByDniAndMap_thenRunOneStatement() {
+        ResponseClientData client = ClientMapper.toResponse(clientRepository.findDetailByDni(adherent.getDni()));
+
+        assertNotNull(client.getBankingAccount().getAccountNumber());
+        assertEquals(mainClient.getDni(), client.getMainClient().getDni());
+        assertTrue(client.getAdherents().isEmpty());
+        statements.assertCount(1);
+    }
+
+    @Test
+    @DisplayName("Given a client with transactions, when finding its report, then load the client, the account and the transactions in one query")
+    void givenClientWithTransactions_whenFindReportByDni_thenRunOneStatement() {
+        Client client = clientRepository.findReportByDni(mainClient.getDni());
+
+        assertEquals(TRANSACTIONS_PER_ACCOUNT, client.getBankingAccount().getAccountTransactions().size());
+        statements.assertCount(1);
+    }
+
+    @Test
+    @DisplayName("Given a client, when finding it by DNI, then load the account only when it is used")
+    void givenClient_whenFindByDni_thenLoadBankingAccountLazily() {
+        Client client = clientRepository.findByDni(mainClient.getDni());
+
+        assertFalse(Hibernate.isPropertyInitialized(client, "bankingAccount"));
+        statements.assertCount(1);
+
+        assertNotNull(client.getBankingAccount().getAccountNumber());
+        statements.assertCount(2);
+    }
+
+    private Client saveClient(Client main) {
+        Client client = ClientBuilder.buildClientWithoutBankingAccountRepository();
+        client.setEmail(client.getDni() + "@example.com");
+        client.setMainClient(main);
+
+        BankingAccount account = BankingAccountBuilder.buildBankingAccountRepository();
+        account.setClient(client);
+        client.setBankingAccount(account);
+        clientRepository.save(client);
+
+        for (int i = 0; i < TRANSACTIONS_PER_ACCOUNT; i++) {
+            accountTransactionRepository.save(AccountTransaction.builder()
+                    .bankingAccount(account)
+                    .accountTransactionType(AccountTransactionType.RECHARGE)
+                    .direction(AccountTransactionDirection.CREDIT)
+                    .amount(Money.ofMajor(100))
+                    .dateOfExecution(LocalDate.of(2024, 1, 1 + i))
+                    .timeOfExecution(LocalTime.NOON)
+                    .build());
+        }
+        return client;
+    }
+}
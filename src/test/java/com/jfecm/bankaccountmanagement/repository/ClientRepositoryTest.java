@@ -1,6 +1,9 @@
 package com.jfecm.bankaccountmanagement.repository;
 
+import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
 import com.jfecm.bankaccountmanagement.builders.ClientBuilder;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.Client;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
 import org.junit.jupiter.api.AfterEach;
@@ -9,9 +12,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -107,4 +113,56 @@ class ClientRepositoryTest {
         // Assert that the list contains the saved client with the expected UserStatus
         assertTrue(clientList.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given clients with several statuses, when reading summaries after an ID, then return the next clients of the status in ID order")
+    void givenClients_whenFindSummariesAfter_thenReturnNextClientsInIdOrder() {
+        List<Client> active = saveActiveClientsAndOneInactive();
+
+        List<ResponseClientSummary> firstPage = clientRepository.findSummariesAfter(UserStatus.ACTIVE, 0L, PageRequest.of(0, 2));
+        List<ResponseClientSummary> secondPage = clientRepository.findSummariesAfter(UserStatus.ACTIVE, firstPage.get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(active.get(0).getId(), active.get(1).getId()), idsOf(firstPage));
+        assertEquals(List.of(active.get(2).getId()), idsOf(secondPage));
+        assertEquals(active.get(0).getBankingAccount().getAccountNumber(), firstPage.get(0).getAccountNumber());
+        assertNull(firstPage.get(1).getAccountNumber());
+        assertEquals(3, clientRepository.countByUserStatus(UserStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Given clients with several statuses, when streaming the summaries of a status, then return its clients in ID order")
+    void givenClients_whenStreamSummariesByUserStatus_thenReturnClientsInIdOrder() {
+        List<Client> active = saveActiveClientsAndOneInactive();
+
+        List<ResponseClientSummary> summaries;
+        try (Stream<ResponseClientSummary> stream = clientRepository.streamSummariesByUserStatus(UserStatus.ACTIVE)) {
+            summaries = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(active.stream().map(Client::getId).collect(Collectors.toList()), idsOf(summaries));
+    }
+
+    private List<Client> saveActiveClientsAndOneInactive() {
+        Client withAccount = clientWithUniqueEmail();
+        BankingAccount account = BankingAccountBuilder.buildBankingAccountRepository();
+        account.setClient(withAccount);
+        withAccount.setBankingAccount(account);
+
+        Client inactive = clientWithUniqueEmail();
+        inactive.setUserStatus(UserStatus.INACTIVE);
+
+        List<Client> active = clientRepository.saveAll(List.of(withAccount, client, clientWithUniqueEmail()));
+        clientRepository.save(inactive);
+        return active;
+    }
+
+    private static Client clientWithUniqueEmail() {
+        Client client = ClientBuilder.buildClientWithoutBankingAccountRepository();
+        client.setEmail(client.getDni() + "@example.com");
+        return client;
+    }
+
+    private static List<Long> idsOf(List<ResponseClientSummary> summaries) {
+        return summaries.stream().map(ResponseClientSummary::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,84 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.entity.EmailOutboxMessage;
+import com.jfecm.bankaccountmanagement.entity.enums.EmailOutboxStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("EmailOutboxRepository Tests")
+class EmailOutboxRepositoryTest {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    @DisplayName("Given pending messages, when finding the due ones, then return only those due in attempt order")
+    void givenPendingMessages_whenFindDue_thenReturnDueMessagesInOrder() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        EmailOutboxMessage later = emailOutboxRepository.save(message(EmailOutboxStatus.PENDING, now.minusMinutes(1)));
+        EmailOutboxMessage first = emailOutboxRepository.save(message(EmailOutboxStatus.PENDING, now.minusMinutes(5)));
+        emailOutboxRepository.save(message(EmailOutboxStatus.PENDING, now.plusMinutes(5)));
+        emailOutboxRepository.save(message(EmailOutboxStatus.SENT, now.minusMinutes(10)));
+        emailOutboxRepository.flush();
+
+        List<EmailOutboxMessage> due = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(
+                EmailOutboxStatus.PENDING, now, PageRequest.of(0, 10));
+
+        assertEquals(List.of(first.getId(), later.getId()), due.stream().map(EmailOutboxMessage::getId).collect(Collectors.toList()));
+        assertEquals(3, emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    }
+
+    @Test
+    @DisplayName("Given a due message, when claiming it twice with the same attempt time, then only the first claim succeeds")
+    void givenDueMessage_whenClaimTwice_thenOnlyFirstClaimSucceeds() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        EmailOutboxMessage message = emailOutboxRepository.saveAndFlush(message(EmailOutboxStatus.PENDING, now.minusMinutes(1)));
+
+        int first = emailOutboxRepository.claim(message.getId(), message.getNextAttemptAt(), now.plusMinutes(5));
+        int second = emailOutboxRepository.claim(message.getId(), message.getNextAttemptAt(), now.plusMinutes(5));
+
+        assertEquals(1, first);
+        assertEquals(0, second);
+    }
+
+    @Test
+    @DisplayName("Given a sent message, when clearing its body, then store it without the body")
+    void givenSentMessage_whenClearBody_thenStoreWithoutBody() {
+        EmailOutboxMessage message = emailOutboxRepository.saveAndFlush(message(EmailOutboxStatus.PENDING, LocalDateTime.now()));
+
+        message.setStatus(EmailOutboxStatus.SENT);
+        message.setBody(null);
+        emailOutboxRepository.saveAndFlush(message);
+        entityManager.clear();
+
+        assertNull(emailOutboxRepository.findById(message.getId()).orElseThrow().getBody());
+    }
+
+    private static EmailOutboxMessage message(EmailOutboxStatus status, LocalDateTime nextAttemptAt) {
+        return EmailOutboxMessage.builder()
+                .recipient("client@example.com")
+                .subject("Welcome message")
+                .body("<p>Welcome</p>")
+                .status(status)
+                .attempts(0)
+                .nextAttemptAt(nextAttemptAt)
+                .createdAt(nextAttemptAt)
+                .build();
+    }
+}
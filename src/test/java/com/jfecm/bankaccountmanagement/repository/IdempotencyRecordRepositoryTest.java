@@ -0,0 +1,44 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import com.jfecm.bankaccountmanagement.entity.IdempotencyRecord;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("IdempotencyRecordRepository Tests")
+class IdempotencyRecordRepositoryTest {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    @DisplayName("Given an inserted key, when linking it to a transaction, then store the transaction ID")
+    void givenInsertedKey_whenSetTransactionId_thenStoreTransactionId() {
+        idempotencyRecordRepository.insertKey("123:key", "RECHARGE", "fingerprint", LocalDateTime.now());
+        idempotencyRecordRepository.setTransactionId("123:key", 7L);
+
+        IdempotencyRecord result = idempotencyRecordRepository.findById("123:key").orElseThrow();
+
+        assertEquals(7L, result.getTransactionId());
+        assertEquals(AccountTransactionType.RECHARGE, result.getOperation());
+        assertEquals("fingerprint", result.getRequestFingerprint());
+    }
+
+    @Test
+    @DisplayName("Given a recorded key, when inserting it again, then throw DataIntegrityViolationException")
+    void givenRecordedKey_whenInsertKey_thenThrowDataIntegrityViolationException() {
+        idempotencyRecordRepository.insertKey("123:key", "RECHARGE", "fingerprint", LocalDateTime.now());
+
+        assertThrows(DataIntegrityViolationException.class, () -> idempotencyRecordRepository.insertKey("123:key", "RECHARGE", "fingerprint", LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,138 @@
+package com.jfecm.bankaccountmanagement.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL behind the hot repository queries against the migrated schema,
+ * so that a dropped or renamed index shows up as a failing test instead of a full table scan.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Given a DNI, when explaining findByDni, then use the DNI index")
+    void givenDni_whenExplainFindByDni_thenUseDniIndex() {
+        assertUsesIndex("idx_clients_dni",
+                "select * from clients c where c.dni = '12345678'");
+    }
+
+    @Test
+    @DisplayName("Given a user status, when explaining findByUserStatus, then use the user status index")
+    void givenUserStatus_whenExplainFindByUserStatus_thenUseUserStatusIndex() {
+        assertUsesIndex("idx_clients_user_status",
+                "select * from clients c where c.user_status = 'ACTIVE'");
+    }
+
+    @Test
+    @DisplayName("Given a user status and a keyset position, when explaining the client page query, then do not scan the tables")
+    void givenUserStatusAndKeyset_whenExplainFindSummariesAfter_thenDoNotScanTables() {
+        String plan = explain("select c.id, c.dni, a.account_number from clients c left join banking_accounts a on a.client_id = c.id"
+                + " where c.user_status = 'ACTIVE' and c.id > 100 order by c.id limit 51");
+
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    @DisplayName("Given a main client, when explaining the adherents lookup, then use the main client index")
+    void givenMainClient_whenExplainFindAdherents_thenUseMainClientIndex() {
+        String plan = explain("select * from clients c where c.main_client_id = 1");
+
+        // H2 keeps the index it creates for the foreign key and may pick it over idx_clients_main_client_id,
+        // which MariaDB uses in its place: either way the lookup must go through an index on main_client_id.
+        assertFalse(plan.contains("tablescan"), plan);
+        assertTrue(Pattern.compile("/\\* public\\.\\w+: main_client_id = ").matcher(plan).find(), plan);
+    }
+
+    @Test
+    @DisplayName("Given an account number, when explaining findByAccountNumber, then use the account number unique key")
+    void givenAccountNumber_whenExplainFindByAccountNumber_thenUseAccountNumberUniqueKey() {
+        assertUsesIndex("uk_banking_accounts_account_number",
+                "select * from banking_accounts a where a.account_number = '123456789'");
+    }
+
+    @Test
+    @DisplayName("Given an account key, when explaining findByAccountKey, then use the account key unique key")
+    void givenAccountKey_whenExplainFindByAccountKey_thenUseAccountKeyUniqueKey() {
+        assertUsesIndex("uk_banking_accounts_account_key",
+                "select * from banking_accounts a where a.account_key = 18");
+    }
+
+    @Test
+    @DisplayName("Given an account status, when explaining the status lookup, then use the account status index")
+    void givenAccountStatus_whenExplainFindByStatus_thenUseAccountStatusIndex() {
+        assertUsesIndex("idx_banking_accounts_status",
+                "select * from banking_accounts a where a.banking_account_status = 'ACTIVE'");
+    }
+
+    @Test
+    @DisplayName("Given an account status and a keyset position, when explaining the account page query, then do not scan the tables")
+    void givenAccountStatusAndKeyset_whenExplainFindSummariesAfter_thenDoNotScanTables() {
+        String plan = explain("select a.id, a.account_number, c.dni from banking_accounts a left join clients c on c.id = a.client_id"
+                + " where a.banking_account_status = 'ACTIVE' and a.id > 100 order by a.id limit 51");
+
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    @DisplayName("Given an account and a date range, when explaining the date range filter, then use the account date index")
+    void givenAccountAndDateRange_whenExplainFindByDateRange_thenUseAccountDateIndex() {
+        assertUsesIndex("idx_account_transactions_account_date_time",
+                "select * from account_transactions t where t.banking_account_id = 1"
+                        + " and t.date_of_execution between date '2023-01-01' and date '2023-12-31'"
+                        + " order by t.date_of_execution, t.id");
+    }
+
+    @Test
+    @DisplayName("Given an account, a type and a date range, when explaining the type and date filter, then use the account type date index")
+    void givenAccountTypeAndDateRange_whenExplainFindByTypeAndDateRange_thenUseAccountTypeDateIndex() {
+        assertUsesIndex("idx_account_transactions_account_type_date",
+                "select * from account_transactions t where t.banking_account_id = 1 and t.account_transaction_type = 'RECHARGE'"
+                        + " and t.date_of_execution between date '2023-01-01' and date '2023-12-31'"
+                        + " order by t.date_of_execution, t.id");
+    }
+
+    @Test
+    @DisplayName("Given an account and a keyset position, when explaining the history page query, then do not scan the table")
+    void givenAccountAndKeyset_whenExplainFindHistoryPageAfter_thenDoNotScanTable() {
+        String plan = explain("select * from account_transactions t where t.banking_account_id = 1"
+                + " and (t.date_of_execution < date '2023-06-30' or (t.date_of_execution = date '2023-06-30' and t.time_of_execution <= time '12:00:00'))"
+                + " order by t.date_of_execution desc, t.time_of_execution desc, t.id desc limit 50");
+
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    @DisplayName("Given an account and a date range, when explaining the summary query, then seek the rollup primary key")
+    void givenAccountAndDateRange_whenExplainSumByTypeAndDirection_thenDoNotScanTable() {
+        String plan = explain("select s.account_transaction_type, s.direction, sum(s.transaction_count), sum(s.total_amount) from account_daily_summaries s"
+                + " where s.banking_account_id = 1 and s.summary_date between date '2023-01-01' and date '2023-12-31'"
+                + " group by s.account_transaction_type, s.direction");
+
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("tablescan"), plan);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class)).toLowerCase();
+    }
+}
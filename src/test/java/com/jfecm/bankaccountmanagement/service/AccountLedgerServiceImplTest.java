@@ -0,0 +1,137 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.entity.BalanceSnapshot;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import com.jfecm.bankaccountmanagement.repository.BalanceSnapshotRepository;
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import com.jfecm.bankaccountmanagement.service.imp.AccountLedgerServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AccountLedgerServiceImpl Tests")
+@ExtendWith(MockitoExtension.class)
+class AccountLedgerServiceImplTest {
+    @Mock
+    private AccountTransactionRepository accountTransactionRepository;
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Mock
+    private BankingAccountRepository bankingAccountRepository;
+    private AccountLedgerServiceImpl accountLedgerService;
+
+    @AfterEach
+    void tearDown() {
+        if (accountLedgerService != null) {
+            accountLedgerService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Given mutable mode, when applying a movement, then update the balance column")
+    void givenMutableMode_whenApplyMovement_thenUpdateBalanceColumn() {
+        accountLedgerService = create("mutable", 100);
+        BankingAccount account = BankingAccount.builder().id(1L).balance(Money.ofMajor(100)).build();
+
+        long newBalance = accountLedgerService.applyMovement(account, accountLedgerService.getBalance(account), -4_000L);
+
+        assertEquals(6_000L, newBalance);
+        assertEquals(Money.ofMajor(60), account.getBalance());
+        verifyNoInteractions(accountTransactionRepository, balanceSnapshotRepository);
+    }
+
+    @Test
+    @DisplayName("Given event-sourced mode, when getting the balance, then add the transactions after the latest snapshot")
+    void givenEventSourcedMode_whenGetBalance_thenDeriveFromSnapshotAndTail() {
+        accountLedgerService = create(AccountLedgerServiceImpl.EVENT_SOURCED, 100);
+        BankingAccount account = BankingAccount.builder().id(1L).balance(Money.ZERO).build();
+        when(balanceSnapshotRepository.findTopByBankingAccountIdOrderByLastSequenceNumberDesc(1L))
+                .thenReturn(Optional.of(BalanceSnapshot.builder().bankingAccountId(1L).lastSequenceNumber(10L).balance(Money.ofMajor(500)).createdAt(LocalDateTime.now()).build()));
+        when(accountTransactionRepository.sumSignedAmounts(1L, 10L, Long.MAX_VALUE, false)).thenReturn(-12_000L);
+
+        long balance = accountLedgerService.getBalance(account);
+        long newBalance = accountLedgerService.applyMovement(account, balance, 2_000L);
+
+        assertEquals(38_000L, balance);
+        assertEquals(40_000L, newBalance);
+        assertEquals(Money.ZERO, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("Given event-sourced mode, when the snapshot interval is reached, then write a snapshot")
+    void givenEventSourcedMode_whenSnapshotIntervalReached_thenWriteSnapshot() {
+        accountLedgerService = create(AccountLedgerServiceImpl.EVENT_SOURCED, 2);
+        BankingAccount account = BankingAccount.builder().id(1L).balance(Money.ZERO).build();
+        when(balanceSnapshotRepository.findTopByBankingAccountIdOrderByLastSequenceNumberDesc(1L)).thenReturn(Optional.empty());
+        when(accountTransactionRepository.findLastSequenceNumber(1L)).thenReturn(7L);
+        when(accountTransactionRepository.sumSignedAmounts(1L, 0L, 7L, true)).thenReturn(7_500L);
+
+        accountLedgerService.applyMovement(account, 0L, 10_000L);
+        accountLedgerService.applyMovement(account, 10_000L, -2_500L);
+
+        ArgumentCaptor<BalanceSnapshot> snapshot = ArgumentCaptor.forClass(BalanceSnapshot.class);
+        verify(balanceSnapshotRepository, timeout(5000)).save(snapshot.capture());
+        verify(bankingAccountRepository, timeout(5000)).updateBalance(1L, Money.ofMajor(75));
+        assertEquals(7L, snapshot.getValue().getLastSequenceNumber());
+        assertEquals(Money.ofMajor(75), snapshot.getValue().getBalance());
+        verify(balanceSnapshotRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Given event-sourced mode and transactions without a direction, when getting the balance, then throw IllegalStateException")
+    void givenTransactionsWithoutDirection_whenGetBalance_thenThrowIllegalStateException() {
+        accountLedgerService = create(AccountLedgerServiceImpl.EVENT_SOURCED, 100);
+        BankingAccount account = BankingAccount.builder().id(1L).balance(Money.ZERO).build();
+        when(balanceSnapshotRepository.findTopByBankingAccountIdOrderByLastSequenceNumberDesc(1L)).thenReturn(Optional.empty());
+        when(accountTransactionRepository.sumSignedAmounts(1L, 0L, Long.MAX_VALUE, true)).thenReturn(null);
+
+        assertThrows(IllegalStateException.class, () -> accountLedgerService.getBalance(account));
+    }
+
+    @Test
+    @DisplayName("Given event-sourced mode and a changed transaction, when invalidating snapshots, then drop the snapshots including it and rebuild the latest one")
+    void givenChangedTransaction_whenInvalidateSnapshots_thenDropAndRebuildSnapshots() {
+        accountLedgerService = create(AccountLedgerServiceImpl.EVENT_SOURCED, 100);
+        when(balanceSnapshotRepository.findTopByBankingAccountIdOrderByLastSequenceNumberDesc(1L))
+                .thenReturn(Optional.of(BalanceSnapshot.builder().bankingAccountId(1L).lastSequenceNumber(4L).balance(Money.ofMajor(40)).createdAt(LocalDateTime.now()).build()));
+        when(accountTransactionRepository.findLastSequenceNumber(1L)).thenReturn(9L);
+        when(accountTransactionRepository.sumSignedAmounts(1L, 4L, 9L, false)).thenReturn(3_000L);
+
+        accountLedgerService.invalidateSnapshots(1L, 5L);
+
+        ArgumentCaptor<BalanceSnapshot> snapshot = ArgumentCaptor.forClass(BalanceSnapshot.class);
+        verify(balanceSnapshotRepository, timeout(5000)).save(snapshot.capture());
+        verify(balanceSnapshotRepository, times(2)).deleteIncluding(1L, 5L);
+        assertEquals(9L, snapshot.getValue().getLastSequenceNumber());
+        assertEquals(Money.ofMajor(70), snapshot.getValue().getBalance());
+    }
+
+    @Test
+    @DisplayName("Given mutable mode, when invalidating snapshots, then do nothing")
+    void givenMutableMode_whenInvalidateSnapshots_thenDoNothing() {
+        accountLedgerService = create("mutable", 100);
+
+        accountLedgerService.invalidateSnapshots(1L, 5L);
+
+        verifyNoInteractions(accountTransactionRepository, balanceSnapshotRepository);
+    }
+
+    private AccountLedgerServiceImpl create(String mode, int snapshotInterval) {
+        return new AccountLedgerServiceImpl(mode, snapshotInterval, accountTransactionRepository,
+                balanceSnapshotRepository, bankingAccountRepository, TransactionOperations.withoutTransaction());
+    }
+}
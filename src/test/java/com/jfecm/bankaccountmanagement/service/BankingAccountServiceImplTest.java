@@ -1,18 +1,39 @@
 package com.jfecm.bankaccountmanagement.service;
 
+import com.jfecm.bankaccountmanagement.audit.AuditLog;
+import com.jfecm.bankaccountmanagement.audit.AuditOperation;
+import com.jfecm.bankaccountmanagement.audit.AuditOutcome;
 import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadata;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadataCache;
+import com.jfecm.bankaccountmanagement.concurrency.AccountLockManager;
+import com.jfecm.bankaccountmanagement.concurrency.DailyWithdrawalTracker;
+import com.jfecm.bankaccountmanagement.concurrency.LockingAccountMutationExecutor;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateTransaction;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateTransaction;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseAccountSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionPage;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransactionTypeSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseTransferResult;
 import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
 import com.jfecm.bankaccountmanagement.entity.BankingAccount;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
 import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
 import com.jfecm.bankaccountmanagement.entity.enums.BankingAccountStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.exceptions.InactiveAccountException;
+import com.jfecm.bankaccountmanagement.exceptions.InsufficientFundsException;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidAccountNumberException;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidPageRequestException;
 import com.jfecm.bankaccountmanagement.exceptions.InvalidTransactionException;
 import com.jfecm.bankaccountmanagement.exceptions.ResourceNotFoundException;
+import com.jfecm.bankaccountmanagement.repository.AccountDailySummaryRepository;
 import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
 import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import com.jfecm.bankaccountmanagement.service.imp.AccountLedgerServiceImpl;
 import com.jfecm.bankaccountmanagement.service.imp.BankingAccountServiceImpl;
+import com.jfecm.bankaccountmanagement.util.AccountNumbers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,11 +41,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -41,10 +66,22 @@ class BankingAccountServiceImplTest {
     private BankingAccountRepository bankingAccountRepository;
     @Mock
     private AccountTransactionRepository accountTransactionRepository;
+    @Mock
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+    @Mock
+    private AccountMetadataCache accountMetadataCache;
     @InjectMocks
     private BankingAccountServiceImpl bankingAccountService;
-    @Mock
-    private ModelMapper mapper;
+    @Spy
+    private LockingAccountMutationExecutor accountMutationExecutor =
+            new LockingAccountMutationExecutor(new AccountLockManager(16), TransactionOperations.withoutTransaction());
+    @Spy
+    private AccountLedgerServiceImpl accountLedgerService =
+            new AccountLedgerServiceImpl("mutable", 100, null, null, null, TransactionOperations.withoutTransaction());
+    @Spy
+    private DailyWithdrawalTracker dailyWithdrawalTracker = new DailyWithdrawalTracker(null);
+    @Spy
+    private AuditLog auditLog = new AuditLog(false, "target/audit/audit.log", 16, DataSize.ofKilobytes(1), 1);
     private BankingAccount bankingAccount;
 
     @BeforeEach
@@ -116,16 +153,17 @@ class BankingAccountServiceImplTest {
         bankingAccountService.deleteBankingAccount(accountNumber);
 
         verify(bankingAccountRepository, times(1)).save(bankingAccount);
+        verify(accountMetadataCache, times(1)).invalidate(accountNumber);
         assertEquals(BankingAccountStatus.CLOSED, bankingAccount.getBankingAccountStatus());
     }
 
     @Test @DisplayName("Given an inactive account, when deleting a banking account, then throw InactiveAccountException")
     void givenAccountNumber_whenDeleteBankingAccount_thenThrowInactiveAccountException() {
         BankingAccount bankingAccountDisabled = BankingAccount.builder().accountNumber("123").bankingAccountStatus(BankingAccountStatus.INACTIVE).build();
-        when(bankingAccountRepository.findByAccountNumber(anyString())).thenReturn(bankingAccountDisabled);
+        when(bankingAccountRepository.findByAccountNumber("123")).thenReturn(bankingAccountDisabled);
 
         InactiveAccountException result = assertThrows(InactiveAccountException.class, () ->
-                bankingAccountService.deleteBankingAccount(anyString()));
+                bankingAccountService.deleteBankingAccount("123"));
 
         assertEquals("The bank account is not active.", result.getMessage());
     }
@@ -140,6 +178,7 @@ class BankingAccountServiceImplTest {
         bankingAccountService.updateBankingAccountStatusByAccountNumber(accountNumber, newStatus);
 
         verify(bankingAccountRepository, times(1)).save(bankingAccount);
+        verify(accountMetadataCache, times(1)).invalidate(accountNumber);
         assertEquals(newStatus, bankingAccount.getBankingAccountStatus());
     }
 
@@ -164,14 +203,9 @@ class BankingAccountServiceImplTest {
     @Test @DisplayName("Given an account number and id transaction, when getting a transaction, then return the transaction")
     void givenAccountNumberAndIdTransaction_whenGetTransactionByAccountNumber_thenReturnAccountTransaction() {
         String accountNumber = bankingAccount.getAccountNumber();
-        List<AccountTransaction> accountTransactionList = List.of(
-                AccountTransaction.builder().id(1L).build(),
-                AccountTransaction.builder().id(2L).build(),
-                AccountTransaction.builder().id(3L).build(),
-                AccountTransaction.builder().id(4L).build()
-        );
-        bankingAccount.setAccountTransactions(accountTransactionList);
-        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByIdAndBankingAccountId(3L, bankingAccount.getId()))
+                .thenReturn(Optional.of(AccountTransaction.builder().id(3L).build()));
 
         AccountTransaction result = bankingAccountService.getTransactionByAccountNumber(accountNumber, 3L);
 
@@ -182,40 +216,183 @@ class BankingAccountServiceImplTest {
     @Test @DisplayName("Given an account number, id transaction and a transaction update request, when updating a transaction, then update the transaction")
     void givenAccountNumberIdTransactionAndRequestUpdateTransaction_whenUpdateTransaction_thenReturnUpdatedAccountTransaction() {
         String accountNumber = bankingAccount.getAccountNumber();
-        List<AccountTransaction> accountTransactionList = List.of(AccountTransaction.builder().id(1L).build());
-        bankingAccount.setAccountTransactions(accountTransactionList);
-        RequestUpdateTransaction requestUpdateTransaction = RequestUpdateTransaction.builder().amount(100.0).build();
-        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
-        when(accountTransactionRepository.save(any(AccountTransaction.class))).thenReturn(AccountTransaction.builder().id(1L).amount(100.0).build());
+        RequestUpdateTransaction requestUpdateTransaction = RequestUpdateTransaction.builder().amount(Money.ofMajor(100)).build();
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByIdAndBankingAccountId(1L, bankingAccount.getId()))
+                .thenReturn(Optional.of(AccountTransaction.builder().id(1L).build()));
+        when(accountTransactionRepository.save(any(AccountTransaction.class))).thenReturn(AccountTransaction.builder().id(1L).amount(Money.ofMajor(100)).build());
 
         AccountTransaction result = bankingAccountService.updateTransaction(accountNumber, 1L, requestUpdateTransaction);
 
         verify(accountTransactionRepository, times(1)).save(any(AccountTransaction.class));
+        verify(accountLedgerService, times(1)).invalidateSnapshots(bankingAccount.getId(), null);
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        assertEquals(100.0, result.getAmount());
+        assertEquals(Money.ofMajor(100), result.getAmount());
     }
 
     @Test @DisplayName("Given a transaction, when deleting a transaction, then delete the transaction")
     void givenAccountNumberAndIdTransaction_whenDeleteTransaction_thenDeleteAccountTransaction() {
         String accountNumber = bankingAccount.getAccountNumber();
         Long idTransaction = 1L;
-        List<AccountTransaction> accountTransactionList = List.of(
-                AccountTransaction.builder().id(1L).build(),
-                AccountTransaction.builder().id(2L).build(),
-                AccountTransaction.builder().id(3L).build(),
-                AccountTransaction.builder().id(4L).build()
+        LocalDate date = LocalDate.of(2023, 6, 30);
+        AccountTransaction transaction = AccountTransaction.builder().id(idTransaction).bankingAccount(bankingAccount).dateOfExecution(date)
+                .accountTransactionType(AccountTransactionType.RECHARGE).direction(AccountTransactionDirection.CREDIT).amount(Money.ofMajor(100))
+                .sequenceNumber(4L).build();
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByIdAndBankingAccountId(idTransaction, bankingAccount.getId())).thenReturn(Optional.of(transaction));
+        when(accountTransactionRepository.deleteByIdAndBankingAccountId(idTransaction, bankingAccount.getId())).thenReturn(1);
+
+        bankingAccountService.deleteTransaction(accountNumber, idTransaction);
+
+        verify(accountTransactionRepository, times(1)).deleteByIdAndBankingAccountId(idTransaction, bankingAccount.getId());
+        verify(accountLedgerService, times(1)).invalidateSnapshots(bankingAccount.getId(), 4L);
+        verify(accountDailySummaryRepository, times(1)).addToSummary(bankingAccount.getId(), date, "RECHARGE", "CREDIT", -1, -Money.ofMajor(100).getMinorUnits());
+    }
+
+    @Test @DisplayName("Given a withdrawal of today, when updating its amount, then apply the difference to the daily withdrawal total")
+    void givenTodayWithdrawal_whenUpdateTransaction_thenAdjustDailyWithdrawalTotal() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        AccountTransaction withdrawal = AccountTransaction.builder().id(1L).bankingAccount(bankingAccount).dateOfExecution(LocalDate.now())
+                .accountTransactionType(AccountTransactionType.WITHDRAWAL).direction(AccountTransactionDirection.DEBIT).amount(Money.ofMajor(50)).build();
+        assertTrue(dailyWithdrawalTracker.tryReserve(accountNumber, Money.ofMajor(50).getMinorUnits(), Money.ofMajor(100).getMinorUnits()));
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByIdAndBankingAccountId(1L, bankingAccount.getId())).thenReturn(Optional.of(withdrawal));
+        when(accountTransactionRepository.save(any(AccountTransaction.class))).then(invocation -> invocation.getArgument(0));
+
+        bankingAccountService.updateTransaction(accountNumber, 1L, RequestUpdateTransaction.builder()
+                .accountTransactionType(AccountTransactionType.WITHDRAWAL).amount(Money.ofMajor(20)).build());
+
+        assertEquals(Money.ofMajor(20).getMinorUnits(), dailyWithdrawalTracker.getWithdrawnToday(accountNumber));
+    }
+
+    @Test @DisplayName("Given a withdrawal of today, when deleting it, then take it out of the daily withdrawal total")
+    void givenTodayWithdrawal_whenDeleteTransaction_thenReleaseDailyWithdrawalTotal() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        AccountTransaction withdrawal = AccountTransaction.builder().id(1L).bankingAccount(bankingAccount).dateOfExecution(LocalDate.now())
+                .accountTransactionType(AccountTransactionType.WITHDRAWAL).direction(AccountTransactionDirection.DEBIT).amount(Money.ofMajor(50)).build();
+        assertTrue(dailyWithdrawalTracker.tryReserve(accountNumber, Money.ofMajor(50).getMinorUnits(), Money.ofMajor(100).getMinorUnits()));
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByIdAndBankingAccountId(1L, bankingAccount.getId())).thenReturn(Optional.of(withdrawal));
+        when(accountTransactionRepository.deleteByIdAndBankingAccountId(1L, bankingAccount.getId())).thenReturn(1);
+
+        bankingAccountService.deleteTransaction(accountNumber, 1L);
+
+        assertEquals(0L, dailyWithdrawalTracker.getWithdrawnToday(accountNumber));
+        assertTrue(dailyWithdrawalTracker.tryReserve(accountNumber, Money.ofMajor(100).getMinorUnits(), Money.ofMajor(100).getMinorUnits()));
+    }
+
+    @Test @DisplayName("Given an unknown account number, when getting a transaction, then throw ResourceNotFoundException without loading the account")
+    void givenUnknownAccountNumber_whenGetTransactionByAccountNumber_thenThrowResourceNotFoundException() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException result = assertThrows(ResourceNotFoundException.class, () ->
+                bankingAccountService.getTransactionByAccountNumber(accountNumber, 1L));
+
+        assertEquals("Account not found with account number: " + accountNumber, result.getMessage());
+        verify(bankingAccountRepository, never()).findByAccountNumber(anyString());
+        verifyNoInteractions(accountTransactionRepository);
+    }
+
+    @Test @DisplayName("Given a transaction of another account, when deleting a transaction, then throw ResourceNotFoundException")
+    void givenTransactionOfAnotherAccount_whenDeleteTransaction_thenThrowResourceNotFoundException() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        Long idTransaction = 1L;
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByIdAndBankingAccountId(idTransaction, bankingAccount.getId())).thenReturn(Optional.empty());
+
+        ResourceNotFoundException result = assertThrows(ResourceNotFoundException.class, () ->
+                bankingAccountService.deleteTransaction(accountNumber, idTransaction));
+
+        assertEquals("Transaction not found with id " + idTransaction, result.getMessage());
+        verify(accountTransactionRepository, never()).deleteByIdAndBankingAccountId(anyLong(), any());
+        verifyNoInteractions(accountDailySummaryRepository);
+    }
+
+    @Test @DisplayName("Given daily rollups in a date range, when getting the transaction summary, then return the totals of every type")
+    void givenDailyRollups_whenGetTransactionSummary_thenReturnTotalsPerType() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        LocalDate fromDate = LocalDate.of(2023, 1, 1);
+        LocalDate toDate = LocalDate.of(2023, 12, 31);
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountDailySummaryRepository.sumByTypeAndDirection(bankingAccount.getId(), fromDate, toDate)).thenReturn(List.of(
+                new Object[]{"RECHARGE", "CREDIT", 3L, 30000L},
+                new Object[]{"TRANSFER", "DEBIT", 1L, 5000L},
+                new Object[]{"TRANSFER", "CREDIT", 2L, 7000L}
+        ));
+
+        List<ResponseTransactionTypeSummary> result = bankingAccountService.getTransactionSummary(accountNumber, fromDate, toDate);
+
+        assertEquals(AccountTransactionType.values().length, result.size());
+        ResponseTransactionTypeSummary transfers = result.stream()
+                .filter(summary -> summary.getAccountTransactionType() == AccountTransactionType.TRANSFER).findFirst().orElseThrow();
+        assertEquals(3, transfers.getCount());
+        assertEquals(Money.ofMajor(70), transfers.getTotalCredited());
+        assertEquals(Money.ofMajor(50), transfers.getTotalDebited());
+        ResponseTransactionTypeSummary withdrawals = result.stream()
+                .filter(summary -> summary.getAccountTransactionType() == AccountTransactionType.WITHDRAWAL).findFirst().orElseThrow();
+        assertEquals(0, withdrawals.getCount());
+        verifyNoInteractions(accountTransactionRepository);
+    }
+
+    @Test @DisplayName("Given more transactions than the page size, when getting the transaction history, then return a page and a cursor to the next one")
+    void givenMoreTransactionsThanPageSize_whenGetTransactionHistory_thenReturnPageAndNextCursor() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        LocalDate date = LocalDate.of(2023, 6, 30);
+        List<AccountTransaction> firstRows = List.of(
+                AccountTransaction.builder().id(3L).dateOfExecution(date).timeOfExecution(LocalTime.of(12, 0)).build(),
+                AccountTransaction.builder().id(2L).dateOfExecution(date).timeOfExecution(LocalTime.of(11, 0)).build(),
+                AccountTransaction.builder().id(1L).dateOfExecution(date).timeOfExecution(LocalTime.of(10, 0)).build()
         );
-        bankingAccount.setAccountTransactions(accountTransactionList);
-        AccountTransaction transactionToDelete = new AccountTransaction();
-        transactionToDelete.setId(idTransaction);
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByBankingAccountIdOrderByDateOfExecutionDescTimeOfExecutionDescIdDesc(bankingAccount.getId(), PageRequest.of(0, 3)))
+                .thenReturn(firstRows);
+        when(accountTransactionRepository.findHistoryPageAfter(bankingAccount.getId(), date, LocalTime.of(11, 0), 2L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(firstRows.get(2)));
+
+        ResponseTransactionPage firstPage = bankingAccountService.getTransactionHistory(accountNumber, null, 2);
+        ResponseTransactionPage secondPage = bankingAccountService.getTransactionHistory(accountNumber, firstPage.getNextCursor(), 2);
+
+        assertEquals(2, firstPage.getSize());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1L, secondPage.getTransactions().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
 
-        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
-        when(accountTransactionRepository.findById(idTransaction)).thenReturn(Optional.of(transactionToDelete));
+    @Test @DisplayName("Given a malformed cursor or a page size out of range, when getting the transaction history, then throw InvalidPageRequestException")
+    void givenMalformedCursorOrPageSize_whenGetTransactionHistory_thenThrowInvalidPageRequestException() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
 
-        bankingAccountService.deleteTransaction(accountNumber, idTransaction);
+        assertThrows(InvalidPageRequestException.class, () -> bankingAccountService.getTransactionHistory(accountNumber, "not-a-cursor", 10));
+        assertThrows(InvalidPageRequestException.class, () -> bankingAccountService.getTransactionHistory(accountNumber, null, 0));
+    }
+
+    @Test @DisplayName("Given more accounts than the page size, when getting pages of accounts, then count on the first page only and chain the pages by ID")
+    void givenMoreAccountsThanPageSize_whenGetBankingAccountsPage_thenReturnKeysetPages() {
+        List<ResponseAccountSummary> firstRows = List.of(accountSummaryOf(2L), accountSummaryOf(4L), accountSummaryOf(9L));
+        when(bankingAccountRepository.findSummariesAfter(BankingAccountStatus.ACTIVE, 0L, PageRequest.of(0, 3))).thenReturn(firstRows);
+        when(bankingAccountRepository.findSummariesAfter(BankingAccountStatus.ACTIVE, 4L, PageRequest.of(0, 3))).thenReturn(List.of(accountSummaryOf(9L)));
+        when(bankingAccountRepository.countByBankingAccountStatus(BankingAccountStatus.ACTIVE)).thenReturn(3L);
+
+        ResponseKeysetPage<ResponseAccountSummary> firstPage = bankingAccountService.getBankingAccountsPage(BankingAccountStatus.ACTIVE, null, 2);
+        ResponseKeysetPage<ResponseAccountSummary> secondPage = bankingAccountService.getBankingAccountsPage(BankingAccountStatus.ACTIVE, firstPage.getNextAfterId(), 2);
+
+        assertEquals(2, firstPage.getSize());
+        assertEquals(3L, firstPage.getTotal());
+        assertEquals(4L, firstPage.getNextAfterId());
+        assertEquals(9L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getTotal());
+        assertNull(secondPage.getNextAfterId());
+        verify(bankingAccountRepository, times(1)).countByBankingAccountStatus(BankingAccountStatus.ACTIVE);
+    }
 
-        verify(accountTransactionRepository, times(1)).deleteById(idTransaction);
+    @Test @DisplayName("Given a page size out of range, when getting a page of accounts, then throw InvalidPageRequestException")
+    void givenPageSizeOutOfRange_whenGetBankingAccountsPage_thenThrowInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> bankingAccountService.getBankingAccountsPage(BankingAccountStatus.ACTIVE, null, 0));
+        assertThrows(InvalidPageRequestException.class, () -> bankingAccountService.getBankingAccountsPage(BankingAccountStatus.ACTIVE, null, 501));
+        verifyNoInteractions(bankingAccountRepository);
     }
 
     @Test @DisplayName("Given an account number and transaction type, when getting all transactions by type, then return a list of transactions")
@@ -224,12 +401,11 @@ class BankingAccountServiceImplTest {
         AccountTransactionType typeToFilter = AccountTransactionType.RECHARGE;
         List<AccountTransaction> accountTransactions = List.of(
                 AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.RECHARGE).build(),
-                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.WITHDRAWAL).build(),
-                AccountTransaction.builder().id(3L).accountTransactionType(AccountTransactionType.RECHARGE).build(),
-                AccountTransaction.builder().id(4L).accountTransactionType(AccountTransactionType.WITHDRAWAL).build()
+                AccountTransaction.builder().id(3L).accountTransactionType(AccountTransactionType.RECHARGE).build()
         );
-        bankingAccount.setAccountTransactions(accountTransactions);
-        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByBankingAccountIdAndAccountTransactionTypeOrderByDateOfExecutionAscIdAsc(bankingAccount.getId(), typeToFilter))
+                .thenReturn(accountTransactions);
 
         List<AccountTransaction> result = bankingAccountService.getAllTransactionsByType(accountNumber, typeToFilter);
 
@@ -247,8 +423,9 @@ class BankingAccountServiceImplTest {
                 AccountTransaction.builder().id(2L).dateOfExecution(LocalDate.of(2023, 6, 30)).build(),
                 AccountTransaction.builder().id(3L).dateOfExecution(LocalDate.of(2023, 11, 10)).build()
         );
-        bankingAccount.setAccountTransactions(accountTransactions);
-        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByBankingAccountIdAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(bankingAccount.getId(), fromDate, toDate))
+                .thenReturn(accountTransactions);
 
         List<AccountTransaction> result = bankingAccountService.getAllTransactionsByDateRange(accountNumber, fromDate, toDate);
 
@@ -263,11 +440,11 @@ class BankingAccountServiceImplTest {
         LocalDate toDate = LocalDate.of(2023, 12, 31);
         List<AccountTransaction> accountTransactions = List.of(
                 AccountTransaction.builder().id(1L).accountTransactionType(AccountTransactionType.TRANSFER).dateOfExecution(LocalDate.of(2023, 2, 15)).build(),
-                AccountTransaction.builder().id(2L).accountTransactionType(AccountTransactionType.WITHDRAWAL).dateOfExecution(LocalDate.of(2023, 6, 30)).build(),
                 AccountTransaction.builder().id(3L).accountTransactionType(AccountTransactionType.TRANSFER).dateOfExecution(LocalDate.of(2023, 11, 10)).build()
         );
-        bankingAccount.setAccountTransactions(accountTransactions);
-        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
+        when(accountMetadataCache.get(accountNumber)).thenReturn(Optional.of(metadataOf(bankingAccount)));
+        when(accountTransactionRepository.findByBankingAccountIdAndAccountTransactionTypeAndDateOfExecutionBetweenOrderByDateOfExecutionAscIdAsc(
+                bankingAccount.getId(), typeToFilter, fromDate, toDate)).thenReturn(accountTransactions);
 
         List<AccountTransaction> result = bankingAccountService.getAllTransactionsByTypeAndDateRange(accountNumber, typeToFilter, fromDate, toDate);
 
@@ -277,68 +454,195 @@ class BankingAccountServiceImplTest {
     @Test @DisplayName("Given an invalid amount, when recharging an account balance, then throw InvalidTransactionException")
     void givenInvalidAmount_whenRechargeAccountBalance_thenThrowInvalidTransactionException() {
         String accountNumber = bankingAccount.getAccountNumber();
-        Double invalidAmount = -50.0;
+        Money invalidAmount = Money.ofMajor(-50);
 
         assertThrows(InvalidTransactionException.class, () -> bankingAccountService.rechargeAccountBalance(accountNumber, invalidAmount));
     }
 
-    @Test @DisplayName("Given an amount to recharge, when recharging an account balance, then update the balance")
+    @Test @DisplayName("Given an amount to recharge, when recharging an account balance, then update the balance without loading the transaction history")
     void givenAccountNumberAndAmountToRecharge_whenRechargeAccountBalance_thenUpdateBalance() {
         String accountNumber = bankingAccount.getAccountNumber();
-        Double amountToRecharge = 100.0;
-        bankingAccount.setBalance(500.0);
-        bankingAccount.setAccountTransactions(new ArrayList<>());
+        Money amountToRecharge = Money.ofMajor(100);
+        List<AccountTransaction> history = mock(List.class);
+        bankingAccount.setBalance(Money.ofMajor(500));
+        bankingAccount.setAccountTransactions(history);
         when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
 
         bankingAccountService.rechargeAccountBalance(accountNumber, amountToRecharge);
 
-        assertEquals(600.0, bankingAccount.getBalance());
+        assertEquals(Money.ofMajor(600), bankingAccount.getBalance());
         verify(accountTransactionRepository, times(1)).save(any(AccountTransaction.class));
+        verifyNoInteractions(history);
+        verify(auditLog).record(eq(AuditOperation.RECHARGE), eq(accountNumber), isNull(), eq(amountToRecharge), eq(AuditOutcome.SUCCESS), anyLong());
     }
 
-    @Test @DisplayName("Given an amount to withdraw, when creating a withdrawal transaction, then update the balance")
-    void givenAccountNumberAndWithdrawalAmount_whenCreateWithdrawalTransaction_thenUpdateBalance() {
+    @Test @DisplayName("Given an account number in the current format, when recharging an account balance, then look the account up by its key")
+    void givenCurrentFormatAccountNumber_whenRechargeAccountBalance_thenFindByAccountKey() {
+        String accountNumber = AccountNumbers.format(42);
+        bankingAccount.setAccountNumber(accountNumber);
+        bankingAccount.setBalance(Money.ofMajor(500));
+        bankingAccount.setAccountTransactions(new ArrayList<>());
+        when(bankingAccountRepository.findByAccountKey(Long.parseLong(accountNumber))).thenReturn(bankingAccount);
+
+        bankingAccountService.rechargeAccountBalance(accountNumber, Money.ofMajor(100));
+
+        assertEquals(Money.ofMajor(600), bankingAccount.getBalance());
+        verify(bankingAccountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test @DisplayName("Given a destination account number with a wrong check digit, when creating a transfer transaction, then throw InvalidAccountNumberException before any lookup")
+    void givenWrongCheckDigit_whenCreateTransferTransaction_thenThrowInvalidAccountNumberException() {
+        String accountNumber = AccountNumbers.format(42);
+        String mistypedAccountNumber = accountNumber.substring(0, AccountNumbers.LENGTH - 1) + (accountNumber.charAt(AccountNumbers.LENGTH - 1) == '9' ? '0' : '9');
+        RequestCreateTransaction transaction = RequestCreateTransaction.builder().destinationAccountNumber(mistypedAccountNumber).amount(Money.ofMajor(100)).build();
+
+        InvalidAccountNumberException result = assertThrows(InvalidAccountNumberException.class, () ->
+                bankingAccountService.createTransferTransaction(bankingAccount.getAccountNumber(), transaction));
+
+        assertEquals("Invalid account number: " + mistypedAccountNumber, result.getMessage());
+        verifyNoInteractions(bankingAccountRepository, accountTransactionRepository);
+    }
+
+    @Test @DisplayName("Given an account with previous transactions, when recharging an account balance, then record the balance after and the next sequence number")
+    void givenAccountWithHistory_whenRechargeAccountBalance_thenRecordBalanceAfterAndSequenceNumber() {
         String accountNumber = bankingAccount.getAccountNumber();
-        Double withdrawalAmount = 50.0;
-        bankingAccount.setBalance(500.0);
-        bankingAccount.setWithdrawalLimit(5000.0);
+        bankingAccount.setBalance(Money.ofMajor(500));
         bankingAccount.setAccountTransactions(new ArrayList<>());
         when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
+        when(accountTransactionRepository.findLastSequenceNumber(bankingAccount.getId())).thenReturn(7L);
+
+        bankingAccountService.rechargeAccountBalance(accountNumber, Money.ofMajor(100));
+
+        verify(accountTransactionRepository, times(1)).save(argThat((AccountTransaction transaction) ->
+                Money.ofMajor(600).equals(transaction.getBalanceAfter()) && transaction.getSequenceNumber() == 8L));
+        verify(accountDailySummaryRepository, times(1)).addToSummary(bankingAccount.getId(), LocalDate.now(), "RECHARGE", "CREDIT", 1, Money.ofMajor(100).getMinorUnits());
+    }
+
+    @Test @DisplayName("Given an amount to withdraw, when creating a withdrawal transaction, then update the balance without loading the transaction history")
+    void givenAccountNumberAndWithdrawalAmount_whenCreateWithdrawalTransaction_thenUpdateBalance() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        Money withdrawalAmount = Money.ofMajor(50);
+        List<AccountTransaction> history = mock(List.class);
+        bankingAccount.setBalance(Money.ofMajor(500));
+        bankingAccount.setWithdrawalLimit(Money.ofMajor(5000));
+        bankingAccount.setAccountTransactions(history);
+        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
 
         bankingAccountService.createWithdrawalTransaction(accountNumber, withdrawalAmount);
 
-        assertEquals(450.0, bankingAccount.getBalance());
+        assertEquals(Money.ofMajor(450), bankingAccount.getBalance());
         verify(accountTransactionRepository, times(1)).save(any(AccountTransaction.class));
+        verifyNoInteractions(history);
+    }
+
+    @Test @DisplayName("Given withdrawals adding up over the limit in one day, when creating a withdrawal transaction, then throw InsufficientFundsException")
+    void givenWithdrawalsOverDailyLimit_whenCreateWithdrawalTransaction_thenThrowInsufficientFundsException() {
+        String accountNumber = bankingAccount.getAccountNumber();
+        bankingAccount.setBalance(Money.ofMajor(10000));
+        bankingAccount.setWithdrawalLimit(Money.ofMajor(5000));
+        bankingAccount.setAccountTransactions(new ArrayList<>());
+        when(bankingAccountRepository.findByAccountNumber(accountNumber)).thenReturn(bankingAccount);
+
+        bankingAccountService.createWithdrawalTransaction(accountNumber, Money.ofMajor(3000));
+
+        assertThrows(InsufficientFundsException.class, () -> bankingAccountService.createWithdrawalTransaction(accountNumber, Money.ofMajor(3000)));
+        assertEquals(Money.ofMajor(7000), bankingAccount.getBalance());
+        assertEquals(Money.ofMajor(3000).getMinorUnits(), dailyWithdrawalTracker.getWithdrawnToday(accountNumber));
+        verify(auditLog).record(eq(AuditOperation.WITHDRAWAL), eq(accountNumber), isNull(), eq(Money.ofMajor(3000)), eq(AuditOutcome.REJECTED), anyLong());
     }
 
     @Test @DisplayName("Given a source account, destination account, and transfer amount, when creating a transfer transaction, then update the balances")
     void givenValidAccounts_whenPerformSuccessfulTransfer_thenUpdateBalances() {
         String sourceAccountNumber = "123";
         String destinationAccountNumber = "321";
-        Double transferAmount = 100.0;
+        Money transferAmount = Money.ofMajor(100);
 
         RequestCreateTransaction requestCreateTransaction = RequestCreateTransaction.builder().destinationAccountNumber(destinationAccountNumber).amount(transferAmount).build();
 
         BankingAccount sourceAccount = new BankingAccount();
         sourceAccount.setAccountNumber(sourceAccountNumber);
-        sourceAccount.setBalance(500.0);
+        sourceAccount.setBalance(Money.ofMajor(500));
         sourceAccount.setBankingAccountStatus(BankingAccountStatus.ACTIVE);
-        sourceAccount.setWithdrawalLimit(5000.0);
+        sourceAccount.setWithdrawalLimit(Money.ofMajor(5000));
 
         BankingAccount destinationAccount = new BankingAccount();
         destinationAccount.setAccountNumber(destinationAccountNumber);
-        destinationAccount.setBalance(300.0);
+        destinationAccount.setBalance(Money.ofMajor(300));
         destinationAccount.setBankingAccountStatus(BankingAccountStatus.ACTIVE);
-        destinationAccount.setWithdrawalLimit(5000.0);
+        destinationAccount.setWithdrawalLimit(Money.ofMajor(5000));
 
-        when(bankingAccountRepository.findByAccountNumber(sourceAccountNumber)).thenReturn(sourceAccount);
-        when(bankingAccountRepository.findByAccountNumber(destinationAccountNumber)).thenReturn(destinationAccount);
+        when(bankingAccountRepository.findByAccountNumberIn(List.of(sourceAccountNumber, destinationAccountNumber)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
 
         bankingAccountService.createTransferTransaction(sourceAccountNumber, requestCreateTransaction);
 
-        assertEquals(400.0, sourceAccount.getBalance());
-        assertEquals(400.0, destinationAccount.getBalance());
+        assertEquals(Money.ofMajor(400), sourceAccount.getBalance());
+        assertEquals(Money.ofMajor(400), destinationAccount.getBalance());
+
+        verify(bankingAccountRepository, never()).findByAccountNumber(anyString());
+        verify(accountTransactionRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test @DisplayName("Given an unknown destination account, when creating a transfer transaction, then throw ResourceNotFoundException")
+    void givenUnknownDestinationAccount_whenCreateTransferTransaction_thenThrowResourceNotFoundException() {
+        String destinationAccountNumber = "321";
+        bankingAccount.setBalance(Money.ofMajor(500));
+        bankingAccount.setWithdrawalLimit(Money.ofMajor(5000));
+        RequestCreateTransaction requestCreateTransaction = RequestCreateTransaction.builder().destinationAccountNumber(destinationAccountNumber).amount(Money.ofMajor(100)).build();
+        when(bankingAccountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(bankingAccount));
+
+        ResourceNotFoundException result = assertThrows(ResourceNotFoundException.class, () ->
+                bankingAccountService.createTransferTransaction(bankingAccount.getAccountNumber(), requestCreateTransaction));
+
+        assertEquals("Account not found with account number: " + destinationAccountNumber, result.getMessage());
+        assertEquals(Money.ofMajor(500), bankingAccount.getBalance());
+        verify(accountTransactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test @DisplayName("Given a batch of transfers, when creating batch transfer transactions, then apply the valid ones and reject the rest")
+    void givenTransferBatch_whenCreateBatchTransferTransactions_thenReturnPerItemResults() {
+        String sourceAccountNumber = "123";
+        String destinationAccountNumber = "321";
+
+        BankingAccount sourceAccount = BankingAccount.builder().accountNumber(sourceAccountNumber).balance(Money.ofMajor(500))
+                .withdrawalLimit(Money.ofMajor(5000)).bankingAccountStatus(BankingAccountStatus.ACTIVE).build();
+        BankingAccount destinationAccount = BankingAccount.builder().accountNumber(destinationAccountNumber).balance(Money.ZERO)
+                .withdrawalLimit(Money.ofMajor(5000)).bankingAccountStatus(BankingAccountStatus.ACTIVE).build();
+
+        List<RequestCreateTransaction> transfers = List.of(
+                RequestCreateTransaction.builder().destinationAccountNumber(destinationAccountNumber).amount(Money.ofMajor(300)).build(),
+                RequestCreateTransaction.builder().destinationAccountNumber(destinationAccountNumber).amount(Money.ofMajor(300)).build(),
+                RequestCreateTransaction.builder().destinationAccountNumber("unknown").amount(Money.ofMajor(100)).build(),
+                RequestCreateTransaction.builder().destinationAccountNumber(destinationAccountNumber).amount(Money.ofMajor(200)).build()
+        );
+        when(bankingAccountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of(sourceAccount, destinationAccount));
+
+        List<ResponseTransferResult> results = bankingAccountService.createBatchTransferTransactions(sourceAccountNumber, transfers);
+
+        assertEquals(4, results.size());
+        assertEquals(ResponseTransferResult.COMPLETED, results.get(0).getStatus());
+        assertEquals(ResponseTransferResult.REJECTED, results.get(1).getStatus());
+        assertEquals(ResponseTransferResult.REJECTED, results.get(2).getStatus());
+        assertEquals(ResponseTransferResult.COMPLETED, results.get(3).getStatus());
+        assertEquals(Money.ZERO, sourceAccount.getBalance());
+        assertEquals(Money.ofMajor(500), destinationAccount.getBalance());
+        verify(bankingAccountRepository, times(1)).findByAccountNumberIn(anyCollection());
+        verify(accountTransactionRepository, times(1)).saveAll(argThat((List<AccountTransaction> legs) -> legs.size() == 4
+                && legs.get(2).getSequenceNumber() == 2L && Money.ZERO.equals(legs.get(2).getBalanceAfter())
+                && legs.get(3).getSequenceNumber() == 2L && Money.ofMajor(500).equals(legs.get(3).getBalanceAfter())));
+    }
+
+    @Test @DisplayName("Given an empty batch, when creating batch transfer transactions, then throw InvalidTransactionException")
+    void givenEmptyBatch_whenCreateBatchTransferTransactions_thenThrowInvalidTransactionException() {
+        assertThrows(InvalidTransactionException.class, () ->
+                bankingAccountService.createBatchTransferTransactions(bankingAccount.getAccountNumber(), List.of()));
+    }
+
+    private static AccountMetadata metadataOf(BankingAccount account) {
+        return new AccountMetadata(account.getId(), account.getAccountNumber(), account.getBankingAccountStatus(), account.getWithdrawalLimit(), null);
+    }
 
-        verify(accountTransactionRepository, times(2)).save(any(AccountTransaction.class));
+    private static ResponseAccountSummary accountSummaryOf(Long id) {
+        return ResponseAccountSummary.builder().id(id).balance(Money.ZERO).bankingAccountStatus(BankingAccountStatus.ACTIVE).build();
     }
-}
\ No newline at end of file
+}
@@ -2,29 +2,43 @@ package com.jfecm.bankaccountmanagement.service;
 
 import com.jfecm.bankaccountmanagement.builders.BankingAccountBuilder;
 import com.jfecm.bankaccountmanagement.builders.ClientBuilder;
+import com.jfecm.bankaccountmanagement.cache.AccountMetadataCache;
 import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
 import com.jfecm.bankaccountmanagement.dto.request.RequestUpdateClient;
 import com.jfecm.bankaccountmanagement.dto.response.ResponseClientData;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseClientSummary;
+import com.jfecm.bankaccountmanagement.dto.response.ResponseKeysetPage;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.BankingAccount;
 import com.jfecm.bankaccountmanagement.entity.Client;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionDirection;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
 import com.jfecm.bankaccountmanagement.entity.enums.UserStatus;
+import com.jfecm.bankaccountmanagement.entity.money.Money;
 import com.jfecm.bankaccountmanagement.exceptions.DniAlreadyExistsException;
 import com.jfecm.bankaccountmanagement.exceptions.EmailDuplicateException;
 import com.jfecm.bankaccountmanagement.exceptions.InactiveAccountException;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidPageRequestException;
 import com.jfecm.bankaccountmanagement.exceptions.ResourceNotFoundException;
+import com.jfecm.bankaccountmanagement.repository.AccountDailySummaryRepository;
 import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
 import com.jfecm.bankaccountmanagement.repository.ClientRepository;
 import com.jfecm.bankaccountmanagement.service.imp.ClientServiceImpl;
+import com.jfecm.bankaccountmanagement.util.AccountNumberGenerator;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -40,11 +54,19 @@ class ClientServiceImplTest {
     @InjectMocks
     private ClientServiceImpl clientService;
     @Mock
-    private ModelMapper mapper;
-    @Mock
     private ClientRepository clientRepository;
     @Mock
     private BankingAccountRepository bankingAccountRepository;
+    @Mock
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+    @Mock
+    private AccountMetadataCache accountMetadataCache;
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+    @Mock
+    private EmailOutboxService emailOutboxService;
+    @Mock
+    private TransactionOperations transactionOperations;
     private RequestCreateClient requestCreateClient;
     private RequestUpdateClient requestUpdateClient;
     private Client client;
@@ -65,11 +87,13 @@ class ClientServiceImplTest {
 
     @Test @DisplayName("Given RequestCreateClient, When SaveClient, Then Save Client Successfully")
     void givenRequestCreateClient_whenSaveClient_thenSaveClient() {
+        runTransactionCallbacks();
         when(clientRepository.save(any(Client.class))).thenReturn(client);
 
         Client clientCreated = clientService.saveClient(requestCreateClient);
 
         verify(clientRepository, times(1)).save(any(Client.class));
+        verify(emailOutboxService, times(1)).enqueue(eq(requestCreateClient.getEmail()), eq("Welcome message"), anyString());
         assertNotNull(clientCreated);
         assertEquals(1L, clientCreated.getId());
         assertEquals(UserStatus.PENDING, clientCreated.getUserStatus());
@@ -88,11 +112,13 @@ class ClientServiceImplTest {
 
     @Test @DisplayName("Given RequestCreateClient with Duplicate Email, When SaveClient, Then Throw EmailDuplicateException")
     void givenRequestCreateClient_whenSaveClient_thenReturnEmailDuplicateException() {
+        runTransactionCallbacks();
         when(clientRepository.save(any(Client.class))).thenThrow(new DataIntegrityViolationException("Email already exists."));
 
         EmailDuplicateException exception = assertThrows(EmailDuplicateException.class, () -> clientService.saveClient(requestCreateClient));
 
         verify(clientRepository, times(1)).save(any(Client.class));
+        verify(emailOutboxService, never()).enqueue(anyString(), anyString(), anyString());
         assertEquals("Email already exists.", exception.getMessage());
     }
 
@@ -197,6 +223,45 @@ class ClientServiceImplTest {
         List<ResponseClientData> result = clientService.getAllClients(activeStatus);
 
         assertEquals(mockClients.size(), result.size());
+        assertEquals(client1.getDni(), result.get(0).getDni());
+        assertEquals(client2.getBankingAccount().getAccountNumber(), result.get(1).getBankingAccount().getAccountNumber());
+    }
+
+    @Test @DisplayName("Given an unknown DNI, when getting client details or report, then throw ResourceNotFoundException")
+    void givenUnknownDni_whenGetClientDetailsAndReportByDni_thenThrowResourceNotFoundException() {
+        String dni = ClientBuilder.getRandomDni();
+
+        assertThrows(ResourceNotFoundException.class, () -> clientService.getClientDetailsByDni(dni));
+        assertThrows(ResourceNotFoundException.class, () -> clientService.getClientReportByDni(dni));
+        verify(clientRepository, times(1)).findDetailByDni(dni);
+        verify(clientRepository, times(1)).findReportByDni(dni);
+        verify(clientRepository, never()).findByDni(dni);
+    }
+
+    @Test @DisplayName("Given more clients than the page size, when getting pages of clients, then count on the first page only and chain the pages by ID")
+    void givenMoreClientsThanPageSize_whenGetClientsPage_thenReturnKeysetPages() {
+        List<ResponseClientSummary> firstRows = List.of(summaryOf(3L), summaryOf(5L), summaryOf(8L));
+        when(clientRepository.findSummariesAfter(UserStatus.ACTIVE, 0L, PageRequest.of(0, 3))).thenReturn(firstRows);
+        when(clientRepository.findSummariesAfter(UserStatus.ACTIVE, 5L, PageRequest.of(0, 3))).thenReturn(List.of(summaryOf(8L)));
+        when(clientRepository.countByUserStatus(UserStatus.ACTIVE)).thenReturn(3L);
+
+        ResponseKeysetPage<ResponseClientSummary> firstPage = clientService.getClientsPage(UserStatus.ACTIVE, null, 2);
+        ResponseKeysetPage<ResponseClientSummary> secondPage = clientService.getClientsPage(UserStatus.ACTIVE, firstPage.getNextAfterId(), 2);
+
+        assertEquals(2, firstPage.getSize());
+        assertEquals(3L, firstPage.getTotal());
+        assertEquals(5L, firstPage.getNextAfterId());
+        assertEquals(8L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getTotal());
+        assertNull(secondPage.getNextAfterId());
+        verify(clientRepository, times(1)).countByUserStatus(UserStatus.ACTIVE);
+    }
+
+    @Test @DisplayName("Given a page size out of range, when getting a page of clients, then throw InvalidPageRequestException")
+    void givenPageSizeOutOfRange_whenGetClientsPage_thenThrowInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> clientService.getClientsPage(UserStatus.ACTIVE, null, 0));
+        assertThrows(InvalidPageRequestException.class, () -> clientService.getClientsPage(UserStatus.ACTIVE, null, 501));
+        verifyNoInteractions(clientRepository);
     }
 
     @Test @DisplayName("Given an inactive client, when checking client status, then throw InactiveAccountException")
@@ -236,14 +301,26 @@ class ClientServiceImplTest {
         assertEquals(client.getDni(), result.getMainClient().getDni());
     }
 
+    @Test @DisplayName("Given a client with adherents, when getting client details, then return the client data with adherent references")
+    void givenClientWithAdherents_whenGetClientDetailsByDni_thenReturnClientData() {
+        Client clientWithAdherents = ClientBuilder.buildClientWithAdherentsService();
+        when(clientRepository.findDetailByDni(clientWithAdherents.getDni())).thenReturn(clientWithAdherents);
+
+        ResponseClientData result = clientService.getClientDetailsByDni(clientWithAdherents.getDni());
+
+        verify(clientRepository, times(1)).findDetailByDni(clientWithAdherents.getDni());
+        assertEquals(clientWithAdherents.getDni(), result.getDni());
+        assertEquals(clientWithAdherents.getAdherents().get(0).getDni(), result.getAdherents().get(0).getDni());
+    }
+
     @Test @DisplayName("Given DniMain, when getting client adherents list, then return adherents list")
     void givenDniMain_whenGetClientAdherentsList_thenReturnAdherentsList() {
         Client clientWithAdherents = ClientBuilder.buildClientWithAdherentsService();
-        when(clientRepository.findByDni(clientWithAdherents.getDni())).thenReturn(clientWithAdherents);
+        when(clientRepository.findDetailByDni(clientWithAdherents.getDni())).thenReturn(clientWithAdherents);
 
         List<Client> adherents = clientService.getClientAdherentsList(clientWithAdherents.getDni());
 
-        verify(clientRepository, times(1)).findByDni(clientWithAdherents.getDni());
+        verify(clientRepository, times(1)).findDetailByDni(clientWithAdherents.getDni());
         assertEquals(2, adherents.size());
     }
 
@@ -283,6 +360,7 @@ class ClientServiceImplTest {
         Client clientAdherent = clientMain.getAdherents().get(0);
         when(clientRepository.findByDni(clientMain.getDni())).thenReturn(clientMain);
         when(clientRepository.findByDni(clientAdherent.getDni())).thenReturn(clientAdherent);
+        runTransactionCallbacks();
 
         clientService.removeClientAdherent(clientMain.getDni(), clientAdherent.getDni());
 
@@ -292,6 +370,30 @@ class ClientServiceImplTest {
         verify(clientRepository, times(1)).deleteById(anyLong());
     }
 
+    @Test @DisplayName("Given an adherent whose account has a transaction, when removing client adherent, then delete the daily summaries before the account")
+    void givenAdherentAccountWithTransaction_whenRemoveClientAdherent_thenDeleteDailySummariesBeforeAccount() {
+        Client clientMain = ClientBuilder.buildClientWithAdherentsService();
+        Client clientAdherent = clientMain.getAdherents().get(0);
+        BankingAccount bankingAccount = clientAdherent.getBankingAccount();
+        bankingAccount.setAccountTransactions(List.of(AccountTransaction.builder()
+                .id(10L)
+                .accountTransactionType(AccountTransactionType.RECHARGE)
+                .direction(AccountTransactionDirection.CREDIT)
+                .amount(Money.ofMajor(100))
+                .bankingAccount(bankingAccount)
+                .build()));
+        when(clientRepository.findByDni(clientMain.getDni())).thenReturn(clientMain);
+        when(clientRepository.findByDni(clientAdherent.getDni())).thenReturn(clientAdherent);
+        runTransactionCallbacks();
+
+        clientService.removeClientAdherent(clientMain.getDni(), clientAdherent.getDni());
+
+        InOrder inOrder = inOrder(accountDailySummaryRepository, bankingAccountRepository);
+        inOrder.verify(accountDailySummaryRepository).deleteByBankingAccountId(bankingAccount.getId());
+        inOrder.verify(bankingAccountRepository).deleteById(bankingAccount.getId());
+        verify(accountMetadataCache).invalidate(bankingAccount.getAccountNumber());
+    }
+
     @Test @DisplayName("Given DniMain, DniAdherent, and RequestUpdateClient, when updating client adherent details, then update client adherent")
     void givenDniMainAndDniAdherentAndRequestUpdateClient_whenUpdateClientAdherentDetails_thenUpdateClientAdherent(){
         Client clientMain = ClientBuilder.buildClientWithAdherentsService();
@@ -330,4 +432,13 @@ class ClientServiceImplTest {
         verify(clientRepository, times(1)).save(clientAdherent);
     }
 
-}
\ No newline at end of file
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionOperations.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    private static ResponseClientSummary summaryOf(Long id) {
+        return ResponseClientSummary.builder().id(id).dni("dni" + id).userStatus(UserStatus.ACTIVE).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.entity.EmailOutboxMessage;
+import com.jfecm.bankaccountmanagement.entity.enums.EmailOutboxStatus;
+import com.jfecm.bankaccountmanagement.repository.EmailOutboxRepository;
+import com.jfecm.bankaccountmanagement.service.imp.EmailOutboxServiceImpl;
+import com.jfecm.bankaccountmanagement.service.imp.EmailServiceImpl;
+import com.jfecm.bankaccountmanagement.support.FakeSmtpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("EmailOutboxServiceImpl Tests")
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceImplTest {
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    private FakeSmtpServer smtpServer;
+    private EmailOutboxServiceImpl emailOutboxService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        EmailService emailService = new EmailServiceImpl("bank@example.com", "password", "localhost", smtpServer.getPort(),
+                false, false, Duration.ofSeconds(5), 2, Duration.ofMinutes(1));
+        emailOutboxService = new EmailOutboxServiceImpl(emailOutboxRepository, emailService, 50, 3,
+                Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    @DisplayName("Given an email, when enqueuing it, then save it as pending and due now")
+    void givenEmail_whenEnqueue_thenSavePendingMessage() {
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EmailOutboxMessage message = emailOutboxService.enqueue("client@example.com", "Welcome message", "<p>Welcome</p>");
+
+        assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+        assertEquals(0, message.getAttempts());
+        assertFalse(message.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertTrue(smtpServer.getMessages().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given a due message, when dispatching, then send it and mark it as sent")
+    void givenDueMessage_whenDispatchPending_thenSendAndMarkSent() {
+        EmailOutboxMessage message = pendingMessage(0);
+        givenDueMessages(message);
+        when(emailOutboxRepository.claim(eq(1L), eq(message.getNextAttemptAt()), any())).thenReturn(1);
+
+        int sent = emailOutboxService.dispatchPending();
+
+        assertEquals(1, sent);
+        assertEquals(EmailOutboxStatus.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentAt());
+        assertNull(message.getBody());
+        verify(emailOutboxRepository, times(1)).saveAll(List.of(message));
+        List<FakeSmtpServer.ReceivedMessage> received = smtpServer.getMessages();
+        assertEquals(1, received.size());
+        assertEquals(List.of("client@example.com"), received.get(0).getRecipients());
+        assertTrue(received.get(0).getData().contains("Subject: Welcome message"));
+    }
+
+    @Test
+    @DisplayName("Given a message claimed by another dispatcher, when dispatching, then do not send it")
+    void givenMessageClaimedElsewhere_whenDispatchPending_thenSkipMessage() {
+        EmailOutboxMessage message = pendingMessage(0);
+        givenDueMessages(message);
+        when(emailOutboxRepository.claim(eq(1L), eq(message.getNextAttemptAt()), any())).thenReturn(0);
+
+        int sent = emailOutboxService.dispatchPending();
+
+        assertEquals(0, sent);
+        assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+        verify(emailOutboxRepository, never()).saveAll(any());
+        assertTrue(smtpServer.getMessages().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given an SMTP server that rejects the message, when dispatching, then reschedule it with a backoff")
+    void givenRejectingServer_whenDispatchPending_thenRescheduleWithBackoff() {
+        EmailOutboxMessage message = pendingMessage(0);
+        givenDueMessages(message);
+        when(emailOutboxRepository.claim(eq(1L), eq(message.getNextAttemptAt()), any())).thenReturn(1);
+        smtpServer.rejectNext(1);
+
+        int sent = emailOutboxService.dispatchPending();
+
+        assertEquals(0, sent);
+        assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        assertNotNull(message.getBody());
+        verify(emailOutboxRepository, times(1)).saveAll(List.of(message));
+    }
+
+    @Test
+    @DisplayName("Given a message on its last attempt, when the delivery fails, then mark it as failed")
+    void givenLastAttempt_whenDispatchPendingFails_thenMarkFailed() {
+        EmailOutboxMessage message = pendingMessage(2);
+        givenDueMessages(message);
+        when(emailOutboxRepository.claim(eq(1L), eq(message.getNextAttemptAt()), any())).thenReturn(1);
+        smtpServer.rejectNext(1);
+
+        emailOutboxService.dispatchPending();
+
+        assertEquals(EmailOutboxStatus.FAILED, message.getStatus());
+        assertEquals(3, message.getAttempts());
+        assertNull(message.getBody());
+        verify(emailOutboxRepository, times(1)).saveAll(List.of(message));
+    }
+
+    @Test
+    @DisplayName("Given consecutive failures, when computing the backoff, then double it up to the maximum")
+    void givenConsecutiveFailures_whenBackoff_thenDoubleUpToMaximum() {
+        assertEquals(Duration.ofSeconds(30), emailOutboxService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), emailOutboxService.backoff(2));
+        assertEquals(Duration.ofMinutes(1), emailOutboxService.backoff(3));
+        assertEquals(Duration.ofMinutes(1), emailOutboxService.backoff(100));
+    }
+
+    private void givenDueMessages(EmailOutboxMessage... messages) {
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(
+                eq(EmailOutboxStatus.PENDING), any(), any())).thenReturn(List.of(messages));
+    }
+
+    private static EmailOutboxMessage pendingMessage(int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutboxMessage.builder()
+                .id(1L)
+                .recipient("client@example.com")
+                .subject("Welcome message")
+                .body("<p>Welcome</p>")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(now.minusSeconds(1))
+                .createdAt(now.minusMinutes(1))
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.service.imp.EmailServiceImpl;
+import com.jfecm.bankaccountmanagement.support.FakeSmtpServer;
+import com.jfecm.bankaccountmanagement.util.EmailMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailServiceImpl Tests")
+class EmailServiceImplTest {
+    private FakeSmtpServer smtpServer;
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        emailService = emailService(smtpServer.getPort(), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        emailService.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    @DisplayName("Given several emails, when sending them one by one, then reuse the same connection")
+    void givenSeveralEmails_whenSendEmail_thenReuseConnection() throws MessagingException {
+        emailService.sendEmail("first@example.com", "Welcome message", "<p>Welcome</p>");
+        emailService.sendEmail("second@example.com", "Welcome message", "<p>Welcome</p>");
+
+        assertEquals(2, smtpServer.getMessages().size());
+        assertEquals(List.of("second@example.com"), smtpServer.getMessages().get(1).getRecipients());
+        assertEquals(1, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Given a batch with a rejected email, when sending the batch, then send the others over one connection")
+    void givenBatchWithRejectedEmail_whenSendBatch_thenSendOthersOverOneConnection() {
+        List<EmailMessage> batch = List.of(
+                new EmailMessage("first@example.com", "Notice", "<p>1</p>"),
+                new EmailMessage("second@example.com", "Notice", "<p>2</p>"),
+                new EmailMessage("third@example.com", "Notice", "<p>3</p>"));
+        smtpServer.rejectRecipient("second@example.com");
+
+        List<MessagingException> failures = emailService.sendBatch(batch);
+
+        assertNull(failures.get(0));
+        assertInstanceOf(SendFailedException.class, failures.get(1));
+        assertNull(failures.get(2));
+        assertEquals(2, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Given a pooled connection closed by the server, when sending an email, then reconnect and send it")
+    void givenDroppedConnection_whenSendEmail_thenReconnect() throws Exception {
+        emailService.sendEmail("first@example.com", "Welcome message", "<p>Welcome</p>");
+        smtpServer.dropConnections();
+
+        emailService.sendEmail("second@example.com", "Welcome message", "<p>Welcome</p>");
+
+        assertEquals(2, smtpServer.getMessages().size());
+        assertEquals(2, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Given an idle connection past the idle timeout, when sending an email, then open a new connection")
+    void givenExpiredIdleConnection_whenSendEmail_thenOpenNewConnection() throws MessagingException {
+        EmailServiceImpl expiringService = emailService(smtpServer.getPort(), Duration.ZERO);
+
+        expiringService.sendEmail("first@example.com", "Welcome message", "<p>Welcome</p>");
+        expiringService.sendEmail("second@example.com", "Welcome message", "<p>Welcome</p>");
+        expiringService.shutdown();
+
+        assertEquals(2, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Given an unreachable server, when sending a batch, then report every email as failed")
+    void givenUnreachableServer_whenSendBatch_thenFailEveryEmail() throws IOException {
+        int port = smtpServer.getPort();
+        smtpServer.close();
+
+        List<MessagingException> failures = emailService(port, Duration.ofMinutes(1)).sendBatch(List.of(
+                new EmailMessage("first@example.com", "Notice", "<p>1</p>"),
+                new EmailMessage("second@example.com", "Notice", "<p>2</p>")));
+
+        assertNotNull(failures.get(0));
+        assertNotNull(failures.get(1));
+    }
+
+    private static EmailServiceImpl emailService(int port, Duration idleTimeout) {
+        return new EmailServiceImpl("bank@example.com", "password", "localhost", port, false, false,
+                Duration.ofSeconds(5), 2, idleTimeout);
+    }
+}
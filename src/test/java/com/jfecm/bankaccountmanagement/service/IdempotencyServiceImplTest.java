@@ -0,0 +1,196 @@
+package com.jfecm.bankaccountmanagement.service;
+
+import com.jfecm.bankaccountmanagement.concurrency.AccountLockManager;
+import com.jfecm.bankaccountmanagement.concurrency.AccountMutationExecutor;
+import com.jfecm.bankaccountmanagement.concurrency.LockingAccountMutationExecutor;
+import com.jfecm.bankaccountmanagement.entity.AccountTransaction;
+import com.jfecm.bankaccountmanagement.entity.IdempotencyRecord;
+import com.jfecm.bankaccountmanagement.entity.enums.AccountTransactionType;
+import com.jfecm.bankaccountmanagement.exceptions.IdempotencyKeyReusedException;
+import com.jfecm.bankaccountmanagement.exceptions.InsufficientFundsException;
+import com.jfecm.bankaccountmanagement.exceptions.InvalidIdempotencyKeyException;
+import com.jfecm.bankaccountmanagement.repository.AccountTransactionRepository;
+import com.jfecm.bankaccountmanagement.repository.IdempotencyRecordRepository;
+import com.jfecm.bankaccountmanagement.service.imp.IdempotencyServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IdempotencyServiceImpl Tests")
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+    /**
+     * SHA-256 of "100.00", the request of every execution below unless stated otherwise.
+     */
+    private static final String FINGERPRINT = "d66c66a96157220af2fe47c6d564d0d2a61d9d441a2e52a92bc78b15876053c8";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Mock
+    private AccountTransactionRepository accountTransactionRepository;
+    private final AccountMutationExecutor accountMutationExecutor =
+            new LockingAccountMutationExecutor(new AccountLockManager(4), TransactionOperations.withoutTransaction());
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, accountTransactionRepository,
+                Duration.ofMinutes(10), 1000, Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("Given no key, when executing, then run the operation every time")
+    void givenNoKey_whenExecute_thenRunOperationEveryTime() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute(null, "123", AccountTransactionType.RECHARGE, "100.00", () -> AccountTransaction.builder().id((long) executions.incrementAndGet()).build());
+        idempotencyService.execute(null, "123", AccountTransactionType.RECHARGE, "100.00", () -> AccountTransaction.builder().id((long) executions.incrementAndGet()).build());
+
+        assertEquals(2, executions.get());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    @DisplayName("Given a repeated key, when executing, then return the original transaction without running the operation again")
+    void givenRepeatedKey_whenExecute_thenReturnOriginalTransaction() {
+        AtomicInteger executions = new AtomicInteger();
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.empty());
+
+        AccountTransaction first = idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> AccountTransaction.builder().id((long) executions.incrementAndGet()).build()));
+        AccountTransaction second = idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> AccountTransaction.builder().id((long) executions.incrementAndGet()).build()));
+
+        assertEquals(1, executions.get());
+        assertSame(first, second);
+        verify(idempotencyRecordRepository, times(1)).insertKey(eq("123:key"), eq("RECHARGE"), eq(FINGERPRINT), any(LocalDateTime.class));
+        verify(idempotencyRecordRepository, times(1)).setTransactionId("123:key", 1L);
+        verifyNoInteractions(accountTransactionRepository);
+    }
+
+    @Test
+    @DisplayName("Given a key recorded in the table, when executing, then return the persisted transaction")
+    void givenPersistedKey_whenExecute_thenReturnPersistedTransaction() {
+        AccountTransaction persisted = AccountTransaction.builder().id(7L).build();
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.of(
+                record(AccountTransactionType.RECHARGE, FINGERPRINT)));
+        when(accountTransactionRepository.findById(7L)).thenReturn(Optional.of(persisted));
+
+        AccountTransaction result = idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", () -> fail("The operation must not run again."));
+
+        assertSame(persisted, result);
+        verify(idempotencyRecordRepository, never()).insertKey(anyString(), anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Given a failed operation, when retrying with the same key, then run the operation again")
+    void givenFailedOperation_whenRetryWithSameKey_thenRunOperationAgain() {
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.empty());
+
+        assertThrows(InsufficientFundsException.class, () -> idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> {
+            throw new InsufficientFundsException("Insufficient balance in the source account.");
+        })));
+        AccountTransaction result = idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> AccountTransaction.builder().id(1L).build()));
+
+        assertEquals(1L, result.getId());
+    }
+
+    @Test
+    @DisplayName("Given a new key, when executing, then insert the key before the mutation and link it to the transaction after it")
+    void givenNewKey_whenExecute_thenInsertKeyBeforeMutation() {
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.empty());
+
+        idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> {
+            verify(idempotencyRecordRepository).insertKey(eq("123:key"), eq("RECHARGE"), eq(FINGERPRINT), any(LocalDateTime.class));
+            verify(idempotencyRecordRepository, never()).setTransactionId(anyString(), anyLong());
+            return AccountTransaction.builder().id(5L).build();
+        }));
+
+        verify(idempotencyRecordRepository).setTransactionId("123:key", 5L);
+    }
+
+    @Test
+    @DisplayName("Given a key recorded concurrently by another node, when executing, then do not run the mutation and return the persisted transaction")
+    void givenKeyRecordedConcurrently_whenExecute_thenReturnPersistedTransaction() {
+        AccountTransaction persisted = AccountTransaction.builder().id(7L).build();
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.empty()).thenReturn(Optional.of(
+                record(AccountTransactionType.RECHARGE, FINGERPRINT)));
+        doThrow(new DataIntegrityViolationException("Duplicate key")).when(idempotencyRecordRepository).insertKey(eq("123:key"), eq("RECHARGE"), eq(FINGERPRINT), any(LocalDateTime.class));
+        when(accountTransactionRepository.findById(7L)).thenReturn(Optional.of(persisted));
+
+        AccountTransaction result = idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> fail("The mutation must not run.")));
+
+        assertSame(persisted, result);
+        verify(idempotencyRecordRepository, never()).setTransactionId(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Given a key used for another amount, when executing, then throw IdempotencyKeyReusedException without running the operation")
+    void givenKeyUsedForAnotherAmount_whenExecute_thenThrowIdempotencyKeyReusedException() {
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.empty());
+        idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "100.00", mutation(() -> AccountTransaction.builder().id(1L).build()));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotencyService.execute("key", "123", AccountTransactionType.RECHARGE, "200.00",
+                () -> fail("The operation must not run.")));
+    }
+
+    @Test
+    @DisplayName("Given a key recorded in the table for another operation, when executing, then throw IdempotencyKeyReusedException")
+    void givenPersistedKeyForAnotherOperation_whenExecute_thenThrowIdempotencyKeyReusedException() {
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.of(record(AccountTransactionType.RECHARGE, FINGERPRINT)));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> idempotencyService.execute("key", "123", AccountTransactionType.WITHDRAWAL, "100.00",
+                () -> fail("The operation must not run.")));
+        verifyNoInteractions(accountTransactionRepository);
+    }
+
+    @Test
+    @DisplayName("Given a key recorded without its request, when executing, then return the persisted transaction")
+    void givenLegacyPersistedKey_whenExecute_thenReturnPersistedTransaction() {
+        AccountTransaction persisted = AccountTransaction.builder().id(7L).build();
+        when(idempotencyRecordRepository.findById("123:key")).thenReturn(Optional.of(record(null, null)));
+        when(accountTransactionRepository.findById(7L)).thenReturn(Optional.of(persisted));
+
+        AccountTransaction result = idempotencyService.execute("key", "123", AccountTransactionType.WITHDRAWAL, "5.00",
+                () -> fail("The operation must not run again."));
+
+        assertSame(persisted, result);
+    }
+
+    @Test
+    @DisplayName("Given a key too long to be recorded, when executing, then throw InvalidIdempotencyKeyException without running the operation")
+    void givenTooLongKey_whenExecute_thenThrowInvalidIdempotencyKeyException() {
+        String key = "k".repeat(IdempotencyRecord.MAX_KEY_LENGTH);
+
+        InvalidIdempotencyKeyException result = assertThrows(InvalidIdempotencyKeyException.class, () ->
+                idempotencyService.execute(key, "123", AccountTransactionType.RECHARGE, "100.00", () -> fail("The operation must not run.")));
+
+        assertEquals("The Idempotency-Key must be at most " + (IdempotencyRecord.MAX_KEY_LENGTH - 4) + " characters long.", result.getMessage());
+        verifyNoInteractions(idempotencyRecordRepository, accountTransactionRepository);
+    }
+
+    private static IdempotencyRecord record(AccountTransactionType operation, String requestFingerprint) {
+        return IdempotencyRecord.builder().idempotencyKey("123:key").transactionId(7L)
+                .operation(operation).requestFingerprint(requestFingerprint).createdAt(LocalDateTime.now()).build();
+    }
+
+    /**
+     * Submits an operation through the account mutation executor, as the banking account service does.
+     */
+    private Supplier<AccountTransaction> mutation(Supplier<AccountTransaction> operation) {
+        return () -> accountMutationExecutor.execute(List.of("123"), operation);
+    }
+}
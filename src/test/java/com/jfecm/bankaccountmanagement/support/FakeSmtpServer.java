@@ -0,0 +1,196 @@
+package com.jfecm.bankaccountmanagement.support;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests. It speaks just enough of the protocol (no AUTH, no STARTTLS)
+ * for javax.mail to deliver messages, which are kept in memory.
+ */
+@Slf4j
+public class FakeSmtpServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger rejectionsLeft = new AtomicInteger();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+
+    public FakeSmtpServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.executor.execute(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The messages received so far, in order.
+     */
+    public List<ReceivedMessage> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    /**
+     * @return The number of connections opened so far.
+     */
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Makes the server answer the next {@code count} MAIL commands with a transient failure.
+     *
+     * @param count The number of messages to reject.
+     */
+    public void rejectNext(int count) {
+        rejectionsLeft.set(count);
+    }
+
+    /**
+     * Closes the open client connections, as a server does with idle connections.
+     */
+    public void dropConnections() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Makes the server reject a recipient address as unknown.
+     *
+     * @param address The address to reject.
+     */
+    public void rejectRecipient(String address) {
+        rejectedRecipients.add(address);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sockets.add(socket);
+                executor.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                // Closed.
+                return;
+            } catch (IOException e) {
+                log.warn("Fake SMTP server could not accept a connection.", e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            reply(out, "220 localhost Fake SMTP");
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO")) {
+                    reply(out, "250-localhost\r\n250 8BITMIME");
+                } else if (command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM:")) {
+                    if (rejectionsLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                        reply(out, "451 Try again later");
+                        continue;
+                    }
+                    from = address(line);
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO:")) {
+                    String recipient = address(line);
+                    if (rejectedRecipients.contains(recipient)) {
+                        reply(out, "550 No such user");
+                        continue;
+                    }
+                    recipients.add(recipient);
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    messages.add(new ReceivedMessage(from, List.copyOf(recipients), readData(in)));
+                    reply(out, "250 OK");
+                } else if (command.equals("RSET")) {
+                    from = null;
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("NOOP")) {
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Fake SMTP connection closed: {}", e.getMessage());
+        } finally {
+            sockets.remove(socket);
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            // Removes the dot stuffing of lines starting with a dot.
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>');
+        return start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+
+    @Getter
+    public static final class ReceivedMessage {
+        private final String from;
+        private final List<String> recipients;
+        private final String data;
+
+        private ReceivedMessage(String from, List<String> recipients, String data) {
+            this.from = from;
+            this.recipients = recipients;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.jfecm.bankaccountmanagement.support;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements prepared by Hibernate, so that tests can pin the number of queries of a use
+ * case and an N+1 regression fails the build.
+ */
+public class SqlStatementCounter {
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    public void reset() {
+        statistics.clear();
+    }
+
+    public long getCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void assertCount(long expected) {
+        assertEquals(expected, getCount(), "Unexpected number of SQL statements.");
+    }
+}
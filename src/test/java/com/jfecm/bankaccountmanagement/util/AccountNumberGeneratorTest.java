@@ -0,0 +1,61 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.jfecm.bankaccountmanagement.repository.BankingAccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AccountNumberGenerator Tests")
+@ExtendWith(MockitoExtension.class)
+class AccountNumberGeneratorTest {
+    @Mock
+    private BankingAccountRepository bankingAccountRepository;
+
+    @Test
+    @DisplayName("Given a reserved block, when generating account numbers, then hand out the block in order")
+    void givenReservedBlock_whenNext_thenReturnConsecutiveNumbers() {
+        when(bankingAccountRepository.nextAccountNumberBlock()).thenReturn(1L, 1001L);
+        AccountNumberGenerator generator = new AccountNumberGenerator(bankingAccountRepository);
+
+        assertEquals(AccountNumbers.format(1), generator.next());
+        assertEquals(AccountNumbers.format(2), generator.next());
+        for (int i = 3; i <= AccountNumberGenerator.BLOCK_SIZE; i++) {
+            generator.next();
+        }
+        assertEquals(AccountNumbers.format(1001), generator.next());
+        verify(bankingAccountRepository, times(2)).nextAccountNumberBlock();
+    }
+
+    @Test
+    @DisplayName("Given concurrent callers, when generating account numbers, then every number is unique and valid")
+    void givenConcurrentCallers_whenGenerateAccountNumbers_thenReturnUniqueValidNumbers() throws Exception {
+        when(bankingAccountRepository.nextAccountNumberBlock()).thenReturn(1L, 1001L, 2001L, 3001L, 4001L);
+        AccountNumberGenerator generator = new AccountNumberGenerator(bankingAccountRepository);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        Callable<Void> task = () -> {
+            for (int i = 0; i < 500; i++) {
+                accountNumbers.add(generator.next());
+            }
+            return null;
+        };
+
+        for (Future<Void> future : executor.invokeAll(Collections.nCopies(8, task))) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(4000, accountNumbers.size());
+        assertTrue(accountNumbers.stream().allMatch(AccountNumbers::isValid));
+        verify(bankingAccountRepository, times(4)).nextAccountNumberBlock();
+    }
+}
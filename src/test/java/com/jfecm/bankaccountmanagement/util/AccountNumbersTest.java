@@ -0,0 +1,45 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.jfecm.bankaccountmanagement.exceptions.InvalidAccountNumberException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccountNumbers Tests")
+class AccountNumbersTest {
+
+    @Test
+    @DisplayName("Given a body, when formatting an account number, then pad it and append the Luhn check digit")
+    void givenBody_whenFormat_thenPadAndAppendCheckDigit() {
+        assertEquals("0000000000000018", AccountNumbers.format(1));
+        assertEquals("0000000079927398", AccountNumbers.format(7992739));
+        assertTrue(AccountNumbers.isValid(AccountNumbers.format(AccountNumbers.MAX_BODY)));
+    }
+
+    @Test
+    @DisplayName("Given a body out of range, when formatting an account number, then throw IllegalArgumentException")
+    void givenBodyOutOfRange_whenFormat_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> AccountNumbers.format(0));
+        assertThrows(IllegalArgumentException.class, () -> AccountNumbers.format(AccountNumbers.MAX_BODY + 1));
+    }
+
+    @Test
+    @DisplayName("Given a mistyped account number, when getting its key, then throw InvalidAccountNumberException")
+    void givenMistypedAccountNumber_whenToKey_thenThrowInvalidAccountNumberException() {
+        String accountNumber = AccountNumbers.format(123456);
+        String swapped = accountNumber.substring(0, 10) + accountNumber.charAt(11) + accountNumber.charAt(10) + accountNumber.substring(12);
+
+        assertEquals(Long.parseLong(accountNumber), AccountNumbers.toKey(accountNumber));
+        assertThrows(InvalidAccountNumberException.class, () -> AccountNumbers.toKey("0000000000000017"));
+        assertThrows(InvalidAccountNumberException.class, () -> AccountNumbers.toKey(swapped));
+    }
+
+    @Test
+    @DisplayName("Given a legacy account number, when getting its key, then return null")
+    void givenLegacyAccountNumber_whenToKey_thenReturnNull() {
+        assertNull(AccountNumbers.toKey("0f8fad5bd9cb469fa16570867728950e"));
+        assertNull(AccountNumbers.toKey("123"));
+        assertNull(AccountNumbers.toKey(null));
+    }
+}
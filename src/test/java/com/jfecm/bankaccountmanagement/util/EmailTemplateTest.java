@@ -0,0 +1,57 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.jfecm.bankaccountmanagement.dto.request.RequestCreateClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmailTemplate Tests")
+class EmailTemplateTest {
+
+    @Test
+    @DisplayName("Given a template with placeholders, when rendering it, then replace each placeholder with its value")
+    void givenTemplate_whenRender_thenReplacePlaceholders() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{name}} ({{ email }}), {{name}}</p>", "email", "name");
+
+        assertEquals("<p>Ana (ana@example.com), Ana</p>", template.render("ana@example.com", "Ana"));
+        assertEquals("<p> (), </p>", template.render(null, null));
+    }
+
+    @Test
+    @DisplayName("Given values with HTML characters, when rendering, then escape them")
+    void givenHtmlValues_whenRender_thenEscapeValues() {
+        EmailTemplate template = EmailTemplate.compile("test", "<td title='{{value}}'>{{value}}</td>", "value");
+
+        assertEquals("<td title='&lt;b&gt;&quot;O&#39;Neil&quot; &amp; co&lt;/b&gt;'>&lt;b&gt;&quot;O&#39;Neil&quot; &amp; co&lt;/b&gt;</td>",
+                template.render("<b>\"O'Neil\" & co</b>"));
+    }
+
+    @Test
+    @DisplayName("Given an invalid template, when compiling it, then throw IllegalArgumentException")
+    void givenInvalidTemplate_whenCompile_thenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("test", "<p>{{name</p>", "name"));
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("test", "<p>{{unknown}}</p>", "name"));
+    }
+
+    @Test
+    @DisplayName("Given the wrong number of values, when rendering, then throw IllegalArgumentException")
+    void givenWrongNumberOfValues_whenRender_thenThrowIllegalArgumentException() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{name}}</p>", "name");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("a", "b"));
+    }
+
+    @Test
+    @DisplayName("Given a client, when building the welcome message, then include its escaped credentials")
+    void givenClient_whenWelcomeMessage_thenIncludeEscapedCredentials() {
+        RequestCreateClient client = RequestCreateClient.builder().email("client@example.com").password("p<ss>&").build();
+
+        String html = Email.welcomeMessage(client);
+
+        assertTrue(html.startsWith("<html>"));
+        assertTrue(html.contains("<td>client@example.com</td>"));
+        assertTrue(html.contains("<td>p&lt;ss&gt;&amp;</td>"));
+        assertFalse(html.contains("{{"));
+    }
+}
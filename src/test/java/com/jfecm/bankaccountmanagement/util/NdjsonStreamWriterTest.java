@@ -0,0 +1,79 @@
+package com.jfecm.bankaccountmanagement.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("NdjsonStreamWriter Tests")
+@ExtendWith(MockitoExtension.class)
+class NdjsonStreamWriterTest {
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private NdjsonStreamWriter ndjsonStreamWriter;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ndjsonStreamWriter = new NdjsonStreamWriter(new ObjectMapper(), transactionManager);
+    }
+
+    @Test
+    @DisplayName("Given rows, when writing them, then write one JSON line per row inside a read-only transaction")
+    void givenRows_whenWrite_thenWriteOneLinePerRowInReadOnlyTransaction() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        List<Object> written = new ArrayList<>();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        long count = ndjsonStreamWriter.write(() -> Stream.of(Map.of("id", 1), Map.of("id", 2)).onClose(() -> closed.set(true)),
+                outputStream, written::add);
+
+        assertEquals(2, count);
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", outputStream.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of(Map.of("id", 1), Map.of("id", 2)), written);
+        assertTrue(closed.get());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Given an output stream that fails, when writing rows, then throw the IOException and close the rows")
+    void givenFailingOutputStream_whenWrite_thenThrowIOExceptionAndCloseRows() {
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream outputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException exception = assertThrows(IOException.class, () -> ndjsonStreamWriter.write(
+                () -> Stream.of(Map.of("id", 1)).onClose(() -> closed.set(true)), outputStream));
+
+        assertEquals("Broken pipe", exception.getMessage());
+        assertTrue(closed.get());
+    }
+}
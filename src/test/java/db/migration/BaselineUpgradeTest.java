@@ -0,0 +1,69 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database holding data in the schema Hibernate generated before Flyway (V1) to the latest migration.
+ */
+@DisplayName("Baseline Upgrade Tests")
+class BaselineUpgradeTest {
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:baseline_upgrade_" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+
+        jdbcTemplate.update("INSERT INTO clients (id, dni, name, user_status) VALUES (7, '12345678', 'John', 'ACTIVE')");
+        jdbcTemplate.update("INSERT INTO banking_accounts (id, account_number, balance, withdrawal_limit, client_id, banking_account_status)"
+                + " VALUES (3, 'a1b2c3', 150.25, 1000.0, 7, 'ACTIVE')");
+        jdbcTemplate.update("INSERT INTO account_transactions (id, account_transaction_type, date_of_execution, time_of_execution, amount, banking_account_id)"
+                + " VALUES (120, 'RECHARGE', '2024-01-10', '10:00:00', 200.75, 3)");
+        jdbcTemplate.update("INSERT INTO account_transactions (id, account_transaction_type, date_of_execution, time_of_execution, amount, banking_account_id)"
+                + " VALUES (121, 'WITHDRAWAL', '2024-01-10', '11:00:00', 50.5, 3)");
+    }
+
+    @Test
+    @DisplayName("Given legacy data, when migrating from the baseline, then convert money to minor units")
+    void givenLegacyData_whenMigrate_thenConvertMoneyToMinorUnits() {
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        Map<String, Object> account = jdbcTemplate.queryForMap("SELECT balance, withdrawal_limit FROM banking_accounts WHERE id = 3");
+        assertEquals(15025L, ((Number) account.get("balance")).longValue());
+        assertEquals(100000L, ((Number) account.get("withdrawal_limit")).longValue());
+        assertEquals(20075L, jdbcTemplate.queryForObject("SELECT amount FROM account_transactions WHERE id = 120", Long.class));
+    }
+
+    @Test
+    @DisplayName("Given legacy transactions, when migrating from the baseline, then backfill their direction and daily summaries")
+    void givenLegacyTransactions_whenMigrate_thenBackfillDirectionAndDailySummaries() {
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals("CREDIT", jdbcTemplate.queryForObject("SELECT direction FROM account_transactions WHERE id = 120", String.class));
+        assertEquals("DEBIT", jdbcTemplate.queryForObject("SELECT direction FROM account_transactions WHERE id = 121", String.class));
+        assertEquals(5050L, jdbcTemplate.queryForObject("SELECT total_amount FROM account_daily_summaries"
+                + " WHERE banking_account_id = 3 AND account_transaction_type = 'WITHDRAWAL'", Long.class));
+    }
+
+    @Test
+    @DisplayName("Given legacy ids, when migrating from the baseline, then start the id sequences after them")
+    void givenLegacyIds_whenMigrate_thenStartSequencesAfterThem() {
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        assertEquals(8L, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR clients_seq", Long.class));
+        assertEquals(4L, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR banking_accounts_seq", Long.class));
+        assertEquals(122L, jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR account_transactions_seq", Long.class));
+    }
+}